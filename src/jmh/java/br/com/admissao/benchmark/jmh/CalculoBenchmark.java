@@ -0,0 +1,57 @@
+package br.com.admissao.benchmark.jmh;
+
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.service.CalculoService;
+import br.com.admissao.util.PeriodResult;
+import br.com.admissao.util.PeriodUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculos do POST /api/calculos: tempo de casa, 35% do salário e a montagem da entidade.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculoBenchmark {
+
+    private final CalculoService service = new CalculoService(null, null);
+
+    private LocalDate dataAdmissao;
+    private BigDecimal salarioBruto;
+    private CalculoRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        dataAdmissao = LocalDate.of(2022, 5, 10);
+        salarioBruto = new BigDecimal("3500.00");
+        request = CalculoRequestDTO.builder()
+                .dataAdmissao(dataAdmissao)
+                .salarioBruto(salarioBruto)
+                .cep("66050-080")
+                .build();
+    }
+
+    @Benchmark
+    public PeriodResult calcularPeriodo() {
+        return PeriodUtil.calcularPeriodo(dataAdmissao);
+    }
+
+    // mesma expressão de CalculoService.montarAdmissao
+    @Benchmark
+    public BigDecimal porcentagem35() {
+        return salarioBruto.multiply(BigDecimal.valueOf(0.35));
+    }
+
+    @Benchmark
+    public Admissao montarAdmissao() {
+        return service.montarAdmissao(request);
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.admissao.benchmark.jmh;
+
+import br.com.admissao.service.ViaCepClient;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalização do CEP (chave do cache e do índice local), com e sem hífen, contra a versão
+ * anterior com regex.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CepBenchmark {
+
+    @Param({"66050-080", "66050080"})
+    public String cep;
+
+    @Benchmark
+    public String normalizarCep() {
+        return ViaCepClient.normalizarCep(cep);
+    }
+
+    @Benchmark
+    public String normalizarCepRegex() {
+        return cep.replaceAll("\\D", "");
+    }
+}
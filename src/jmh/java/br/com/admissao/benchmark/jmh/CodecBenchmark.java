@@ -0,0 +1,127 @@
+package br.com.admissao.benchmark.jmh;
+
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.dto.CalculoResponseDTO;
+import br.com.admissao.dto.ViaCepDTO;
+import br.com.admissao.model.Admissao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Custo de codificação e tamanho do payload por formato negociado (CodecConfig): JSON, Smile, CBOR e JSON
+ * com gzip (server.compression, nível padrão do Netty). Os tamanhos da página e do response saem no log do
+ * @Setup; o tempo de escreverPagina/escreverResponse inclui a compressão no caso json-gzip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    @Param({"json", "smile", "cbor", "json-gzip"})
+    public String formato;
+
+    private boolean gzip;
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private ObjectWriter pageWriter;
+
+    private byte[] request;
+    private CalculoResponseDTO response;
+    private Page<Admissao> pagina;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper mapper = switch (formato) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> json;
+        };
+        gzip = formato.endsWith("-gzip");
+        requestReader = mapper.readerFor(CalculoRequestDTO.class);
+        responseWriter = mapper.writerFor(CalculoResponseDTO.class);
+        pageWriter = mapper.writer();
+
+        request = mapper.writeValueAsBytes(json.readValue(
+                "{\"dataAdmissao\":\"2022-05-10\",\"salarioBruto\":3500.00,\"cep\":\"66050-080\"}",
+                CalculoRequestDTO.class));
+
+        ViaCepDTO endereco = new ViaCepDTO();
+        endereco.setCep("66050-080");
+        endereco.setLogradouro("Travessa Dom Romualdo de Seixas");
+        endereco.setBairro("Umarizal");
+        endereco.setLocalidade("Belém");
+        endereco.setUf("PA");
+        response = CalculoResponseDTO.builder()
+                .id("66b0a1f2c3d4e5f601234567")
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(new BigDecimal("3500.00"))
+                .anos(3).meses(2).dias(26)
+                .porcentagem35(new BigDecimal("1225.0000"))
+                .criadoEm(LocalDateTime.of(2025, 8, 5, 11, 2, 22))
+                .endereco(endereco)
+                .build();
+
+        List<Admissao> itens = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            itens.add(Admissao.builder()
+                    .id(String.format("66b0a1f2c3d4e5f6012345%02d", i))
+                    .dataAdmissao(LocalDate.of(2022, 5, 10).plusDays(i))
+                    .salarioBruto(new BigDecimal("3500.00"))
+                    .anos(3).meses(2).dias(26)
+                    .porcentagem35(new BigDecimal("1225.0000"))
+                    .criadoEm(LocalDateTime.of(2025, 8, 5, 11, 2, 22).plusSeconds(i))
+                    .build());
+        }
+        pagina = new PageImpl<>(itens, PageRequest.of(0, 20, Sort.by("criadoEm").descending()), 1_000);
+
+        System.out.printf("%n[%s] página (20 itens): %d bytes, response: %d bytes, request: %d bytes%n",
+                formato, escreverPagina().length, escreverResponse().length, request.length);
+    }
+
+    @Benchmark
+    public CalculoRequestDTO lerRequest() throws IOException {
+        return requestReader.readValue(request);
+    }
+
+    @Benchmark
+    public byte[] escreverResponse() throws IOException {
+        return comprimir(responseWriter.writeValueAsBytes(response));
+    }
+
+    @Benchmark
+    public byte[] escreverPagina() throws IOException {
+        return comprimir(pageWriter.writeValueAsBytes(pagina));
+    }
+
+    private byte[] comprimir(byte[] corpo) throws IOException {
+        if (!gzip) {
+            return corpo;
+        }
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(corpo.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(saida)) {
+            out.write(corpo);
+        }
+        return saida.toByteArray();
+    }
+}
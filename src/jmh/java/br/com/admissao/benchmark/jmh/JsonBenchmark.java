@@ -0,0 +1,114 @@
+package br.com.admissao.benchmark.jmh;
+
+import br.com.admissao.dto.AdmissaoResumoDTO;
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.dto.CalculoResponseDTO;
+import br.com.admissao.dto.PaginaDTO;
+import br.com.admissao.dto.ViaCepDTO;
+import br.com.admissao.model.Admissao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialização JSON com a mesma configuração do encoder/decoder Jackson do WebFlux.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private ObjectWriter pageWriter;
+
+    private byte[] requestJson;
+    private CalculoResponseDTO response;
+    private Page<Admissao> pagina;
+    private PaginaDTO<AdmissaoResumoDTO> paginaResumo;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        requestReader = mapper.readerFor(CalculoRequestDTO.class);
+        responseWriter = mapper.writerFor(CalculoResponseDTO.class);
+        pageWriter = mapper.writer();
+
+        requestJson = "{\"dataAdmissao\":\"2022-05-10\",\"salarioBruto\":3500.00,\"cep\":\"66050-080\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        ViaCepDTO endereco = new ViaCepDTO();
+        endereco.setCep("66050-080");
+        endereco.setLogradouro("Travessa Dom Romualdo de Seixas");
+        endereco.setBairro("Umarizal");
+        endereco.setLocalidade("Belém");
+        endereco.setUf("PA");
+        response = CalculoResponseDTO.builder()
+                .id("66b0a1f2c3d4e5f601234567")
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(new BigDecimal("3500.00"))
+                .anos(3).meses(2).dias(26)
+                .porcentagem35(new BigDecimal("1225.0000"))
+                .criadoEm(LocalDateTime.of(2025, 8, 5, 11, 2, 22))
+                .endereco(endereco)
+                .build();
+
+        List<Admissao> itens = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            itens.add(Admissao.builder()
+                    .id(String.format("66b0a1f2c3d4e5f6012345%02d", i))
+                    .dataAdmissao(LocalDate.of(2022, 5, 10).plusDays(i))
+                    .salarioBruto(new BigDecimal("3500.00"))
+                    .anos(3).meses(2).dias(26)
+                    .porcentagem35(new BigDecimal("1225.0000"))
+                    .criadoEm(LocalDateTime.of(2025, 8, 5, 11, 2, 22).plusSeconds(i))
+                    .build());
+        }
+        pagina = new PageImpl<>(itens, PageRequest.of(0, 20, Sort.by("criadoEm").descending()), 1_000);
+
+        // fields=dataAdmissao,salarioBruto,anos (grade de três colunas)
+        Set<String> campos = Set.of("dataAdmissao", "salarioBruto", "anos");
+        paginaResumo = PaginaDTO.<AdmissaoResumoDTO>builder()
+                .items(itens.stream().map(a -> AdmissaoResumoDTO.of(a, campos)).toList())
+                .size(20).hasNext(true).nextPage(1)
+                .build();
+    }
+
+    @Benchmark
+    public CalculoRequestDTO lerRequest() throws Exception {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] escreverResponse() throws Exception {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] escreverPagina() throws Exception {
+        return pageWriter.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] escreverPaginaResumo() throws Exception {
+        return pageWriter.writeValueAsBytes(paginaResumo);
+    }
+}
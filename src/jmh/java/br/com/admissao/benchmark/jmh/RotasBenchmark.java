@@ -0,0 +1,169 @@
+package br.com.admissao.benchmark.jmh;
+
+import br.com.admissao.controller.CalculoController;
+import br.com.admissao.controller.CalculoRotas;
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.dto.CalculoResponseDTO;
+import br.com.admissao.exception.GlobalExceptionHandler;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.service.AdmissaoStreamService;
+import br.com.admissao.service.CalculoLoteService;
+import br.com.admissao.service.CalculoRequestValidacao;
+import br.com.admissao.service.CalculoService;
+import br.com.admissao.service.EstatisticasService;
+import br.com.admissao.service.ExportService;
+import br.com.admissao.service.IdempotenciaService;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * Custo por requisição do CalculoController (mapeamento por anotações, resolução de argumentos e proxy
+ * do @Validated) x rotas funcionais (admissao.web.rotas=funcionais), do HttpHandler até a resposta
+ * serializada. Os serviços respondem na hora, então só sobra o overhead do WebFlux e da serialização.
+ * Com -prof gc (padrão do profile), gc.alloc.rate.norm mostra a alocação por requisição.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RotasBenchmark {
+
+    private static final byte[] REQUEST_JSON =
+            "{\"dataAdmissao\":\"2022-05-10\",\"salarioBruto\":3500.00,\"cep\":\"66050-080\"}".getBytes();
+
+    @Param({"anotado", "funcional"})
+    public String estilo;
+
+    private LocalValidatorFactoryBean validator;
+    private AnnotationConfigApplicationContext contexto;
+    private HttpHandler handler;
+
+    @EnableWebFlux
+    static class WebConfig {
+    }
+
+    @Setup
+    public void setUp() {
+        // sem o LoggingSystem do Spring Boot o Logback fica em DEBUG, e o log por requisição dominaria a medição
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+
+        CalculoResponseDTO resposta = CalculoResponseDTO.builder()
+                .id("66b0a1f2c3d4e5f601234567")
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(new BigDecimal("3500.00"))
+                .anos(3).meses(2).dias(26)
+                .porcentagem35(new BigDecimal("1225.0000"))
+                .criadoEm(LocalDateTime.of(2025, 8, 5, 11, 2, 22))
+                .build();
+        List<Admissao> itens = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            itens.add(Admissao.builder()
+                    .id(String.format("66b0a1f2c3d4e5f6012345%02d", i))
+                    .dataAdmissao(LocalDate.of(2022, 5, 10).plusDays(i))
+                    .salarioBruto(new BigDecimal("3500.00"))
+                    .anos(3).meses(2).dias(26)
+                    .porcentagem35(new BigDecimal("1225.0000"))
+                    .criadoEm(LocalDateTime.of(2025, 8, 5, 11, 2, 22).plusSeconds(i))
+                    .build());
+        }
+        PageImpl<Admissao> pagina = new PageImpl<>(itens, PageRequest.of(0, 20, Sort.by("criadoEm").descending()), 1_000);
+
+        // stubOnly: o Mockito não guarda as invocações (custo fixo e igual nos dois estilos)
+        CalculoService service = Mockito.mock(CalculoService.class, Mockito.withSettings().stubOnly());
+        Mockito.when(service.calcularESalvarReactive(any(CalculoRequestDTO.class))).thenReturn(Mono.just(resposta));
+        Mockito.when(service.listar(any(Pageable.class))).thenReturn(Mono.just(pagina));
+        Mockito.when(service.filtrarPorData(any(), any(), any(Pageable.class))).thenReturn(Mono.just(pagina));
+
+        contexto = new AnnotationConfigApplicationContext();
+        if ("funcional".equals(estilo)) {
+            contexto.getEnvironment().getPropertySources().addFirst(
+                    new MapPropertySource("benchmark", Map.of(CalculoRotas.PROPRIEDADE, "funcionais")));
+        }
+        contexto.registerBean(LocalValidatorFactoryBean.class, () -> validator);
+        contexto.registerBean(MethodValidationPostProcessor.class, () -> {
+            MethodValidationPostProcessor mvpp = new MethodValidationPostProcessor();
+            mvpp.setValidator(validator);
+            mvpp.setProxyTargetClass(true);
+            return mvpp;
+        });
+        contexto.registerBean(CalculoService.class, () -> service);
+        contexto.registerBean(IdempotenciaService.class, () -> Mockito.mock(IdempotenciaService.class));
+        contexto.registerBean(CalculoLoteService.class, () -> Mockito.mock(CalculoLoteService.class));
+        contexto.registerBean(ExportService.class, () -> Mockito.mock(ExportService.class));
+        contexto.registerBean(EstatisticasService.class, () -> Mockito.mock(EstatisticasService.class));
+        contexto.registerBean(AdmissaoStreamService.class, () -> Mockito.mock(AdmissaoStreamService.class));
+        contexto.registerBean(CalculoRequestValidacao.class,
+                () -> new CalculoRequestValidacao(CalculoRequestValidacao.Modo.RAPIDA, validator));
+        contexto.register(WebConfig.class, GlobalExceptionHandler.class, CalculoController.class, CalculoRotas.class);
+        contexto.refresh();
+        handler = WebHttpHandlerBuilder.applicationContext(contexto).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+        validator.close();
+    }
+
+    @Benchmark
+    public MockServerHttpResponse calcular() {
+        return executar(MockServerHttpRequest.post("/api/calculos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new String(REQUEST_JSON)));
+    }
+
+    @Benchmark
+    public MockServerHttpResponse listar() {
+        return executar(MockServerHttpRequest.get("/api/calculos?page=0&size=20").build());
+    }
+
+    @Benchmark
+    public MockServerHttpResponse filtrarPorData() {
+        return executar(MockServerHttpRequest.get("/api/calculos/por-data?inicio=2024-01-01&fim=2024-12-31&sort=criadoEm,asc").build());
+    }
+
+    // caminho de erro: sort fora dos índices -> 400 pelo GlobalExceptionHandler
+    @Benchmark
+    public MockServerHttpResponse ordenacaoInvalida() {
+        return executar(MockServerHttpRequest.get("/api/calculos?sort=cep").build());
+    }
+
+    private MockServerHttpResponse executar(MockServerHttpRequest request) {
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        handler.handle(request, response).block();
+        response.getBody().blockLast();
+        return response;
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.admissao.benchmark.jmh;
+
+import br.com.admissao.controller.CalculoController;
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.exception.ValidacaoException;
+import br.com.admissao.service.CalculoRequestValidacao;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation do CalculoRequestDTO (inclui o @Pattern do CEP), com e sem violações, contra o
+ * modo rápido do CalculoRequestValidacao (admissao.validacao.modo=rapida).
+ * falhar*: o caminho completo de um corpo inválido até a exceção (WebExchangeBindException do @Valid
+ * x ValidacaoException sem stack trace).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidacaoBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private SpringValidatorAdapter springValidator;
+    private MethodParameter parametro;
+    private CalculoRequestValidacao rapida;
+    private CalculoRequestDTO valido;
+    private CalculoRequestDTO invalido;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        springValidator = new SpringValidatorAdapter(validator);
+        parametro = new MethodParameter(
+                CalculoController.class.getMethod("calcular", CalculoRequestDTO.class, String.class), 0);
+        rapida = new CalculoRequestValidacao(CalculoRequestValidacao.Modo.RAPIDA, validator);
+        valido = CalculoRequestDTO.builder()
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(new BigDecimal("3500.00"))
+                .cep("66050-080")
+                .build();
+        invalido = CalculoRequestDTO.builder()
+                .dataAdmissao(LocalDate.now().plusDays(1))
+                .salarioBruto(BigDecimal.ZERO)
+                .cep("6605-08")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CalculoRequestDTO>> validarValido() {
+        return validator.validate(valido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CalculoRequestDTO>> validarInvalido() {
+        return validator.validate(invalido);
+    }
+
+    @Benchmark
+    public List<String> validarValidoRapido() {
+        return rapida.validar(valido);
+    }
+
+    @Benchmark
+    public List<String> validarInvalidoRapido() {
+        return rapida.validar(invalido);
+    }
+
+    @Benchmark
+    public Exception falharBeanValidation() {
+        BeanPropertyBindingResult resultado = new BeanPropertyBindingResult(invalido, "calculoRequestDTO");
+        springValidator.validate(invalido, resultado);
+        return new WebExchangeBindException(parametro, resultado);
+    }
+
+    @Benchmark
+    public Exception falharRapido() {
+        try {
+            rapida.validarOuFalhar(invalido);
+            return null;
+        } catch (ValidacaoException e) {
+            return e;
+        }
+    }
+}
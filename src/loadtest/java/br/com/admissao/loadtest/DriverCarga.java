@@ -0,0 +1,248 @@
+package br.com.admissao.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Driver de carga em modelo aberto: as requisições chegam a uma taxa fixa (--taxa req/s, chegadas de
+ * Poisson), independentemente de quanto a aplicação demora para responder. A latência é medida a
+ * partir do instante planejado de cada chegada, não do envio, para não esconder filas (coordinated omission).
+ *
+ * Mistura de cenários (--mix, pesos): post, listar, por-data e por-salario. Resultado por cenário:
+ * req/s, erros e p50/p99/p99.9/máx (HdrHistogram). O --aquecimento não entra nas medições.
+ * Requisições acima de --max-em-voo são descartadas e contadas (a aplicação não acompanha a taxa).
+ */
+final class DriverCarga {
+
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(2);
+
+    private final String url;
+    private final double taxa;
+    private final Duration duracao;
+    private final Duration aquecimento;
+    private final Map<String, Integer> mix;
+    private final int maxEmVoo;
+    private final int maxConexoes;
+    private final Duration timeout;
+    private final long seed;
+    private final Massa massa;
+
+    private final Map<String, Cenario> cenarios = new LinkedHashMap<>();
+    private final AtomicInteger emVoo = new AtomicInteger();
+    private final LongAdder descartadas = new LongAdder();
+
+    DriverCarga(String url, double taxa, Duration duracao, Duration aquecimento, Map<String, Integer> mix,
+                int maxEmVoo, int maxConexoes, Duration timeout, int cepsDistintos, long seed) {
+        this.url = url;
+        this.taxa = taxa;
+        this.duracao = duracao;
+        this.aquecimento = aquecimento;
+        this.mix = mix;
+        this.maxEmVoo = maxEmVoo;
+        this.maxConexoes = maxConexoes;
+        this.timeout = timeout;
+        this.seed = seed;
+        this.massa = new Massa(cepsDistintos, seed);
+        mix.keySet().forEach(nome -> cenarios.put(nome, new Cenario(nome)));
+    }
+
+    static DriverCarga de(Opcoes opcoes) {
+        return new DriverCarga(
+                opcoes.texto("url", "http://localhost:8081"),
+                opcoes.decimal("taxa", 200),
+                opcoes.duracao("duracao", "60s"),
+                opcoes.duracao("aquecimento", "10s"),
+                mix(opcoes.texto("mix", "post=40,listar=20,por-data=20,por-salario=20")),
+                opcoes.inteiro("max-em-voo", 10_000),
+                opcoes.inteiro("max-conexoes", 1_000),
+                opcoes.duracao("timeout", "10s"),
+                opcoes.inteiro("ceps-distintos", 20_000),
+                opcoes.longo("seed", 42));
+    }
+
+    void executar() throws InterruptedException {
+        ConnectionProvider conexoes = ConnectionProvider.builder("loadtest")
+                .maxConnections(maxConexoes)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(timeout)
+                .build();
+        WebClient client = WebClient.builder()
+                .baseUrl(url)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(conexoes).responseTimeout(timeout)))
+                .build();
+        try {
+            System.out.printf("%s: %.0f req/s por %ds (+%ds de aquecimento), mix %s%n",
+                    url, taxa, duracao.toSeconds(), aquecimento.toSeconds(), mix);
+            gerarChegadas(client);
+            imprimir();
+        } finally {
+            conexoes.dispose();
+        }
+    }
+
+    /**
+     * Uma thread agenda as chegadas; cada requisição é assíncrona e registra a latência ao terminar.
+     */
+    private void gerarChegadas(WebClient client) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> sorteio = new ArrayList<>();
+        mix.forEach((nome, peso) -> {
+            for (int i = 0; i < peso; i++) {
+                sorteio.add(nome);
+            }
+        });
+
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + aquecimento.toNanos();
+        long fim = inicioMedicao + duracao.toNanos();
+        long proximoRelatorio = inicio + TimeUnit.SECONDS.toNanos(10);
+        double intervaloMedioNanos = 1e9 / taxa;
+        long planejado = inicio;
+        long enviadas = 0;
+
+        while (planejado < fim) {
+            planejado += (long) (-intervaloMedioNanos * Math.log(1 - random.nextDouble()));
+            long espera = planejado - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            if (emVoo.get() >= maxEmVoo) {
+                descartadas.increment();
+                continue;
+            }
+            Cenario cenario = cenarios.get(sorteio.get(random.nextInt(sorteio.size())));
+            disparar(client, cenario, random.split(), planejado, planejado >= inicioMedicao);
+            enviadas++;
+            if (System.nanoTime() >= proximoRelatorio) {
+                System.out.printf("%3ds: %,d enviadas, %,d em voo, %,d descartadas%n",
+                        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio), enviadas, emVoo.get(), descartadas.sum());
+                proximoRelatorio += TimeUnit.SECONDS.toNanos(10);
+            }
+        }
+
+        // aguarda as requisições em voo
+        long limite = System.nanoTime() + timeout.toNanos();
+        while (emVoo.get() > 0 && System.nanoTime() < limite) {
+            Thread.sleep(50);
+        }
+    }
+
+    private void disparar(WebClient client, Cenario cenario, SplittableRandom random, long planejado, boolean medir) {
+        emVoo.incrementAndGet();
+        requisicao(client, cenario.nome, random)
+                .subscribe(
+                        status -> {
+                            if (medir) {
+                                cenario.registrar(planejado, status);
+                            }
+                        },
+                        e -> {
+                            emVoo.decrementAndGet();
+                            if (medir) {
+                                cenario.falha(planejado, e);
+                            }
+                        },
+                        emVoo::decrementAndGet);
+    }
+
+    private Mono<Integer> requisicao(WebClient client, String cenario, SplittableRandom random) {
+        LocalDate hoje = LocalDate.now();
+        WebClient.RequestHeadersSpec<?> spec = switch (cenario) {
+            case "post" -> client.post().uri("/api/calculos")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of(
+                            "dataAdmissao", massa.dataAdmissao(random, hoje).toString(),
+                            "salarioBruto", massa.salario(random),
+                            "cep", massa.cep(random)));
+            case "listar" -> client.get().uri("/api/calculos?page={page}&size=20", random.nextInt(10));
+            case "por-data" -> {
+                LocalDate inicio = hoje.minusDays(30 + random.nextInt(5 * 365));
+                yield client.get().uri("/api/calculos/por-data?inicio={inicio}&fim={fim}&size=20", inicio, inicio.plusDays(30));
+            }
+            case "por-salario" -> client.get().uri("/api/calculos/por-salario?min={min}&size=20",
+                    BigDecimal.valueOf(1_500 + random.nextInt(18_500)));
+            default -> throw new IllegalArgumentException("Cenário desconhecido: " + cenario);
+        };
+        // o corpo é lido por inteiro (releaseBody consome), como faria um cliente real
+        return spec.exchangeToMono(resposta -> resposta.releaseBody().thenReturn(resposta.statusCode().value()));
+    }
+
+    private void imprimir() {
+        double segundos = duracao.toNanos() / 1e9;
+        System.out.printf("%n%-12s %10s %8s %10s %10s %10s %10s %10s%n",
+                "cenário", "req", "erros", "req/s", "p50", "p99", "p99.9", "máx");
+        for (Cenario c : cenarios.values()) {
+            Histogram h = c.latencias;
+            System.out.printf("%-12s %10d %8d %10.1f %8.1fms %8.1fms %8.1fms %8.1fms%n",
+                    c.nome, h.getTotalCount(), c.erros.sum(), h.getTotalCount() / segundos,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+            c.porStatus.forEach((status, n) -> System.out.printf("%14s %s: %d%n", "", status, n.sum()));
+        }
+        System.out.printf("descartadas (acima de %d em voo): %d%n", maxEmVoo, descartadas.sum());
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    static Map<String, Integer> mix(String valor) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String parte : valor.split(",")) {
+            String[] kv = parte.trim().split("=");
+            int peso = Integer.parseInt(kv[1].trim());
+            if (peso > 0) {
+                mix.put(kv[0].trim(), peso);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix sem cenários: " + valor);
+        }
+        return mix;
+    }
+
+    private static final class Cenario {
+        private final String nome;
+        private final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3);
+        private final LongAdder erros = new LongAdder();
+        private final Map<String, LongAdder> porStatus = new ConcurrentSkipListMap<>();
+
+        private Cenario(String nome) {
+            this.nome = nome;
+        }
+
+        void registrar(long planejado, int status) {
+            latencias.recordValue(Math.min(LATENCIA_MAXIMA_US, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - planejado)));
+            if (status >= 400) {
+                erros.increment();
+                porStatus.computeIfAbsent("HTTP " + status, k -> new LongAdder()).increment();
+            }
+        }
+
+        void falha(long planejado, Throwable e) {
+            latencias.recordValue(Math.min(LATENCIA_MAXIMA_US, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - planejado)));
+            erros.increment();
+            porStatus.computeIfAbsent(e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.admissao.loadtest;
+
+import br.com.admissao.config.MongoConfig;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.model.EstatisticaMensal;
+import br.com.admissao.util.PeriodUtil;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grava admissões sintéticas (distribuições de {@link Massa}) em admissoes, em bulk inserts não
+ * ordenados e paralelos, com o mesmo mapeamento da aplicação (MongoConfig: salários em Decimal128).
+ *
+ * - criadoEm cresce ao longo da janela (--janela, padrão 730 dias, terminando agora)
+ * - dataAdmissao <= criadoEm, e anos/meses/dias/porcentagem35 calculados como no CalculoService
+ * - determinístico para a mesma --seed
+ *
+ * Os índices e o rollup de estatísticas não são mantidos aqui: a aplicação cria os índices ao subir,
+ * e o profile Spring "loadtest" reconstrói admissoes_estatisticas (admissao.estatisticas.reconstruir-ao-iniciar).
+ */
+final class GeradorDataset {
+
+    private static final BigDecimal PERCENTUAL = BigDecimal.valueOf(0.35);
+
+    private final String uri;
+    private final long quantidade;
+    private final int tamanhoLote;
+    private final int paralelismo;
+    private final Duration janela;
+    private final boolean limpar;
+    private final long seed;
+    private final Massa massa;
+
+    GeradorDataset(String uri, long quantidade, int tamanhoLote, int paralelismo, Duration janela, boolean limpar,
+                   int cepsDistintos, long seed) {
+        this.uri = uri;
+        this.quantidade = quantidade;
+        this.tamanhoLote = tamanhoLote;
+        this.paralelismo = paralelismo;
+        this.janela = janela;
+        this.limpar = limpar;
+        this.seed = seed;
+        this.massa = new Massa(cepsDistintos, seed);
+    }
+
+    static GeradorDataset de(Opcoes opcoes) {
+        return new GeradorDataset(
+                opcoes.texto("uri", "mongodb://localhost:27017/admissao"),
+                opcoes.longo("quantidade", 1_000_000),
+                opcoes.inteiro("lote", 5_000),
+                opcoes.inteiro("paralelismo", 4),
+                opcoes.duracao("janela", "730d"),
+                opcoes.booleano("limpar", false),
+                opcoes.inteiro("ceps-distintos", 20_000),
+                opcoes.longo("seed", 42));
+    }
+
+    void executar() {
+        try (MongoClient client = MongoClients.create(uri)) {
+            MongoTemplate template = template(client, new ConnectionString(uri).getDatabase());
+            if (limpar) {
+                template.dropCollection(Admissao.class);
+                template.dropCollection(EstatisticaMensal.class);
+                System.out.println("Coleções admissoes e admissoes_estatisticas removidas");
+            }
+
+            LocalDateTime fim = LocalDateTime.now();
+            LocalDateTime inicio = fim.minus(janela);
+            long lotes = (quantidade + tamanhoLote - 1) / tamanhoLote;
+            AtomicLong gravados = new AtomicLong();
+            long t0 = System.nanoTime();
+
+            Flux.range(0, (int) lotes)
+                    .flatMap(indice -> Mono.fromRunnable(() -> {
+                                List<Admissao> lote = lote(indice, inicio, fim);
+                                template.bulkOps(BulkOperations.BulkMode.UNORDERED, Admissao.class)
+                                        .insert(lote)
+                                        .execute();
+                                long total = gravados.addAndGet(lote.size());
+                                if ((indice + 1) % 20 == 0 || total == quantidade) {
+                                    System.out.printf("%,d / %,d admissões (%.0f/s)%n", total, quantidade,
+                                            total / ((System.nanoTime() - t0) / 1e9));
+                                }
+                            })
+                            .subscribeOn(Schedulers.boundedElastic()), paralelismo)
+                    .blockLast();
+
+            System.out.printf("%,d admissões gravadas em %.1fs%n", gravados.get(), (System.nanoTime() - t0) / 1e9);
+        }
+    }
+
+    // cada lote tem o seu gerador, derivado da seed: o resultado não depende da ordem de execução
+    private List<Admissao> lote(int indice, LocalDateTime inicio, LocalDateTime fim) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + indice);
+        long primeiro = (long) indice * tamanhoLote;
+        long ultimo = Math.min(quantidade, primeiro + tamanhoLote);
+        long janelaNanos = Duration.between(inicio, fim).toNanos();
+        List<Admissao> lote = new ArrayList<>((int) (ultimo - primeiro));
+        for (long i = primeiro; i < ultimo; i++) {
+            LocalDateTime criadoEm = inicio.plusNanos((long) (janelaNanos * ((double) i / quantidade)));
+            LocalDate dataAdmissao = massa.dataAdmissao(random, criadoEm.toLocalDate());
+            BigDecimal salario = massa.salario(random);
+            var periodo = PeriodUtil.calcularPeriodo(dataAdmissao, criadoEm.toLocalDate());
+            lote.add(Admissao.builder()
+                    .dataAdmissao(dataAdmissao)
+                    .salarioBruto(salario)
+                    .anos(periodo.getYears())
+                    .meses(periodo.getMonths())
+                    .dias(periodo.getDays())
+                    .porcentagem35(salario.multiply(PERCENTUAL))
+                    .criadoEm(criadoEm)
+                    .build());
+        }
+        return lote;
+    }
+
+    private static MongoTemplate template(MongoClient client, String database) {
+        MongoDatabaseFactory fabrica = new SimpleMongoClientDatabaseFactory(client, database);
+        MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+        MongoMappingContext contexto = new MongoMappingContext();
+        contexto.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        contexto.setAutoIndexCreation(false);
+        contexto.afterPropertiesSet();
+        MappingMongoConverter conversor = new MappingMongoConverter(new DefaultDbRefResolver(fabrica), contexto);
+        conversor.setCustomConversions(conversions);
+        conversor.afterPropertiesSet();
+        return new MongoTemplate(fabrica, conversor);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.admissao.loadtest;
+
+/**
+ * Ponto de entrada do teste de carga local (mvn -Ploadtest, ver README):
+ * - stub:  ViaCEP simulado (GET /ws/{cep}/json/), bloqueia até ser interrompido
+ * - gerar: grava admissões sintéticas no Mongo local
+ * - carga: driver de carga em modelo aberto contra a aplicação
+ * - partida: tempo de partida e da primeira requisição por modo (jar, AOT, AOT + CDS)
+ * - ajuda: esta mensagem
+ */
+public final class LoadTest {
+
+    private static final String AJUDA = """
+            uso: LoadTest <comando> [--opção=valor ...]
+
+              stub   --porta=8089 --latencia-mediana=20ms --latencia-p99=150ms
+                     --taxa-erro=0.0 --taxa-nao-encontrado=0.0
+
+              gerar  --uri=mongodb://localhost:27017/admissao --quantidade=1000000 --lote=5000
+                     --paralelismo=4 --janela=730d --limpar=false --ceps-distintos=20000 --seed=42
+
+              carga  --url=http://localhost:8081 --taxa=200 --duracao=60s --aquecimento=10s
+                     --mix=post=40,listar=20,por-data=20,por-salario=20
+                     --max-em-voo=10000 --max-conexoes=1000 --timeout=10s --ceps-distintos=20000 --seed=42
+
+              partida --modos=jar,extraido,aot,aot-cds --execucoes=5 --porta=18081
+                      --caminho=/api/calculos?page=0&size=20 --timeout=120s --jvm="-Xmx512m ..."
+                      --jar=target/admissao-0.0.1-SNAPSHOT.jar --extraido=target/startup --logs=target/partida
+            """;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String comando = args.length == 0 ? "ajuda" : args[0];
+        Opcoes opcoes = Opcoes.de(args, 1);
+        switch (comando) {
+            case "stub" -> {
+                ViaCepStub stub = ViaCepStub.de(opcoes);
+                iniciar(opcoes);
+                stub.executar();
+            }
+            case "gerar" -> {
+                GeradorDataset gerador = GeradorDataset.de(opcoes);
+                iniciar(opcoes);
+                gerador.executar();
+            }
+            case "carga" -> {
+                DriverCarga driver = DriverCarga.de(opcoes);
+                iniciar(opcoes);
+                driver.executar();
+            }
+            case "partida" -> {
+                MedidorPartida medidor = MedidorPartida.de(opcoes);
+                iniciar(opcoes);
+                medidor.executar();
+            }
+            case "ajuda" -> System.out.print(AJUDA);
+            default -> {
+                System.out.print(AJUDA);
+                throw new IllegalArgumentException("Comando desconhecido: " + comando);
+            }
+        }
+    }
+
+    private static void iniciar(Opcoes opcoes) {
+        opcoes.verificar();
+        System.out.println(opcoes);
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.admissao.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Distribuições usadas pelo gerador de massa e pelo driver de carga, para que os POSTs da carga
+ * se pareçam com os documentos já gravados:
+ * - tempo de casa exponencial (média de 5 anos, até 40): muitas admissões recentes, poucas antigas
+ * - salário log-normal (mediana 3500, ~8% acima de 10000), nunca abaixo do salário mínimo
+ * - CEP de um conjunto fixo de CEPs distintos (o cache de CEP da aplicação vê hits e misses)
+ */
+final class Massa {
+
+    static final BigDecimal SALARIO_MINIMO = new BigDecimal("1412.00");
+    private static final double SALARIO_MEDIANO = 3500;
+    private static final double SALARIO_SIGMA = 0.75;
+    private static final double TEMPO_MEDIO_ANOS = 5;
+    private static final int TEMPO_MAXIMO_DIAS = 40 * 365;
+
+    private final String[] ceps;
+
+    Massa(int cepsDistintos, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ceps = new String[cepsDistintos];
+        for (int i = 0; i < cepsDistintos; i++) {
+            ceps[i] = String.format("%08d", random.nextInt(1_000_000, 100_000_000));
+        }
+    }
+
+    LocalDate dataAdmissao(SplittableRandom random, LocalDate referencia) {
+        double anos = -TEMPO_MEDIO_ANOS * Math.log(1 - random.nextDouble());
+        return referencia.minusDays(Math.min(TEMPO_MAXIMO_DIAS, (long) (anos * 365.25)));
+    }
+
+    BigDecimal salario(SplittableRandom random) {
+        double valor = SALARIO_MEDIANO * Math.exp(SALARIO_SIGMA * gaussiana(random));
+        return BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_UP).max(SALARIO_MINIMO);
+    }
+
+    String cep(SplittableRandom random) {
+        return ceps[random.nextInt(ceps.length)];
+    }
+
+    // Box-Muller (SplittableRandom não tem nextGaussian no Java 17)
+    private static double gaussiana(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
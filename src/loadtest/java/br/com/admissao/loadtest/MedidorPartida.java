@@ -0,0 +1,189 @@
+package br.com.admissao.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tempo de partida e latência da primeira requisição, por modo de execução (--modos):
+ * - jar:     java -jar do fat jar (target/admissao-*.jar)
+ * - extraido: o jar extraído de target/startup (sem o carregamento de jars aninhados)
+ * - aot:     extraído + -Dspring.aot.enabled=true
+ * - aot-cds: aot + o arquivo CDS do treino (-XX:SharedArchiveFile)
+ * Os modos extraido, aot e aot-cds usam o resultado de mvn -Pstartup package.
+ *
+ * Cada execução sobe a aplicação em um processo novo e mede: "pronto", do início do processo até a primeira
+ * resposta HTTP (qualquer status) em /actuator/health; "1ª req", a latência da primeira requisição a --caminho;
+ * e "2ª req", a da seguinte, para comparação. Resultado por modo: mediana, mínimo e máximo de --execucoes.
+ * A saída de cada processo fica em --logs.
+ */
+final class MedidorPartida {
+
+    private static final Duration INTERVALO_SONDAGEM = Duration.ofMillis(10);
+
+    private final String jar;
+    private final Path extraido;
+    private final List<String> modos;
+    private final int execucoes;
+    private final int porta;
+    private final String caminho;
+    private final Duration timeout;
+    private final List<String> jvm;
+    private final Path logs;
+
+    MedidorPartida(String jar, Path extraido, List<String> modos, int execucoes, int porta, String caminho,
+                   Duration timeout, List<String> jvm, Path logs) {
+        for (String modo : modos) {
+            if (!List.of("jar", "extraido", "aot", "aot-cds").contains(modo)) {
+                throw new IllegalArgumentException("Modo desconhecido: " + modo + " (jar, extraido, aot, aot-cds)");
+            }
+        }
+        this.jar = jar;
+        this.extraido = extraido;
+        this.modos = modos;
+        this.execucoes = execucoes;
+        this.porta = porta;
+        this.caminho = caminho;
+        this.timeout = timeout;
+        this.jvm = jvm;
+        this.logs = logs;
+    }
+
+    static MedidorPartida de(Opcoes opcoes) {
+        String jvm = opcoes.texto("jvm", "");
+        return new MedidorPartida(
+                opcoes.texto("jar", "target/admissao-0.0.1-SNAPSHOT.jar"),
+                Path.of(opcoes.texto("extraido", "target/startup")),
+                List.of(opcoes.texto("modos", "jar,extraido,aot,aot-cds").split(",")),
+                opcoes.inteiro("execucoes", 5),
+                opcoes.inteiro("porta", 18081),
+                opcoes.texto("caminho", "/api/calculos?page=0&size=20"),
+                opcoes.duracao("timeout", "120s"),
+                jvm.isBlank() ? List.of() : Arrays.asList(jvm.trim().split("\\s+")),
+                Path.of(opcoes.texto("logs", "target/partida")));
+    }
+
+    void executar() throws IOException, InterruptedException {
+        Files.createDirectories(logs);
+        Map<String, List<long[]>> resultados = new LinkedHashMap<>();
+        for (String modo : modos) {
+            List<String> comando = comando(modo);
+            System.out.println(modo + ": " + String.join(" ", comando));
+            List<long[]> medicoes = new ArrayList<>();
+            for (int i = 1; i <= execucoes; i++) {
+                long[] m = medir(comando, logs.resolve(modo + "-" + i + ".log").toFile());
+                System.out.printf("  %d: pronto %dms, 1ª req %dms, 2ª req %dms%n", i, m[0], m[1], m[2]);
+                medicoes.add(m);
+            }
+            resultados.put(modo, medicoes);
+        }
+
+        System.out.printf("%n%-10s %24s %24s %24s%n", "modo", "pronto (med/mín/máx)", "1ª req (med/mín/máx)",
+                "2ª req (med/mín/máx)");
+        resultados.forEach((modo, medicoes) -> System.out.printf("%-10s %24s %24s %24s%n",
+                modo, resumo(medicoes, 0), resumo(medicoes, 1), resumo(medicoes, 2)));
+    }
+
+    private List<String> comando(String modo) {
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(jvm);
+        comando.add("-Dserver.port=" + porta);
+        if (modo.equals("aot-cds")) {
+            Path arquivo = extraido.resolve("admissao.jsa");
+            exigir(arquivo);
+            comando.add("-XX:SharedArchiveFile=" + arquivo);
+        }
+        if (modo.startsWith("aot")) {
+            comando.add("-Dspring.aot.enabled=true");
+        }
+        comando.add("-jar");
+        if (modo.equals("jar")) {
+            exigir(Path.of(jar));
+            comando.add(jar);
+        } else {
+            Path extraidoJar = extraido.resolve(Path.of(jar).getFileName());
+            exigir(extraidoJar);
+            comando.add(extraidoJar.toString());
+        }
+        return comando;
+    }
+
+    private static void exigir(Path arquivo) {
+        if (!Files.exists(arquivo)) {
+            throw new IllegalStateException(arquivo + " não encontrado; gere com mvn -Pstartup -DskipTests package");
+        }
+    }
+
+    // {pronto, 1ª req, 2ª req} em ms
+    private long[] medir(List<String> comando, File log) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            long limite = inicio + timeout.toNanos();
+            while (!responde(client, "/actuator/health")) {
+                if (!processo.isAlive()) {
+                    throw new IllegalStateException("A aplicação encerrou ao subir; veja " + log);
+                }
+                if (System.nanoTime() > limite) {
+                    throw new IllegalStateException("A aplicação não respondeu em " + timeout + "; veja " + log);
+                }
+                Thread.sleep(INTERVALO_SONDAGEM.toMillis());
+            }
+            long pronto = System.nanoTime();
+            long primeira = cronometrar(client);
+            long segunda = cronometrar(client);
+            return new long[]{ms(pronto - inicio), ms(primeira), ms(segunda)};
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    private boolean responde(HttpClient client, String caminho) throws InterruptedException {
+        try {
+            client.send(requisicao(caminho), HttpResponse.BodyHandlers.discarding());
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private long cronometrar(HttpClient client) throws IOException, InterruptedException {
+        long inicio = System.nanoTime();
+        HttpResponse<Void> resposta = client.send(requisicao(caminho), HttpResponse.BodyHandlers.discarding());
+        long duracao = System.nanoTime() - inicio;
+        if (resposta.statusCode() >= 500) {
+            System.out.printf("  aviso: %s respondeu %d%n", caminho, resposta.statusCode());
+        }
+        return duracao;
+    }
+
+    private HttpRequest requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(timeout)
+                .GET()
+                .build();
+    }
+
+    private static String resumo(List<long[]> medicoes, int indice) {
+        long[] valores = medicoes.stream().mapToLong(m -> m[indice]).sorted().toArray();
+        return String.format("%d / %d / %d ms", valores[valores.length / 2], valores[0], valores[valores.length - 1]);
+    }
+
+    private static long ms(long nanos) {
+        return Duration.ofNanos(nanos).toMillis();
+    }
+}
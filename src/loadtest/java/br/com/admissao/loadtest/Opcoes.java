@@ -0,0 +1,81 @@
+package br.com.admissao.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Opções de linha de comando no formato --chave=valor. Chaves desconhecidas são um erro
+ * (um typo em "--taxa" não pode virar silenciosamente o valor padrão).
+ */
+final class Opcoes {
+
+    private final Map<String, String> valores;
+    private final Map<String, String> usadas = new LinkedHashMap<>();
+
+    private Opcoes(Map<String, String> valores) {
+        this.valores = valores;
+    }
+
+    static Opcoes de(String[] args, int inicio) {
+        Map<String, String> valores = new HashMap<>();
+        for (int i = inicio; i < args.length; i++) {
+            String arg = args[i];
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Opção inválida (use --chave=valor): " + arg);
+            }
+            valores.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return new Opcoes(valores);
+    }
+
+    String texto(String chave, String padrao) {
+        String valor = valores.getOrDefault(chave, padrao);
+        usadas.put(chave, valor);
+        return valor;
+    }
+
+    int inteiro(String chave, int padrao) {
+        return Integer.parseInt(texto(chave, String.valueOf(padrao)).replace("_", ""));
+    }
+
+    long longo(String chave, long padrao) {
+        return Long.parseLong(texto(chave, String.valueOf(padrao)).replace("_", ""));
+    }
+
+    double decimal(String chave, double padrao) {
+        return Double.parseDouble(texto(chave, String.valueOf(padrao)));
+    }
+
+    boolean booleano(String chave, boolean padrao) {
+        return Boolean.parseBoolean(texto(chave, String.valueOf(padrao)));
+    }
+
+    Duration duracao(String chave, String padrao) {
+        return DurationStyle.detectAndParse(texto(chave, padrao));
+    }
+
+    /**
+     * Falha se houver opções não lidas; chamar depois de ler todas.
+     */
+    void verificar() {
+        Set<String> desconhecidas = new TreeSet<>(valores.keySet());
+        desconhecidas.removeAll(usadas.keySet());
+        if (!desconhecidas.isEmpty()) {
+            throw new IllegalArgumentException("Opções desconhecidas: " + desconhecidas + "; válidas: " + usadas.keySet());
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        usadas.forEach((k, v) -> sb.append(sb.length() == 0 ? "" : " ").append(k).append('=').append(v));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.admissao.loadtest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ViaCEP simulado: GET /ws/{cep}/json/ com latência log-normal (mediana e p99 configuráveis),
+ * uma fração de respostas 503 e uma fração de "CEP não encontrado" ({"erro": true}).
+ * O endereço devolvido é derivado do CEP, então o mesmo CEP sempre recebe o mesmo endereço.
+ *
+ * A aplicação aponta para ele com viacep.base-url (ou o profile Spring "loadtest").
+ */
+final class ViaCepStub {
+
+    // z da normal padrão no percentil 99
+    private static final double Z_P99 = 2.3263;
+
+    private static final String[][] CIDADES = {
+            {"Belém", "PA", "1501402", "91"},
+            {"São Paulo", "SP", "3550308", "11"},
+            {"Rio de Janeiro", "RJ", "3304557", "21"},
+            {"Belo Horizonte", "MG", "3106200", "31"},
+            {"Salvador", "BA", "2927408", "71"},
+            {"Curitiba", "PR", "4106902", "41"},
+            {"Recife", "PE", "2611606", "81"},
+            {"Porto Alegre", "RS", "4314902", "51"},
+    };
+    private static final String[] BAIRROS = {"Centro", "Nazaré", "Umarizal", "Batista Campos", "Jardim América", "Vila Nova"};
+
+    private final int porta;
+    private final double mu;
+    private final double sigma;
+    private final double taxaErro;
+    private final double taxaNaoEncontrado;
+
+    private final LongAdder requisicoes = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+    private final LongAdder naoEncontrados = new LongAdder();
+
+    ViaCepStub(int porta, Duration latenciaMediana, Duration latenciaP99, double taxaErro, double taxaNaoEncontrado) {
+        if (latenciaP99.compareTo(latenciaMediana) < 0) {
+            throw new IllegalArgumentException("latencia-p99 deve ser maior ou igual a latencia-mediana");
+        }
+        this.porta = porta;
+        this.mu = Math.log(Math.max(1, latenciaMediana.toNanos()));
+        this.sigma = (Math.log(Math.max(1, latenciaP99.toNanos())) - mu) / Z_P99;
+        this.taxaErro = taxaErro;
+        this.taxaNaoEncontrado = taxaNaoEncontrado;
+    }
+
+    static ViaCepStub de(Opcoes opcoes) {
+        return new ViaCepStub(
+                opcoes.inteiro("porta", 8089),
+                opcoes.duracao("latencia-mediana", "20ms"),
+                opcoes.duracao("latencia-p99", "150ms"),
+                opcoes.decimal("taxa-erro", 0.0),
+                opcoes.decimal("taxa-nao-encontrado", 0.0));
+    }
+
+    DisposableServer iniciar() {
+        return HttpServer.create()
+                .port(porta)
+                .route(rotas -> rotas.get("/ws/{cep}/json/", this::responder))
+                .bindNow();
+    }
+
+    /**
+     * Sobe o stub e bloqueia, imprimindo contadores a cada 10s.
+     */
+    void executar() {
+        DisposableServer servidor = iniciar();
+        System.out.printf("ViaCEP simulado em http://localhost:%d (viacep.base-url)%n", servidor.port());
+        Flux.interval(Duration.ofSeconds(10))
+                .subscribe(t -> System.out.printf("stub: %d requisições, %d erros 503, %d não encontrados%n",
+                        requisicoes.sum(), erros.sum(), naoEncontrados.sum()));
+        servidor.onDispose().block();
+    }
+
+    private Mono<Void> responder(HttpServerRequest req, HttpServerResponse res) {
+        requisicoes.increment();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Duration latencia = Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+        double sorteio = random.nextDouble();
+        if (sorteio < taxaErro) {
+            erros.increment();
+            return Mono.delay(latencia).then(res.status(503).send());
+        }
+        String cep = req.param("cep");
+        String corpo = sorteio < taxaErro + taxaNaoEncontrado || cep == null || cep.length() != 8
+                ? naoEncontrado()
+                : endereco(cep);
+        return res.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .sendString(Mono.delay(latencia).thenReturn(corpo), StandardCharsets.UTF_8)
+                .then();
+    }
+
+    private String naoEncontrado() {
+        naoEncontrados.increment();
+        return "{\"erro\": true}";
+    }
+
+    static String endereco(String cep) {
+        int h = cep.hashCode() & Integer.MAX_VALUE;
+        String[] cidade = CIDADES[h % CIDADES.length];
+        return "{\"cep\":\"" + cep.substring(0, 5) + "-" + cep.substring(5) + "\","
+                + "\"logradouro\":\"Rua " + (h % 997) + "\","
+                + "\"complemento\":\"\","
+                + "\"bairro\":\"" + BAIRROS[(h / 7) % BAIRROS.length] + "\","
+                + "\"localidade\":\"" + cidade[0] + "\","
+                + "\"uf\":\"" + cidade[1] + "\","
+                + "\"ibge\":\"" + cidade[2] + "\","
+                + "\"ddd\":\"" + cidade[3] + "\"}";
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.admissao.config;
+
+import br.com.admissao.service.CepResolver;
+import br.com.admissao.service.CepResolverMode;
+import br.com.admissao.service.CompositeCepResolver;
+import br.com.admissao.service.LocalCepIndex;
+import br.com.admissao.service.ViaCepClient;
+import br.com.admissao.util.CepIndexBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Define o CepResolver usado pelo serviço.
+ * - cep.resolver.mode: remote-only (padrão) | remote-first | local-first | local-only
+ * - cep.local.index-path: índice binário mapeado em memória
+ * - cep.local.csv-path: opcional; (re)gera o índice na inicialização quando o CSV é mais novo
+ */
+@Configuration
+public class CepResolverConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CepResolverConfig.class);
+
+    @Value("${cep.resolver.mode:remote-only}")
+    private CepResolverMode mode;
+
+    @Value("${cep.local.csv-path:}")
+    private String csvPath;
+
+    @Value("${cep.local.csv-delimiter:;}")
+    private char csvDelimiter;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "cep.local.index-path")
+    public LocalCepIndex localCepIndex(@Value("${cep.local.index-path}") Path indexPath) throws IOException {
+        if (!csvPath.isBlank()) {
+            Path csv = Path.of(csvPath);
+            if (Files.notExists(indexPath)
+                    || Files.getLastModifiedTime(csv).compareTo(Files.getLastModifiedTime(indexPath)) > 0) {
+                int count = CepIndexBuilder.build(csv, indexPath, csvDelimiter);
+                log.info("Índice de CEP gerado a partir de {}: {} registros", csv, count);
+            }
+        }
+        LocalCepIndex index = LocalCepIndex.open(indexPath);
+        log.info("Índice de CEP local carregado de {} ({} CEPs)", indexPath, index.size());
+        return index;
+    }
+
+    @Bean
+    @Primary
+    public CepResolver cepResolver(ViaCepClient viaCepClient, ObjectProvider<LocalCepIndex> localCepIndex) {
+        return new CompositeCepResolver(mode, viaCepClient, localCepIndex.getIfAvailable());
+    }
+}
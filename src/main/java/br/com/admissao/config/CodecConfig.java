@@ -0,0 +1,117 @@
+package br.com.admissao.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.accept.HeaderContentTypeResolver;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolverBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formatos binários nos endpoints, escolhidos pelo Accept (respostas) e pelo Content-Type (corpos):
+ * - application/x-jackson-smile: codec padrão do WebFlux (jackson-dataformat-smile no classpath)
+ * - application/cbor: registrado aqui (o WebFlux não inclui o codec Jackson CBOR entre os padrões)
+ *
+ * Com o @EnableWebFlux de WebFluxStaticResourceConfig o WebFluxAutoConfiguration não roda e o Boot não aplica
+ * CodecCustomizers ao servidor; por isso os codecs são configurados aqui, em configureHttpMessageCodecs.
+ * JSON, Smile e CBOR usam o ObjectMapper do Spring Boot (spring.jackson.*), os dois binários por cópias dele:
+ * os campos e valores são os do JSON (datas ISO, BigDecimal exato), só a codificação muda.
+ * A compressão das respostas JSON fica em server.compression (application.yaml).
+ */
+@Configuration
+public class CodecConfig implements WebFluxConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    // os mesmos dos codecs Smile padrão (o construtor com ObjectMapper não os assume)
+    private static final MediaType[] TIPOS_SMILE = {APPLICATION_SMILE, new MediaType("application", "*+x-jackson-smile")};
+
+    // Accept ausente ou */*: JSON antes dos demais; sem isso o CBOR, registrado antes dos codecs padrão, venceria
+    static final List<MediaType> PREFERIDOS_SEM_ACCEPT = List.of(MediaType.APPLICATION_JSON, MediaType.ALL);
+
+    private final ObjectMapper objectMapper;
+
+    public CodecConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // só o servidor: os WebClients (ViaCEP) seguem com os codecs do Boot
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+        configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+        ObjectMapper smile = objectMapper.copyWith(new SmileFactory());
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile, TIPOS_SMILE));
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile, TIPOS_SMILE));
+        ObjectMapper cbor = objectMapper.copyWith(new CBORFactory());
+        configurer.customCodecs().register(new CborEncoder(cbor));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cbor, MediaType.APPLICATION_CBOR));
+    }
+
+    @Override
+    public void configureContentTypeResolver(RequestedContentTypeResolverBuilder builder) {
+        builder.resolver(new JsonPorPadrao());
+    }
+
+    /**
+     * Resolve o Accept como o HeaderContentTypeResolver padrão; quando ele não restringe nada,
+     * coloca application/json na frente.
+     */
+    static class JsonPorPadrao implements RequestedContentTypeResolver {
+
+        private final HeaderContentTypeResolver header = new HeaderContentTypeResolver();
+
+        @Override
+        public List<MediaType> resolveMediaTypes(ServerWebExchange exchange) {
+            List<MediaType> aceitos = header.resolveMediaTypes(exchange);
+            return aceitos.equals(MEDIA_TYPE_ALL_LIST) ? PREFERIDOS_SEM_ACCEPT : aceitos;
+        }
+    }
+
+    /**
+     * O Jackson2CborEncoder só codifica valores únicos (Mono); um Flux (ex.: /estatisticas) é reunido em uma
+     * lista e codificado como array, como o encoder JSON faz fora dos tipos de streaming.
+     */
+    static class CborEncoder extends Jackson2CborEncoder {
+
+        CborEncoder(ObjectMapper cbor) {
+            super(cbor, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono) {
+                return Mono.from(inputStream)
+                        .map(valor -> encodeValue(valor, bufferFactory, elementType, mimeType, hints))
+                        .flux();
+            }
+            ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+            return Flux.from(inputStream)
+                    .collectList()
+                    .map(lista -> encodeValue(lista, bufferFactory, listType, mimeType, hints))
+                    .flux();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.admissao.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+@Configuration
+public class MongoConfig {
+
+    /**
+     * BigDecimal gravado como Decimal128 (e não como String, o padrão do Spring Data):
+     * comparações ($gte, $lt) e ordenação por salarioBruto precisam ser numéricas,
+     * tanto no filtro por salário quanto na paginação por cursor.
+     */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return MongoCustomConversions.create(adapter ->
+                adapter.bigDecimal(MongoCustomConversions.BigDecimalRepresentation.DECIMAL128));
+    }
+}
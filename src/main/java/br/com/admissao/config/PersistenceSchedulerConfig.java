@@ -0,0 +1,57 @@
+package br.com.admissao.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Scheduler das chamadas bloqueantes do modo blocking (BlockingAdmissaoStore: gravação e consultas),
+ * escolhido por admissao.persistence.scheduler:
+ * - bounded-elastic (padrão): Schedulers.boundedElastic(), até 10x núcleos threads e fila limitada por thread
+ * - virtual-threads: uma virtual thread por chamada (Java 21+); o limite passa a ser o pool de conexões
+ *   do driver do Mongo (spring.data.mongodb.uri ?maxPoolSize=...&waitQueueTimeoutMS=...)
+ */
+@Configuration
+public class PersistenceSchedulerConfig {
+
+    public static final String PROPRIEDADE = "admissao.persistence.scheduler";
+
+    // o Schedulers.boundedElastic() é compartilhado: não é descartado com o contexto
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(name = PROPRIEDADE, havingValue = "bounded-elastic", matchIfMissing = true)
+    public Scheduler boundedElasticPersistenceScheduler() {
+        return Schedulers.boundedElastic();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = PROPRIEDADE, havingValue = "virtual-threads")
+    public Scheduler virtualThreadPersistenceScheduler() {
+        return virtualThreads();
+    }
+
+    /**
+     * Scheduler sobre Executors.newVirtualThreadPerTaskExecutor(). Obtido por reflexão para que o
+     * código continue compilando com release 17 (o profile java21 gera o artefato para Java 21).
+     *
+     * @throws IllegalStateException se a JVM não suportar virtual threads
+     */
+    public static Scheduler virtualThreads() {
+        ExecutorService executor;
+        try {
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(PROPRIEDADE + "=virtual-threads requer Java 21 ou superior (JVM atual: "
+                    + Runtime.version() + ")", e);
+        }
+        return Schedulers.fromExecutorService(executor, "virtualThreads");
+    }
+
+    public static boolean virtualThreadsDisponiveis() {
+        return Runtime.version().feature() >= 21;
+    }
+}
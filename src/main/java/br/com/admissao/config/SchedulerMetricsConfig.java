@@ -0,0 +1,46 @@
+package br.com.admissao.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Objects;
+
+@Configuration
+public class SchedulerMetricsConfig {
+
+    /**
+     * Ocupação do Schedulers.boundedElastic(), onde rodam as chamadas do modo blocking
+     * (com o scheduler bounded-elastic):
+     * - admissao.scheduler.workers: threads criadas (ocupadas ou ociosas dentro do TTL)
+     * - admissao.scheduler.workers.max: limite de threads
+     * - admissao.scheduler.fila: tarefas aguardando em todas as threads (não inclui as em execução)
+     * Lidos via Scannable, sem instrumentar as tarefas. Com admissao.persistence.scheduler=virtual-threads
+     * as chamadas ao Mongo não passam por aqui; a concorrência aparece em mongodb.driver.pool.*.
+     */
+    @Bean
+    public MeterBinder boundedElasticMetrics() {
+        return registry -> {
+            Scheduler scheduler = Schedulers.boundedElastic();
+            Gauge.builder("admissao.scheduler.workers", scheduler, s -> atributo(Scannable.from(s), Scannable.Attr.BUFFERED))
+                    .tag("scheduler", "boundedElastic")
+                    .register(registry);
+            Gauge.builder("admissao.scheduler.workers.max", scheduler, s -> atributo(Scannable.from(s), Scannable.Attr.CAPACITY))
+                    .tag("scheduler", "boundedElastic")
+                    .register(registry);
+            Gauge.builder("admissao.scheduler.fila", scheduler, s -> Scannable.from(s).inners()
+                            .mapToDouble(w -> atributo(w, Scannable.Attr.BUFFERED))
+                            .sum())
+                    .tag("scheduler", "boundedElastic")
+                    .register(registry);
+        };
+    }
+
+    private static double atributo(Scannable scannable, Scannable.Attr<Integer> attr) {
+        return Objects.requireNonNullElse(scannable.scan(attr), 0);
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.admissao.config;
+
+import br.com.admissao.dto.ViaCepDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache em memória das consultas ao ViaCEP, chaveado pelo CEP normalizado (somente dígitos).
+ * - Optional.empty() representa "CEP não encontrado" (cache negativo, com TTL curto).
+ * - Erros (timeout, 5xx) não são cacheados: o Caffeine descarta futures que completam com exceção.
+ * - Estatísticas (hit/miss/eviction) publicadas no Micrometer como cache.* {cache=viacep}.
+ */
+@Configuration
+public class ViaCepCacheConfig {
+
+    @Value("${viacep.cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${viacep.cache.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${viacep.cache.negative-ttl:5m}")
+    private Duration negativeTtl;
+
+    @Bean
+    public AsyncCache<String, Optional<ViaCepDTO>> viaCepCache(MeterRegistry meterRegistry) {
+        AsyncCache<String, Optional<ViaCepDTO>> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Optional<ViaCepDTO>>() {
+                    @Override
+                    public long expireAfterCreate(String cep, Optional<ViaCepDTO> endereco, long currentTime) {
+                        return (endereco.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String cep, Optional<ViaCepDTO> endereco, long currentTime, long currentDuration) {
+                        return expireAfterCreate(cep, endereco, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String cep, Optional<ViaCepDTO> endereco, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "viacep");
+    }
+}
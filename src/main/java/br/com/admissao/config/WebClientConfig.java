@@ -1,23 +1,98 @@
 package br.com.admissao.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * WebClient do ViaCEP com um pool de conexões próprio (não o pool global do reactor-netty).
+ *
+ * - Pool dimensionado (viacep.http.pool.*): conexões máximas, fila de aquisição limitada e com prazo,
+ *   conexões ociosas/antigas removidas em background antes que o servidor (ou um balanceador) as feche
+ * - Timeouts no Netty: conexão e resposta (o timeout da chamada inteira fica no ViaCepResiliencia)
+ * - DNS resolvido pelo resolver assíncrono do Netty, com cache (viacep.http.dns.*)
+ * - Respostas limitadas a viacep.http.max-resposta (uma resposta do ViaCEP tem poucas centenas de bytes)
+ * - Métricas do pool em reactor.netty.connection.provider.* {name=viacep}
+ */
 @Configuration
 public class WebClientConfig {
 
     @Value("${viacep.base-url:https://viacep.com.br}")
     private String viaCepBaseUrl;
 
+    @Value("${viacep.http.pool.max-conexoes:64}")
+    private int maxConexoes;
+
+    @Value("${viacep.http.pool.max-pendentes:256}")
+    private int maxPendentes;
+
+    @Value("${viacep.http.pool.espera-conexao:500ms}")
+    private Duration esperaConexao;
+
+    @Value("${viacep.http.pool.max-ociosa:20s}")
+    private Duration maxOciosa;
+
+    @Value("${viacep.http.pool.max-vida:5m}")
+    private Duration maxVida;
+
+    @Value("${viacep.http.pool.intervalo-limpeza:30s}")
+    private Duration intervaloLimpeza;
+
+    @Value("${viacep.http.connect-timeout:1s}")
+    private Duration connectTimeout;
+
+    @Value("${viacep.http.response-timeout:2s}")
+    private Duration responseTimeout;
+
+    @Value("${viacep.http.dns.ttl-maximo:5m}")
+    private Duration dnsTtlMaximo;
+
+    @Value("${viacep.http.dns.ttl-negativo:10s}")
+    private Duration dnsTtlNegativo;
+
+    @Value("${viacep.http.max-resposta:16KB}")
+    private DataSize maxResposta;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider viaCepConnectionProvider() {
+        return ConnectionProvider.builder("viacep")
+                .maxConnections(maxConexoes)
+                .pendingAcquireMaxCount(maxPendentes)
+                .pendingAcquireTimeout(esperaConexao)
+                .maxIdleTime(maxOciosa)
+                .maxLifeTime(maxVida)
+                .evictInBackground(intervaloLimpeza)
+                // reutiliza a conexão usada mais recentemente: as demais ficam ociosas e são removidas
+                .lifo()
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient viaCepWebClient(WebClient.Builder builder) {
+    public WebClient viaCepWebClient(WebClient.Builder builder, ConnectionProvider viaCepConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(viaCepConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(responseTimeout)
+                .resolver(dns -> dns
+                        .cacheMaxTimeToLive(dnsTtlMaximo)
+                        .cacheNegativeTimeToLive(dnsTtlNegativo));
+
         return builder
                 .baseUrl(viaCepBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .exchangeStrategies(ExchangeStrategies.builder()
-                        .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                        .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize((int) maxResposta.toBytes()))
                         .build())
                 .build();
     }
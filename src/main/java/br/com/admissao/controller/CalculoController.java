@@ -1,36 +1,110 @@
 package br.com.admissao.controller;
 
+import br.com.admissao.dto.AdmissaoResumoDTO;
 import br.com.admissao.dto.CalculoRequestDTO;
 import br.com.admissao.dto.CalculoResponseDTO;
+import br.com.admissao.dto.EstatisticaMensalDTO;
+import br.com.admissao.dto.LoteResultadoDTO;
+import br.com.admissao.dto.PaginaDTO;
 import br.com.admissao.model.Admissao;
+import br.com.admissao.repository.ConsultaAdmissao;
+import br.com.admissao.service.AdmissaoStreamService;
+import br.com.admissao.service.CalculoLoteService;
+import br.com.admissao.service.CalculoRequestValidacao;
 import br.com.admissao.service.CalculoService;
-import jakarta.validation.Valid;
+import br.com.admissao.service.EstatisticasService;
+import br.com.admissao.service.ExportService;
+import br.com.admissao.service.IdempotenciaService;
 import jakarta.validation.constraints.Min;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.data.domain.*;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/calculos")
 @Validated
 public class CalculoController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final CalculoService service;
+    private final CalculoLoteService loteService;
+    private final ExportService exportService;
+    private final EstatisticasService estatisticasService;
+    private final IdempotenciaService idempotenciaService;
+    private final CalculoRequestValidacao validacao;
+    private final AdmissaoStreamService streamService;
 
-    public CalculoController(CalculoService service) {
+    public CalculoController(CalculoService service, CalculoLoteService loteService, ExportService exportService,
+                             EstatisticasService estatisticasService, IdempotenciaService idempotenciaService,
+                             CalculoRequestValidacao validacao, AdmissaoStreamService streamService) {
         this.service = service;
+        this.loteService = loteService;
+        this.exportService = exportService;
+        this.estatisticasService = estatisticasService;
+        this.idempotenciaService = idempotenciaService;
+        this.validacao = validacao;
+        this.streamService = streamService;
     }
 
+    /**
+     * Header opcional Idempotency-Key (até 255 caracteres): repetições com a mesma chave e o mesmo
+     * payload recebem a primeira resposta (com Idempotent-Replayed: true), sem gravar de novo;
+     * a mesma chave com outro payload -> 422.
+     *
+     * O corpo é validado por CalculoRequestValidacao (admissao.validacao.modo) e não por @Valid:
+     * o mesmo 400 "Validation Error", sem passar também pela validação de métodos do @Validated.
+     */
     @PostMapping
-    public Mono<ResponseEntity<CalculoResponseDTO>> calcular(@Valid @RequestBody CalculoRequestDTO dto) {
-        return service.calcularESalvarReactive(dto)
-                .map(resp -> ResponseEntity.status(HttpStatus.CREATED).body(resp));
+    public Mono<ResponseEntity<CalculoResponseDTO>> calcular(
+            @RequestBody CalculoRequestDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        validacao.validarOuFalhar(dto);
+        if (idempotencyKey == null) {
+            return service.calcularESalvarReactive(dto)
+                    .map(resp -> ResponseEntity.status(HttpStatus.CREATED).body(resp));
+        }
+        return idempotenciaService.executar(idempotencyKey, dto, () -> service.calcularESalvarReactive(dto))
+                .map(r -> {
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.CREATED);
+                    if (r.repetida()) {
+                        builder.header(IDEMPOTENT_REPLAYED, "true");
+                    }
+                    return builder.body(r.resposta());
+                });
+    }
+
+    /**
+     * Cálculo em lote.
+     *
+     * Corpo: application/x-ndjson (um CalculoRequestDTO por linha) ou um array JSON.
+     * Resposta: application/x-ndjson com um LoteResultadoDTO por registro, emitido assim que
+     * o grupo do registro é gravado (a ordem de saída não é a ordem de entrada; use "indice").
+     */
+    @PostMapping(value = "/lote",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<LoteResultadoDTO> calcularLote(@RequestBody Flux<CalculoRequestDTO> requisicoes) {
+        return loteService.processar(requisicoes);
     }
 
     /**
@@ -41,19 +115,19 @@ public class CalculoController {
      * - fim (yyyy-MM-dd) obrigatório
      * - page (>=0) default 0
      * - size (>0) default 20
-     * - sort (ex: criadoEm,desc) opcional
+     * - sort (criadoEm,asc|desc) opcional; outros campos -> 400
      */
     @GetMapping("/por-data")
-    public ResponseEntity<Page<Admissao>> filtrarPorData(
+    public Mono<ResponseEntity<Page<Admissao>>> filtrarPorData(
             @RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
             @RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
             @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
             @RequestParam(value = "size", defaultValue = "20") @Min(1) int size,
             @RequestParam(value = "sort", required = false) String sort
     ) {
-        Pageable pageable = buildPageable(page, size, sort, Sort.by("criadoEm").descending());
-        Page<Admissao> result = service.filtrarPorData(inicio, fim, pageable);
-        return ResponseEntity.ok(result);
+        Pageable pageable = buildPageable(page, size, sort, Sort.by("criadoEm").descending(), ConsultaAdmissao.POR_DATA);
+        return service.filtrarPorData(inicio, fim, pageable)
+                .map(ResponseEntity::ok);
     }
 
     /**
@@ -61,36 +135,291 @@ public class CalculoController {
      *
      * Query params:
      * - min (BigDecimal) obrigatório
-     * - page, size, sort (mesma lógica)
+     * - page, size, sort (mesma lógica; sort somente por salarioBruto)
      */
     @GetMapping("/por-salario")
-    public ResponseEntity<Page<Admissao>> filtrarPorSalario(
+    public Mono<ResponseEntity<Page<Admissao>>> filtrarPorSalario(
             @RequestParam("min") java.math.BigDecimal min,
             @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
             @RequestParam(value = "size", defaultValue = "20") @Min(1) int size,
             @RequestParam(value = "sort", required = false) String sort
     ) {
-        Pageable pageable = buildPageable(page, size, sort, Sort.by("salarioBruto").descending());
-        Page<Admissao> result = service.filtrarPorSalario(min, pageable);
-        return ResponseEntity.ok(result);
+        Pageable pageable = buildPageable(page, size, sort, Sort.by("salarioBruto").descending(), ConsultaAdmissao.POR_SALARIO);
+        return service.filtrarPorSalario(min, pageable)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Filtrar por tempo de casa (anos completos) em uma data de referência.
+     *
+     * Query params:
+     * - minAnos (>=0) default 0, inclusive
+     * - maxAnos opcional, inclusive
+     * - referencia (yyyy-MM-dd) default hoje
+     * - page, size, sort (mesma lógica de por-data; sort somente por criadoEm)
+     *
+     * anos/meses/dias da resposta são calculados para a referência, não os gravados no cálculo.
+     */
+    @GetMapping("/por-tempo")
+    public Mono<ResponseEntity<Page<Admissao>>> filtrarPorTempoDeCasa(
+            @RequestParam(value = "minAnos", defaultValue = "0") @Min(0) int minAnos,
+            @RequestParam(value = "maxAnos", required = false) @Min(0) Integer maxAnos,
+            @RequestParam(value = "referencia", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate referencia,
+            @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) int size,
+            @RequestParam(value = "sort", required = false) String sort
+    ) {
+        // mesma consulta de por-data (intervalo de dataAdmissao), portanto os mesmos campos de ordenação
+        Pageable pageable = buildPageable(page, size, sort, Sort.by("criadoEm").descending(), ConsultaAdmissao.POR_DATA);
+        return service.filtrarPorTempoDeCasa(minAnos, maxAnos, referencia, pageable)
+                .map(ResponseEntity::ok);
     }
 
     /**
-     * Listar todos com paginação explícita.
+     * Listar todos com paginação explícita (sort por criadoEm ou salarioBruto).
      */
     @GetMapping
-    public ResponseEntity<Page<Admissao>> listar(
+    public Mono<ResponseEntity<Page<Admissao>>> listar(
             @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
             @RequestParam(value = "size", defaultValue = "20") @Min(1) int size,
             @RequestParam(value = "sort", required = false) String sort
     ) {
-        Pageable pageable = buildPageable(page, size, sort, Sort.by("criadoEm").descending());
-        Page<Admissao> result = service.listar(pageable);
-        return ResponseEntity.ok(result);
+        Pageable pageable = buildPageable(page, size, sort, Sort.by("criadoEm").descending(), ConsultaAdmissao.LISTAR);
+        return service.listar(pageable)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Exporta todas as admissões que atendem aos filtros, sem paginação.
+     *
+     * Query params:
+     * - formato: ndjson (padrão) ou csv
+     * - inicio/fim (yyyy-MM-dd) opcionais, sempre juntos
+     * - min (BigDecimal) opcional
+     *
+     * A resposta é enviada em chunks à medida que o cursor avança (sem Content-Length);
+     * com Accept-Encoding: gzip ela é comprimida (server.compression).
+     */
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportar(
+            @RequestParam(value = "formato", defaultValue = "ndjson") String formato,
+            @RequestParam(value = "inicio", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(value = "fim", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(value = "min", required = false) BigDecimal min,
+            ServerHttpResponse response
+    ) {
+        ExportService.Formato f = ExportService.Formato.of(formato);
+        Flux<DataBuffer> corpo = exportService.exportar(f, inicio, fim, min, response.bufferFactory());
+        return ResponseEntity.ok()
+                .contentType(f.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("admissoes." + f.getExtensao()).build().toString())
+                .body(corpo);
+    }
+
+    /**
+     * Estatísticas por mês de admissão: quantidade, salário médio/mínimo/máximo, percentis
+     * e distribuições de salário e tempo de casa. Lidas do rollup mensal, sem percorrer as admissões.
+     *
+     * Query params:
+     * - inicio (yyyy-MM) opcional, inclusive
+     * - fim (yyyy-MM) opcional, inclusive
+     */
+    @GetMapping("/estatisticas")
+    public Flux<EstatisticaMensalDTO> estatisticas(
+            @RequestParam(value = "inicio", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+            @RequestParam(value = "fim", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim
+    ) {
+        return estatisticasService.consultar(inicio, fim);
+    }
+
+    /**
+     * Admissões gravadas (evento "admissao") e removidas ("remocao", só o id) em tempo real, por Server-Sent
+     * Events, a partir de um change stream compartilhado (requer replica set).
+     *
+     * Header opcional Last-Event-ID (enviado pelo EventSource ao reconectar): continua a partir do evento
+     * seguinte a esse id. Um evento "reinicio" indica que não foi possível continuar (releia a listagem).
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return streamService.assinar(lastEventId);
+    }
+
+    // ---------- Paginação por cursor (opt-in: paginacao=cursor) ----------
+
+    /**
+     * Mesmos filtros dos endpoints acima, com paginação por cursor:
+     * sem count, sem skip, resposta PaginaDTO (items, hasNext, nextCursor).
+     *
+     * Query params adicionais:
+     * - paginacao=cursor (obrigatório para este modo)
+     * - cursor: token devolvido em nextCursor (ausente na primeira página)
+     * - sort: somente a direção é livre; o campo é fixo por endpoint (criadoEm ou salarioBruto)
+     */
+    @GetMapping(params = {"paginacao=cursor", "!fields"})
+    public Mono<ResponseEntity<PaginaDTO<Admissao>>> listarPorCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) int size,
+            @RequestParam(value = "sort", required = false) String sort
+    ) {
+        return service.listarPorCursor(direcaoCursor(sort, "criadoEm"), cursor, size)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/por-data", params = {"paginacao=cursor", "!fields"})
+    public Mono<ResponseEntity<PaginaDTO<Admissao>>> filtrarPorDataPorCursor(
+            @RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) int size,
+            @RequestParam(value = "sort", required = false) String sort
+    ) {
+        return service.filtrarPorDataPorCursor(inicio, fim, direcaoCursor(sort, "criadoEm"), cursor, size)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/por-salario", params = {"paginacao=cursor", "!fields"})
+    public Mono<ResponseEntity<PaginaDTO<Admissao>>> filtrarPorSalarioPorCursor(
+            @RequestParam("min") java.math.BigDecimal min,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) int size,
+            @RequestParam(value = "sort", required = false) String sort
+    ) {
+        return service.filtrarPorSalarioPorCursor(min, direcaoCursor(sort, "salarioBruto"), cursor, size)
+                .map(ResponseEntity::ok);
+    }
+
+    // ---------- Projeção (fields=) ----------
+
+    /**
+     * Mesmos filtros, só com os campos pedidos: a projeção vai para a consulta no Mongo e a resposta é
+     * um PaginaDTO de AdmissaoResumoDTO, sem os metadados do Page.
+     *
+     * Query params adicionais:
+     * - fields: campos separados por vírgula (id, dataAdmissao, salarioBruto, anos, meses, dias,
+     *   porcentagem35, criadoEm); outros campos -> 400
+     * - total (default false): executa o count e preenche total (somente na paginação por offset)
+     * - paginacao=cursor: mesma paginação dos métodos *PorCursor (cursor/nextCursor em vez de page/nextPage)
+     */
+    @GetMapping(params = "fields")
+    public Mono<ResponseEntity<PaginaDTO<AdmissaoResumoDTO>>> listarResumo(
+            @RequestParam("fields") String fields,
+            @RequestParam(value = "paginacao", required = false) String paginacao,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) int size,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "total", defaultValue = "false") boolean total
+    ) {
+        Set<String> campos = parseFields(fields);
+        if (isCursor(paginacao, total)) {
+            return service.listarResumoPorCursor(campos, direcaoCursor(sort, "criadoEm"), cursor, size)
+                    .map(ResponseEntity::ok);
+        }
+        Pageable pageable = buildPageable(page, size, sort, Sort.by("criadoEm").descending(), ConsultaAdmissao.LISTAR);
+        return service.listarResumo(campos, pageable, total)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/por-data", params = "fields")
+    public Mono<ResponseEntity<PaginaDTO<AdmissaoResumoDTO>>> filtrarPorDataResumo(
+            @RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam("fields") String fields,
+            @RequestParam(value = "paginacao", required = false) String paginacao,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) int size,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "total", defaultValue = "false") boolean total
+    ) {
+        Set<String> campos = parseFields(fields);
+        if (isCursor(paginacao, total)) {
+            return service.filtrarPorDataResumoPorCursor(inicio, fim, campos, direcaoCursor(sort, "criadoEm"), cursor, size)
+                    .map(ResponseEntity::ok);
+        }
+        Pageable pageable = buildPageable(page, size, sort, Sort.by("criadoEm").descending(), ConsultaAdmissao.POR_DATA);
+        return service.filtrarPorDataResumo(inicio, fim, campos, pageable, total)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/por-salario", params = "fields")
+    public Mono<ResponseEntity<PaginaDTO<AdmissaoResumoDTO>>> filtrarPorSalarioResumo(
+            @RequestParam("min") java.math.BigDecimal min,
+            @RequestParam("fields") String fields,
+            @RequestParam(value = "paginacao", required = false) String paginacao,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) int size,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "total", defaultValue = "false") boolean total
+    ) {
+        Set<String> campos = parseFields(fields);
+        if (isCursor(paginacao, total)) {
+            return service.filtrarPorSalarioResumoPorCursor(min, campos, direcaoCursor(sort, "salarioBruto"), cursor, size)
+                    .map(ResponseEntity::ok);
+        }
+        Pageable pageable = buildPageable(page, size, sort, Sort.by("salarioBruto").descending(), ConsultaAdmissao.POR_SALARIO);
+        return service.filtrarPorSalarioResumo(min, campos, pageable, total)
+                .map(ResponseEntity::ok);
     }
 
     // ---------- Helpers ----------
-    private Pageable buildPageable(int page, int size, String sortParam, Sort defaultSort) {
+
+    // no modo cursor a ordenação é sempre pelo campo do índice; aceita "campo", "campo,asc" ou "campo,desc"
+    private Sort.Direction direcaoCursor(String sortParam, String campo) {
+        if (sortParam == null || sortParam.isBlank()) {
+            return Sort.Direction.DESC;
+        }
+        String[] parts = sortParam.split(",");
+        if (!parts[0].trim().equals(campo)) {
+            throw new ServerWebInputException("Na paginação por cursor a ordenação deve ser por " + campo);
+        }
+        if (parts.length > 1) {
+            try {
+                return Sort.Direction.fromString(parts[1].trim());
+            } catch (IllegalArgumentException ex) {
+                return Sort.Direction.DESC; // fallback silencioso, como em buildPageable
+            }
+        }
+        return Sort.Direction.DESC;
+    }
+
+    // o cursor existe justamente para não contar; total=true só faz sentido na paginação por offset
+    private static boolean isCursor(String paginacao, boolean total) {
+        if (!"cursor".equals(paginacao)) {
+            return false;
+        }
+        if (total) {
+            throw new ServerWebInputException("total=true não é suportado na paginação por cursor");
+        }
+        return true;
+    }
+
+    // aceita "campo1,campo2,..." somente com campos de AdmissaoResumoDTO.CAMPOS
+    static Set<String> parseFields(String fields) {
+        Set<String> campos = new LinkedHashSet<>();
+        for (String parte : fields.split(",")) {
+            String campo = parte.trim();
+            if (campo.isEmpty()) {
+                continue;
+            }
+            if (!AdmissaoResumoDTO.CAMPOS.contains(campo)) {
+                throw new ServerWebInputException("Campo não suportado em fields: " + campo
+                        + " (permitidos: " + String.join(", ", AdmissaoResumoDTO.CAMPOS) + ")");
+            }
+            campos.add(campo);
+        }
+        if (campos.isEmpty()) {
+            throw new ServerWebInputException("fields deve ter ao menos um campo (permitidos: "
+                    + String.join(", ", AdmissaoResumoDTO.CAMPOS) + ")");
+        }
+        return campos;
+    }
+
+    // só aceita campos atendidos por um índice (ConsultaAdmissao); qualquer outro seria ordenado em memória
+    static Pageable buildPageable(int page, int size, String sortParam, Sort defaultSort, ConsultaAdmissao consulta) {
         if (sortParam == null || sortParam.isBlank()) {
             return PageRequest.of(page, size, defaultSort);
         }
@@ -98,6 +427,10 @@ public class CalculoController {
         // aceita "campo" ou "campo,asc" ou "campo,desc"
         String[] parts = sortParam.split(",");
         String property = parts[0].trim();
+        if (!consulta.permiteOrdenacao(property)) {
+            throw new ServerWebInputException("Ordenação não suportada: " + property
+                    + " (permitidas: " + String.join(", ", consulta.getOrdenacoes()) + ")");
+        }
         Sort.Direction direction = Sort.Direction.DESC;
         if (parts.length > 1) {
             try {
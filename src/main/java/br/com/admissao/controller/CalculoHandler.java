@@ -0,0 +1,254 @@
+package br.com.admissao.controller;
+
+import br.com.admissao.config.CodecConfig;
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.repository.ConsultaAdmissao;
+import br.com.admissao.service.CalculoRequestValidacao;
+import br.com.admissao.service.CalculoService;
+import br.com.admissao.service.IdempotenciaService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Min;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.NumberUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * HandlerFunctions de CalculoRotas: POST, listagem e filtros paginados do CalculoController, sem
+ * mapeamento por anotações, resolução de argumentos nem o proxy de validação do @Validated.
+ *
+ * Os parâmetros são lidos e convertidos na ordem das assinaturas do controller, com as mesmas exceções
+ * (MissingRequestValueException, "Type mismatch.", ConstraintViolationException de @Min), para que o
+ * GlobalExceptionHandler produza os mesmos corpos de erro.
+ */
+class CalculoHandler {
+
+    private static final String QUERY_PARAMETER = "query parameter";
+
+    // na ordem dos encoders do WebFlux: com Accept: */* a resposta é JSON
+    private static final List<MediaType> PRODUZIDOS =
+            List.of(MediaType.APPLICATION_JSON, CodecConfig.APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
+
+    private final CalculoService service;
+    private final IdempotenciaService idempotenciaService;
+    private final CalculoRequestValidacao validacao;
+    private final Validator validator;
+
+    CalculoHandler(CalculoService service, IdempotenciaService idempotenciaService,
+                   CalculoRequestValidacao validacao, Validator validator) {
+        this.service = service;
+        this.idempotenciaService = idempotenciaService;
+        this.validacao = validacao;
+        this.validator = validator;
+    }
+
+    /**
+     * Mesmo contrato de CalculoController.calcular (Idempotency-Key e Idempotent-Replayed inclusive).
+     */
+    Mono<ServerResponse> calcular(ServerRequest request) {
+        String idempotencyKey = request.headers().firstHeader(CalculoController.IDEMPOTENCY_KEY);
+        return request.bodyToMono(CalculoRequestDTO.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("No request body")))
+                .flatMap(dto -> {
+                    validacao.validarOuFalhar(dto);
+                    if (idempotencyKey == null) {
+                        return service.calcularESalvarReactive(dto)
+                                .flatMap(resp -> criado(request).bodyValue(resp));
+                    }
+                    return idempotenciaService.executar(idempotencyKey, dto, () -> service.calcularESalvarReactive(dto))
+                            .flatMap(r -> {
+                                ServerResponse.BodyBuilder builder = criado(request);
+                                if (r.repetida()) {
+                                    builder.header(CalculoController.IDEMPOTENT_REPLAYED, "true");
+                                }
+                                return builder.bodyValue(r.resposta());
+                            });
+                });
+    }
+
+    Mono<ServerResponse> listar(ServerRequest request) {
+        int page = inteiro(request, "page", 0);
+        int size = inteiro(request, "size", 20);
+        String sort = request.queryParam("sort").orElse(null);
+        validar(Parametros.LISTAR, page, size, sort);
+        Pageable pageable = CalculoController.buildPageable(page, size, sort,
+                Sort.by("criadoEm").descending(), ConsultaAdmissao.LISTAR);
+        return ok(request, service.listar(pageable));
+    }
+
+    Mono<ServerResponse> filtrarPorData(ServerRequest request) {
+        LocalDate inicio = obrigatorio(request, "inicio", LocalDate.class, CalculoHandler::data);
+        LocalDate fim = obrigatorio(request, "fim", LocalDate.class, CalculoHandler::data);
+        int page = inteiro(request, "page", 0);
+        int size = inteiro(request, "size", 20);
+        String sort = request.queryParam("sort").orElse(null);
+        validar(Parametros.POR_DATA, inicio, fim, page, size, sort);
+        Pageable pageable = CalculoController.buildPageable(page, size, sort,
+                Sort.by("criadoEm").descending(), ConsultaAdmissao.POR_DATA);
+        return ok(request, service.filtrarPorData(inicio, fim, pageable));
+    }
+
+    Mono<ServerResponse> filtrarPorSalario(ServerRequest request) {
+        BigDecimal min = obrigatorio(request, "min", BigDecimal.class, v -> NumberUtils.parseNumber(v, BigDecimal.class));
+        int page = inteiro(request, "page", 0);
+        int size = inteiro(request, "size", 20);
+        String sort = request.queryParam("sort").orElse(null);
+        validar(Parametros.POR_SALARIO, min, page, size, sort);
+        Pageable pageable = CalculoController.buildPageable(page, size, sort,
+                Sort.by("salarioBruto").descending(), ConsultaAdmissao.POR_SALARIO);
+        return ok(request, service.filtrarPorSalario(min, pageable));
+    }
+
+    Mono<ServerResponse> filtrarPorTempoDeCasa(ServerRequest request) {
+        int minAnos = inteiro(request, "minAnos", 0);
+        Integer maxAnos = opcional(request, "maxAnos", v -> NumberUtils.parseNumber(v, Integer.class));
+        LocalDate referencia = opcional(request, "referencia", CalculoHandler::data);
+        int page = inteiro(request, "page", 0);
+        int size = inteiro(request, "size", 20);
+        String sort = request.queryParam("sort").orElse(null);
+        validar(Parametros.POR_TEMPO, minAnos, maxAnos, referencia, page, size, sort);
+        Pageable pageable = CalculoController.buildPageable(page, size, sort,
+                Sort.by("criadoEm").descending(), ConsultaAdmissao.POR_DATA);
+        return ok(request, service.filtrarPorTempoDeCasa(minAnos, maxAnos, referencia, pageable));
+    }
+
+    // ---------- Helpers ----------
+
+    /**
+     * Negociação pelo Accept, como a dos @RequestMapping: o ServerResponse sem Content-Type usaria sempre o
+     * primeiro encoder (JSON). Accept ausente ou sem nenhum formato compatível -> JSON.
+     */
+    static MediaType tipoDaResposta(ServerRequest request) {
+        if (request.headers().firstHeader(HttpHeaders.ACCEPT) == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> aceitos = new ArrayList<>(request.headers().accept());
+        MimeTypeUtils.sortBySpecificity(aceitos);
+        for (MediaType aceito : aceitos) {
+            for (MediaType produzido : PRODUZIDOS) {
+                if (aceito.isCompatibleWith(produzido)) {
+                    return produzido;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private static ServerResponse.BodyBuilder criado(ServerRequest request) {
+        return ServerResponse.status(HttpStatus.CREATED).contentType(tipoDaResposta(request));
+    }
+
+    private static Mono<ServerResponse> ok(ServerRequest request, Mono<?> corpo) {
+        return corpo.flatMap(c -> ServerResponse.ok().contentType(tipoDaResposta(request)).bodyValue(c));
+    }
+
+    // como @RequestParam com defaultValue: ausente ou vazio -> padrão
+    private static int inteiro(ServerRequest request, String nome, int padrao) {
+        Integer valor = opcional(request, nome, v -> NumberUtils.parseNumber(v, Integer.class));
+        return valor != null ? valor : padrao;
+    }
+
+    // @DateTimeFormat(iso = DATE)
+    private static LocalDate data(String valor) {
+        return LocalDate.parse(valor, DateTimeFormatter.ISO_DATE);
+    }
+
+    // conversões com as mesmas regras do ConversionService (NumberUtils) e do @DateTimeFormat dos @RequestParam
+    private static <T> T opcional(ServerRequest request, String nome, Function<String, T> conversor) {
+        String valor = request.queryParam(nome).orElse(null);
+        return valor == null || valor.isEmpty() ? null : converter(valor, conversor);
+    }
+
+    private static <T> T obrigatorio(ServerRequest request, String nome, Class<T> tipo, Function<String, T> conversor) {
+        T valor = opcional(request, nome, conversor);
+        if (valor == null) {
+            throw new MissingRequestValueException(nome, tipo, QUERY_PARAMETER, null);
+        }
+        return valor;
+    }
+
+    private static <T> T converter(String valor, Function<String, T> conversor) {
+        try {
+            return conversor.apply(valor);
+        } catch (RuntimeException e) {
+            throw new ServerWebInputException("Type mismatch.", null, e);
+        }
+    }
+
+    // os limites são conferidos à mão; o Validator só é chamado para montar a mesma ConstraintViolationException
+    private void validar(Method assinatura, Object... argumentos) {
+        if (!Parametros.violados(assinatura, argumentos)) {
+            return;
+        }
+        Set<ConstraintViolation<Parametros>> violacoes =
+                validator.forExecutables().validateParameters(Parametros.INSTANCIA, assinatura, argumentos);
+        if (!violacoes.isEmpty()) {
+            throw new ConstraintViolationException(violacoes);
+        }
+    }
+
+    /**
+     * Assinaturas dos métodos do CalculoController (mesmos nomes, parâmetros e @Min): a validação de métodos
+     * sobre elas gera os mesmos caminhos ("listar.page") e mensagens que o proxy do @Validated.
+     */
+    static final class Parametros {
+
+        static final Parametros INSTANCIA = new Parametros();
+        static final Method LISTAR = metodo("listar", int.class, int.class, String.class);
+        static final Method POR_DATA = metodo("filtrarPorData", LocalDate.class, LocalDate.class, int.class, int.class, String.class);
+        static final Method POR_SALARIO = metodo("filtrarPorSalario", BigDecimal.class, int.class, int.class, String.class);
+        static final Method POR_TEMPO = metodo("filtrarPorTempoDeCasa", int.class, Integer.class, LocalDate.class, int.class, int.class, String.class);
+
+        public void listar(@Min(0) int page, @Min(1) int size, String sort) {
+        }
+
+        public void filtrarPorData(LocalDate inicio, LocalDate fim, @Min(0) int page, @Min(1) int size, String sort) {
+        }
+
+        public void filtrarPorSalario(BigDecimal min, @Min(0) int page, @Min(1) int size, String sort) {
+        }
+
+        public void filtrarPorTempoDeCasa(@Min(0) int minAnos, @Min(0) Integer maxAnos, LocalDate referencia,
+                                          @Min(0) int page, @Min(1) int size, String sort) {
+        }
+
+        // page/minAnos/maxAnos >= 0 e size >= 1, pela posição nas assinaturas acima
+        static boolean violados(Method assinatura, Object[] argumentos) {
+            int n = argumentos.length;
+            if ((int) argumentos[n - 3] < 0 || (int) argumentos[n - 2] < 1) {
+                return true;
+            }
+            if (assinatura == POR_TEMPO) {
+                return (int) argumentos[0] < 0 || (argumentos[1] != null && (Integer) argumentos[1] < 0);
+            }
+            return false;
+        }
+
+        private static Method metodo(String nome, Class<?>... tipos) {
+            try {
+                return Parametros.class.getMethod(nome, tipos);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.admissao.controller;
+
+import br.com.admissao.exception.ErrorResponse;
+import br.com.admissao.exception.GlobalExceptionHandler;
+import br.com.admissao.service.CalculoRequestValidacao;
+import br.com.admissao.service.CalculoService;
+import br.com.admissao.service.IdempotenciaService;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Rotas funcionais (RouterFunction) para POST /api/calculos, a listagem e os filtros paginados
+ * (por-data, por-salario, por-tempo), ligadas por admissao.web.rotas=funcionais.
+ *
+ * O RouterFunctionMapping é consultado antes dos @RequestMapping: as rotas daqui atendem essas requisições
+ * e o restante (lote, export, estatisticas, paginacao=cursor e fields=) continua no CalculoController.
+ * Os erros passam pelo GlobalExceptionHandler.handle, com os mesmos status e corpos do controller.
+ */
+@Configuration
+@ConditionalOnProperty(name = CalculoRotas.PROPRIEDADE, havingValue = "funcionais")
+public class CalculoRotas {
+
+    public static final String PROPRIEDADE = "admissao.web.rotas";
+
+    private static final String BASE = "/api/calculos";
+
+    // paginacao=cursor e fields= ficam com os métodos *PorCursor e *Resumo do controller
+    private static final RequestPredicate SEM_CURSOR_NEM_FIELDS = queryParam("paginacao", "cursor"::equals).negate()
+            .and(queryParam("fields", valor -> true).negate());
+
+    @Bean
+    public RouterFunction<ServerResponse> calculoRouterFunction(CalculoService service,
+                                                                IdempotenciaService idempotenciaService,
+                                                                CalculoRequestValidacao validacao,
+                                                                Validator validator,
+                                                                GlobalExceptionHandler exceptionHandler) {
+        return rotas(new CalculoHandler(service, idempotenciaService, validacao, validator), exceptionHandler);
+    }
+
+    static RouterFunction<ServerResponse> rotas(CalculoHandler handler, GlobalExceptionHandler exceptionHandler) {
+        return route(POST(BASE), handler::calcular)
+                .andRoute(GET(BASE).and(SEM_CURSOR_NEM_FIELDS), handler::listar)
+                .andRoute(GET(BASE + "/por-data").and(SEM_CURSOR_NEM_FIELDS), handler::filtrarPorData)
+                .andRoute(GET(BASE + "/por-salario").and(SEM_CURSOR_NEM_FIELDS), handler::filtrarPorSalario)
+                .andRoute(GET(BASE + "/por-tempo"), handler::filtrarPorTempoDeCasa)
+                // Mono.defer: exceções lançadas pelo handler antes de devolver o Mono também viram resposta
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(Exception.class, ex -> erro(exceptionHandler, ex, request)));
+    }
+
+    private static Mono<ServerResponse> erro(GlobalExceptionHandler exceptionHandler, Exception ex, ServerRequest request) {
+        ResponseEntity<ErrorResponse> resposta = exceptionHandler.handle(ex, request.exchange());
+        return ServerResponse.status(resposta.getStatusCode())
+                .headers(h -> h.addAll(resposta.getHeaders()))
+                .contentType(CalculoHandler.tipoDaResposta(request))
+                .bodyValue(resposta.getBody());
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.admissao.dto;
+
+import br.com.admissao.model.Admissao;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Admissão com somente os campos pedidos em fields= (os demais ficam fora do JSON).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Admissão projetada (somente os campos de fields)")
+public class AdmissaoResumoDTO {
+
+    /**
+     * Campos aceitos em fields=, na ordem dos atributos de Admissao.
+     */
+    public static final List<String> CAMPOS = List.of(
+            "id", "dataAdmissao", "salarioBruto", "anos", "meses", "dias", "porcentagem35", "criadoEm");
+
+    private String id;
+    private LocalDate dataAdmissao;
+    private BigDecimal salarioBruto;
+    private Long anos;
+    private Long meses;
+    private Long dias;
+    private BigDecimal porcentagem35;
+    private LocalDateTime criadoEm;
+
+    public static AdmissaoResumoDTO of(Admissao a, Set<String> campos) {
+        AdmissaoResumoDTO dto = new AdmissaoResumoDTO();
+        if (campos.contains("id")) dto.id = a.getId();
+        if (campos.contains("dataAdmissao")) dto.dataAdmissao = a.getDataAdmissao();
+        if (campos.contains("salarioBruto")) dto.salarioBruto = a.getSalarioBruto();
+        if (campos.contains("anos")) dto.anos = a.getAnos();
+        if (campos.contains("meses")) dto.meses = a.getMeses();
+        if (campos.contains("dias")) dto.dias = a.getDias();
+        if (campos.contains("porcentagem35")) dto.porcentagem35 = a.getPorcentagem35();
+        if (campos.contains("criadoEm")) dto.criadoEm = a.getCriadoEm();
+        return dto;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.admissao.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Estatísticas das admissões de um mês de admissão")
+public class EstatisticaMensalDTO {
+
+    @Schema(description = "Mês de admissão", example = "2024-03")
+    private String mes;
+
+    private long quantidade;
+
+    private BigDecimal salarioMedio;
+    private BigDecimal salarioMinimo;
+    private BigDecimal salarioMaximo;
+
+    @Schema(description = "Percentis de salarioBruto (p50, p90, p99), estimados a partir das faixas")
+    private Map<String, BigDecimal> percentis;
+
+    @Schema(description = "Limite inferior da faixa de salário -> quantidade")
+    private Map<String, Long> faixasSalario;
+
+    @Schema(description = "Anos completos de casa no momento do cálculo -> quantidade")
+    private Map<String, Long> tempoDeCasa;
+}
@@ -0,0 +1,39 @@
+package br.com.admissao.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Resultado de um registro do lote (uma linha NDJSON por registro)")
+public class LoteResultadoDTO {
+
+    public enum Status { CRIADO, ERRO }
+
+    @Schema(description = "Posição do registro no lote de entrada (base 0)", example = "0")
+    private long indice;
+
+    private Status status;
+
+    private CalculoResponseDTO resultado;
+
+    @Schema(description = "Mensagens de erro no mesmo formato de ErrorResponse.messages")
+    private List<String> erros;
+
+    public static LoteResultadoDTO criado(long indice, CalculoResponseDTO resultado) {
+        return new LoteResultadoDTO(indice, Status.CRIADO, resultado, null);
+    }
+
+    public static LoteResultadoDTO erro(long indice, List<String> erros) {
+        return new LoteResultadoDTO(indice, Status.ERRO, null, erros);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.admissao.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página no estilo Slice: sem total de registros (nenhum count é executado), a não ser que
+ * o total seja pedido explicitamente (total=true nas consultas com fields=).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Página enxuta: por cursor ou por número de página, total opcional")
+public class PaginaDTO<T> {
+
+    private List<T> items;
+
+    @Schema(description = "Tamanho de página solicitado", example = "20")
+    private int size;
+
+    private boolean hasNext;
+
+    @Schema(description = "Token opaco para a próxima página; ausente na última página")
+    private String nextCursor;
+
+    @Schema(description = "Número da próxima página (paginação por offset); ausente na última página", example = "1")
+    private Integer nextPage;
+
+    @Schema(description = "Total de registros do filtro; presente somente com total=true")
+    private Long total;
+}
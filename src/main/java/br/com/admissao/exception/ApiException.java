@@ -8,4 +8,11 @@ public class ApiException extends RuntimeException {
     public ApiException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * Sem stack trace: para erros esperados (validação), em que o custo de capturar a pilha não se paga.
+     */
+    protected ApiException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
@@ -104,6 +104,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    @ExceptionHandler(ValidacaoException.class)
+    public ResponseEntity<ErrorResponse> handleValidacao(ValidacaoException ex, ServerWebExchange exchange) {
+        ErrorResponse body = ErrorResponse.builder()
+                .timestamp(OffsetDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Validation Error")
+                .messages(ex.getMensagens())
+                .path(path(exchange))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     @ExceptionHandler(ApiException.class)
     public ResponseEntity<ErrorResponse> handleApi(ApiException ex, ServerWebExchange exchange) {
         ErrorResponse body = ErrorResponse.builder()
@@ -131,6 +144,35 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
     }
 
+    /**
+     * Mesma escolha dos @ExceptionHandler acima (o tipo mais específico vence), para as rotas funcionais
+     * (CalculoRotas), que não passam pelo @RestControllerAdvice: os corpos de erro são os mesmos.
+     */
+    public ResponseEntity<ErrorResponse> handle(Exception ex, ServerWebExchange exchange) {
+        if (ex instanceof WebExchangeBindException) {
+            return handleWebExchangeBind((WebExchangeBindException) ex, exchange);
+        }
+        if (ex instanceof ServerWebInputException) {
+            return handleServerWebInput((ServerWebInputException) ex, exchange);
+        }
+        if (ex instanceof MethodArgumentNotValidException) {
+            return handleMethodArgNotValid((MethodArgumentNotValidException) ex, exchange);
+        }
+        if (ex instanceof DecodingException) {
+            return handleDecoding((DecodingException) ex, exchange);
+        }
+        if (ex instanceof ConstraintViolationException) {
+            return handleConstraintViolation((ConstraintViolationException) ex, exchange);
+        }
+        if (ex instanceof ValidacaoException) {
+            return handleValidacao((ValidacaoException) ex, exchange);
+        }
+        if (ex instanceof ApiException) {
+            return handleApi((ApiException) ex, exchange);
+        }
+        return handleAll(ex, exchange);
+    }
+
     // ---------- helpers ----------
 
     private String extractMessageFromServerWebInput(ServerWebInputException ex) {
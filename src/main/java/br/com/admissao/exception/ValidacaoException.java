@@ -0,0 +1,21 @@
+package br.com.admissao.exception;
+
+import java.util.List;
+
+/**
+ * Violações de validação de um corpo de requisição ("campo: mensagem"), sem stack trace.
+ * Respondida pelo GlobalExceptionHandler como 400 "Validation Error", o mesmo corpo do @Valid.
+ */
+public class ValidacaoException extends ApiException {
+
+    private final List<String> mensagens;
+
+    public ValidacaoException(List<String> mensagens) {
+        super(String.join("; ", mensagens), false);
+        this.mensagens = List.copyOf(mensagens);
+    }
+
+    public List<String> getMensagens() {
+        return mensagens;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -16,8 +18,17 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "admissoes")
+@CompoundIndexes({
+        // listar e por-data: ordenação por criadoEm (desempate _id, usado pelo cursor);
+        // dataAdmissao no fim permite filtrar o intervalo só com as chaves do índice
+        @CompoundIndex(name = Admissao.INDICE_CRIADO_EM, def = "{'criadoEm': -1, '_id': -1, 'dataAdmissao': 1}"),
+        // por-salario: intervalo e ordenação no mesmo campo
+        @CompoundIndex(name = "salarioBruto_id", def = "{'salarioBruto': -1, '_id': -1}")
+})
 public class Admissao {
 
+    public static final String INDICE_CRIADO_EM = "criadoEm_id_dataAdmissao";
+
     @Id
     private String id;
 
@@ -0,0 +1,42 @@
+package br.com.admissao.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Agregado das admissões de um mês de admissão (rollup), mantido com $inc a cada inserção.
+ * As faixas de salário e de tempo de casa são contadores; os percentis são estimados a partir deles.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "admissoes_estatisticas")
+public class EstatisticaMensal {
+
+    // mês de admissão, yyyy-MM (a ordem lexicográfica é a cronológica)
+    @Id
+    private String mes;
+
+    private long quantidade;
+
+    private BigDecimal somaSalario;
+    private BigDecimal salarioMinimo;
+    private BigDecimal salarioMaximo;
+
+    // limite inferior da faixa (EstatisticasRollup.FAIXAS_SALARIO) -> quantidade
+    private Map<String, Long> faixasSalario;
+
+    // anos completos de casa no momento do cálculo -> quantidade
+    private Map<String, Long> tempoDeCasa;
+
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,34 @@
+package br.com.admissao.model;
+
+import br.com.admissao.dto.CalculoResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Primeira resposta de um POST /api/calculos com Idempotency-Key. Removido pelo índice TTL
+ * em criadoEm (admissao.idempotencia.ttl), criado pelo {@link br.com.admissao.repository.IdempotenciaStore}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "admissoes_idempotencia")
+public class RegistroIdempotencia {
+
+    // valor do header Idempotency-Key
+    @Id
+    private String chave;
+
+    // SHA-256 do payload normalizado: a mesma chave com outro payload é rejeitada
+    private String impressao;
+
+    private CalculoResponseDTO resposta;
+
+    private LocalDateTime criadoEm;
+}
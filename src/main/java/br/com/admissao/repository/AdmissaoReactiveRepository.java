@@ -0,0 +1,26 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.Admissao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Repository
+public interface AdmissaoReactiveRepository extends ReactiveMongoRepository<Admissao, String> {
+
+    Flux<Admissao> findAllBy(Pageable pageable);
+
+    Flux<Admissao> findByDataAdmissaoBetween(LocalDate inicio, LocalDate fim, Pageable pageable);
+
+    Mono<Long> countByDataAdmissaoBetween(LocalDate inicio, LocalDate fim);
+
+    Flux<Admissao> findBySalarioBrutoGreaterThanEqual(BigDecimal salarioMinimo, Pageable pageable);
+
+    Mono<Long> countBySalarioBrutoGreaterThanEqual(BigDecimal salarioMinimo);
+
+}
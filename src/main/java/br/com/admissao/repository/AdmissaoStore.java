@@ -0,0 +1,62 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.Admissao;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Porta de persistência usada pelo serviço. Sempre exposta de forma reativa;
+ * a implementação ativa é escolhida por {@code admissao.persistence.mode}:
+ * - blocking: MongoRepository executado em um Scheduler dedicado (padrão)
+ * - reactive: ReactiveMongoRepository, sem nenhuma thread bloqueada
+ */
+public interface AdmissaoStore {
+
+    Mono<Admissao> save(Admissao admissao);
+
+    Mono<Void> deleteById(String id);
+
+    /**
+     * Insere o lote com um único insertMany; devolve as entidades com os ids gerados.
+     */
+    Mono<List<Admissao>> insertAll(List<Admissao> admissoes);
+
+    /**
+     * Bulk insert não ordenado: um documento rejeitado não impede a gravação dos demais.
+     * Os ids devem vir preenchidos pelo chamador.
+     *
+     * @return posição (na lista recebida) de cada documento rejeitado e o erro do bulk write que a
+     * rejeitou; vazio quando todos foram gravados
+     */
+    Mono<Map<Integer, Throwable>> insertAllUnordered(List<Admissao> admissoes);
+
+    Mono<Page<Admissao>> findAll(Pageable pageable);
+
+    Mono<Page<Admissao>> findByDataAdmissaoBetween(LocalDate inicio, LocalDate fim, Pageable pageable);
+
+    Mono<Page<Admissao>> findBySalarioBrutoGreaterThanEqual(BigDecimal salarioMinimo, Pageable pageable);
+
+    /**
+     * Executa uma consulta montada pelo serviço (ex.: paginação por cursor), sem count.
+     */
+    Mono<List<Admissao>> find(Query query);
+
+    /**
+     * Conta os documentos que atendem ao filtro da consulta (sort, skip, limit e projeção são ignorados).
+     */
+    Mono<Long> count(Query query);
+
+    /**
+     * Percorre o resultado com um cursor do Mongo, respeitando a demanda do assinante:
+     * nenhum lote é buscado antes de ser pedido e o cursor é fechado ao cancelar.
+     */
+    Flux<Admissao> stream(Query query);
+}
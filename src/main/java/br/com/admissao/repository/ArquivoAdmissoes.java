@@ -0,0 +1,346 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.Admissao;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Camada de arquivo de admissoes: uma coleção por mês de criadoEm (admissoes_arquivo_AAAA_MM),
+ * com os mesmos documentos e índices da coleção quente.
+ *
+ * - {@link #arquivar}: move os documentos com criadoEm anterior ao corte em lotes limitados
+ *   (cópia idempotente para o mês de arquivo e só então remoção de admissoes)
+ * - {@link #arquivada}: distingue, nos deletes do change stream, o que foi arquivado do que foi excluído
+ * - {@link #colecoes}: coleções de arquivo que podem conter um intervalo de dataAdmissao
+ * - {@link #buscar}/{@link #contar}: executam uma consulta sobre a coleção quente e as de arquivo
+ * - {@link #stream}: cursor em uma coleção de arquivo (export)
+ *
+ * Cada coleção guarda um intervalo de criadoEm disjunto das demais, e a quente fica com o mais recente;
+ * consultas ordenadas por criadoEm percorrem as camadas em ordem e param quando a página se completa.
+ */
+@Component
+public class ArquivoAdmissoes {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivoAdmissoes.class);
+
+    static final String PREFIXO = "admissoes_arquivo_";
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("uuuu_MM");
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final AtomicReference<NavigableSet<YearMonth>> meses = new AtomicReference<>(Collections.emptyNavigableSet());
+    private final Set<String> indexadas = ConcurrentHashMap.newKeySet();
+
+    public ArquivoAdmissoes(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public static String colecao(YearMonth mes) {
+        return PREFIXO + mes.format(FORMATO_MES);
+    }
+
+    /**
+     * Coleções de arquivo, da mais antiga para a mais recente, que podem ter admissões com dataAdmissao
+     * posterior a inicio (null = todas). Como dataAdmissao nunca passa de criadoEm, meses de criadoEm
+     * anteriores ao de inicio ficam de fora; uma lista vazia significa consultar só a coleção quente.
+     */
+    public List<String> colecoes(LocalDate inicio) {
+        NavigableSet<YearMonth> conhecidos = meses.get();
+        NavigableSet<YearMonth> relevantes = inicio == null ? conhecidos : conhecidos.tailSet(YearMonth.from(inicio), true);
+        return relevantes.stream().map(ArquivoAdmissoes::colecao).toList();
+    }
+
+    /**
+     * Relê do Mongo a lista de meses arquivados (inclusive os arquivados por outras instâncias).
+     */
+    public Mono<Integer> atualizar() {
+        return mongoTemplate.getCollectionNames()
+                .filter(nome -> nome.startsWith(PREFIXO))
+                .flatMap(nome -> {
+                    try {
+                        return Mono.just(YearMonth.parse(nome.substring(PREFIXO.length()), FORMATO_MES));
+                    } catch (DateTimeParseException e) {
+                        return Mono.empty();
+                    }
+                })
+                .collect(TreeSet<YearMonth>::new, TreeSet::add)
+                .map(lidos -> {
+                    meses.set(Collections.unmodifiableNavigableSet(lidos));
+                    return lidos.size();
+                });
+    }
+
+    // ---------- Arquivamento ----------
+
+    /**
+     * Move para o arquivo as admissões com criadoEm anterior ao corte, em lotes de até {@code lote}
+     * documentos (os mais antigos primeiro). Cada lote é copiado com replace/upsert por _id e só então
+     * removido de admissoes: uma execução interrompida é refeita sem duplicar nada, e um documento
+     * nunca fica fora das duas camadas (no máximo, aparece nas duas até o fim do lote).
+     *
+     * As consultas só leem os meses conhecidos pela instância. Antes da primeira remoção, os meses novos
+     * são anunciados: a coleção é criada (visível ao atualizar() das outras instâncias) e entra em meses;
+     * havendo algum, espera {@code propagacao} para que as outras instâncias releiam a lista.
+     *
+     * @return quantidade de documentos movidos
+     */
+    public Mono<Long> arquivar(LocalDateTime corte, int lote, Duration propagacao) {
+        return anunciar(corte)
+                .flatMap(novos -> novos == 0 ? Mono.just(0L) : Mono.delay(propagacao))
+                .then(Mono.defer(() -> moverLote(corte, lote)))
+                .expand(movidos -> movidos < lote ? Mono.empty() : moverLote(corte, lote))
+                .reduce(0L, Long::sum)
+                .flatMap(total -> atualizar().thenReturn(total));
+    }
+
+    /**
+     * Indica se a admissão removida de admissoes foi movida para o arquivo (e não excluída).
+     * O mês vem do timestamp do ObjectId, que acompanha criadoEm; os vizinhos cobrem a virada do mês.
+     */
+    public Mono<Boolean> arquivada(String id) {
+        if (!ObjectId.isValid(id)) {
+            return Mono.just(false);
+        }
+        YearMonth mes = YearMonth.from(new ObjectId(id).getDate().toInstant().atZone(ZoneId.systemDefault()));
+        NavigableSet<YearMonth> candidatos = meses.get().subSet(mes.minusMonths(1), true, mes.plusMonths(1), true);
+        return Flux.fromIterable(candidatos)
+                .concatMap(m -> mongoTemplate.exists(Query.query(Criteria.where("_id").is(id)), colecao(m)))
+                .any(Boolean::booleanValue);
+    }
+
+    // meses com admissões anteriores ao corte e ainda sem coleção; devolve quantos foram criados
+    private Mono<Integer> anunciar(LocalDateTime corte) {
+        Mono<LocalDateTime> primeiro = extremo(corte, Sort.Direction.ASC);
+        Mono<LocalDateTime> ultimo = extremo(corte, Sort.Direction.DESC);
+        return Mono.zip(primeiro, ultimo).flatMapMany(t -> {
+                    List<YearMonth> intervalo = new ArrayList<>();
+                    for (YearMonth m = YearMonth.from(t.getT1()); !m.isAfter(YearMonth.from(t.getT2())); m = m.plusMonths(1)) {
+                        if (!meses.get().contains(m)) {
+                            intervalo.add(m);
+                        }
+                    }
+                    return Flux.fromIterable(intervalo);
+                })
+                // só meses com algum documento a mover: um intervalo com lacunas não cria coleções vazias
+                .filterWhen(m -> {
+                    LocalDateTime fim = m.plusMonths(1).atDay(1).atStartOfDay();
+                    return mongoTemplate.exists(Query.query(Criteria.where("criadoEm")
+                            .gte(m.atDay(1).atStartOfDay()).lt(fim.isBefore(corte) ? fim : corte)), Admissao.class);
+                })
+                .concatMap(m -> garantirIndices(colecao(m)).then(Mono.fromRunnable(() -> registrar(m))).thenReturn(m))
+                .count()
+                .map(Long::intValue)
+                .doOnNext(novos -> {
+                    if (novos > 0) {
+                        log.info("{} meses de arquivo novos", novos);
+                    }
+                });
+    }
+
+    // criadoEm mais antigo (ASC) ou mais recente (DESC) anterior ao corte
+    private Mono<LocalDateTime> extremo(LocalDateTime corte, Sort.Direction direcao) {
+        Query query = Query.query(Criteria.where("criadoEm").lt(corte)).with(Sort.by(direcao, "criadoEm")).limit(1);
+        query.fields().include("criadoEm");
+        return mongoTemplate.findOne(query, Admissao.class).map(Admissao::getCriadoEm);
+    }
+
+    // a coleção do mês já existe (garantirIndices); sem esperar o próximo atualizar()
+    private void registrar(YearMonth mes) {
+        meses.updateAndGet(atuais -> {
+            if (atuais.contains(mes)) {
+                return atuais;
+            }
+            TreeSet<YearMonth> novos = new TreeSet<>(atuais);
+            novos.add(mes);
+            return Collections.unmodifiableNavigableSet(novos);
+        });
+    }
+
+    private Mono<Long> moverLote(LocalDateTime corte, int lote) {
+        Query antigos = Query.query(Criteria.where("criadoEm").lt(corte)).with(Sort.by("criadoEm")).limit(lote);
+        return mongoTemplate.find(antigos, Admissao.class).collectList().flatMap(docs -> {
+            if (docs.isEmpty()) {
+                return Mono.just(0L);
+            }
+            Map<YearMonth, List<Admissao>> porMes = new TreeMap<>();
+            for (Admissao a : docs) {
+                porMes.computeIfAbsent(YearMonth.from(a.getCriadoEm()), k -> new ArrayList<>()).add(a);
+            }
+            List<String> ids = docs.stream().map(Admissao::getId).toList();
+            return Flux.fromIterable(porMes.entrySet())
+                    // remove só depois que os meses copiados são consultados por esta instância
+                    .concatMap(e -> copiar(colecao(e.getKey()), e.getValue())
+                            .then(Mono.fromRunnable(() -> registrar(e.getKey()))))
+                    .then(mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), Admissao.class))
+                    .doOnNext(r -> log.debug("Arquivadas {} admissões em {} meses", r.getDeletedCount(), porMes.size()))
+                    .thenReturn((long) docs.size());
+        });
+    }
+
+    private Mono<Void> copiar(String colecao, List<Admissao> docs) {
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Admissao.class, colecao);
+        docs.forEach(a -> bulk.replaceOne(Query.query(Criteria.where("_id").is(a.getId())), a,
+                FindAndReplaceOptions.options().upsert()));
+        return garantirIndices(colecao).then(bulk.execute()).then();
+    }
+
+    // mesmos índices de admissoes (@CompoundIndexes), criados uma vez por coleção
+    private Mono<Void> garantirIndices(String colecao) {
+        if (indexadas.contains(colecao)) {
+            return Mono.empty();
+        }
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        return Flux.fromIterable(resolver.resolveIndexFor(Admissao.class))
+                .concatMap(indice -> mongoTemplate.indexOps(colecao).createIndex(indice))
+                .then(Mono.fromRunnable(() -> indexadas.add(colecao)));
+    }
+
+    // ---------- Consultas ----------
+
+    /**
+     * Executa a consulta (filtro, ordenação, skip, limit e projeção) sobre a coleção quente e as
+     * coleções de arquivo indicadas, como se fossem uma só.
+     *
+     * - ordenada por criadoEm (ou sem ordenação): camada a camada, na ordem de criadoEm; as camadas
+     *   seguintes só são lidas se a página não se completar, e uma camada pulada inteira pelo skip custa
+     *   um count
+     * - outra ordenação: uma aggregation em admissoes com $unionWith das coleções de arquivo, cada ramo
+     *   limitado a skip + limit pelo próprio índice
+     *
+     * @param quente consulta na coleção quente (AdmissaoStore ativo)
+     */
+    public Mono<List<Admissao>> buscar(Query query, Function<Query, Mono<List<Admissao>>> quente,
+                                       Function<Query, Mono<Long>> contarQuente, List<String> arquivos) {
+        Document sort = query.getSortObject();
+        String primeiro = sort.isEmpty() ? "criadoEm" : sort.keySet().iterator().next();
+        if (!primeiro.equals("criadoEm")) {
+            return unir(query, arquivos);
+        }
+        boolean crescente = !sort.isEmpty() && ((Number) sort.get("criadoEm")).intValue() > 0;
+
+        // da mais antiga para a mais recente: os arquivos já vêm em ordem e a quente fica por último
+        List<Camada> camadas = new ArrayList<>();
+        for (String colecao : arquivos) {
+            camadas.add(new Camada(q -> mongoTemplate.find(q, Admissao.class, colecao).collectList(),
+                    q -> mongoTemplate.count(q, Admissao.class, colecao)));
+        }
+        camadas.add(new Camada(quente, contarQuente));
+        if (!crescente) {
+            Collections.reverse(camadas);
+        }
+        return emCamadas(query, camadas, 0, query.getSkip(), new ArrayList<>());
+    }
+
+    /**
+     * Soma dos counts do filtro da consulta na coleção quente e nas de arquivo.
+     */
+    public Mono<Long> contar(Query query, Mono<Long> quente, List<String> arquivos) {
+        Query filtro = Query.of(query).skip(0).limit(0);
+        return Flux.fromIterable(arquivos)
+                .flatMap(colecao -> filtro.getQueryObject().isEmpty()
+                        ? mongoTemplate.estimatedCount(colecao)
+                        : mongoTemplate.count(filtro, Admissao.class, colecao))
+                .concatWith(quente)
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Percorre o resultado na coleção de arquivo com um cursor, respeitando a demanda do assinante.
+     */
+    public Flux<Admissao> stream(Query query, String colecao) {
+        return mongoTemplate.find(query, Admissao.class, colecao);
+    }
+
+    private record Camada(Function<Query, Mono<List<Admissao>>> buscar, Function<Query, Mono<Long>> contar) {
+    }
+
+    private Mono<List<Admissao>> emCamadas(Query query, List<Camada> camadas, int i, long skip, List<Admissao> acumulado) {
+        int limite = query.getLimit();
+        if (i == camadas.size() || (limite > 0 && acumulado.size() >= limite)) {
+            return Mono.just(acumulado);
+        }
+        Camada camada = camadas.get(i);
+        Query pagina = Query.of(query).skip(skip).limit(limite > 0 ? limite - acumulado.size() : 0);
+        return camada.buscar().apply(pagina).flatMap(itens -> {
+            acumulado.addAll(itens);
+            if (skip == 0 || !itens.isEmpty()) {
+                return emCamadas(query, camadas, i + 1, 0, acumulado);
+            }
+            // a camada inteira ficou antes do skip: desconta o que ela tem
+            return camada.contar().apply(Query.of(query).skip(0).limit(0))
+                    .flatMap(n -> emCamadas(query, camadas, i + 1, Math.max(0, skip - n), acumulado));
+        });
+    }
+
+    private Mono<List<Admissao>> unir(Query query, List<String> arquivos) {
+        MongoPersistentEntity<?> entidade = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Admissao.class);
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        Document match = mapper.getMappedObject(query.getQueryObject(), entidade);
+        Document sort = mapper.getMappedSort(query.getSortObject(), entidade);
+        Document campos = mapper.getMappedFields(query.getFieldsObject(), entidade);
+
+        List<Document> ramo = new ArrayList<>();
+        ramo.add(new Document("$match", match));
+        ramo.add(new Document("$sort", sort));
+        if (query.getLimit() > 0) {
+            ramo.add(new Document("$limit", query.getSkip() + query.getLimit()));
+        }
+
+        List<Document> pipeline = new ArrayList<>(ramo);
+        for (String colecao : arquivos) {
+            pipeline.add(new Document("$unionWith", new Document("coll", colecao).append("pipeline", ramo)));
+        }
+        pipeline.add(new Document("$sort", sort));
+        if (query.getSkip() > 0) {
+            pipeline.add(new Document("$skip", query.getSkip()));
+        }
+        if (query.getLimit() > 0) {
+            pipeline.add(new Document("$limit", query.getLimit()));
+        }
+        if (!campos.isEmpty()) {
+            pipeline.add(new Document("$project", campos));
+        }
+
+        List<AggregationOperation> estagios = pipeline.stream().<AggregationOperation>map(e -> contexto -> e).toList();
+        return mongoTemplate.aggregate(Aggregation.newAggregation(estagios)
+                                .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build()),
+                        mongoTemplate.getCollectionName(Admissao.class), Admissao.class)
+                .collectList();
+    }
+}
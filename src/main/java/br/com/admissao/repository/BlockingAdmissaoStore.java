@@ -0,0 +1,124 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.Admissao;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação sobre o MongoRepository (bloqueante).
+ * Cada chamada é empacotada em Mono.fromCallable() e executada no scheduler de persistência
+ * (PersistenceSchedulerConfig: boundedElastic ou virtual threads), mantendo o event-loop livre
+ * também nos endpoints de consulta.
+ */
+@Component
+@ConditionalOnProperty(name = "admissao.persistence.mode", havingValue = "blocking", matchIfMissing = true)
+public class BlockingAdmissaoStore implements AdmissaoStore {
+
+    private final AdmissaoRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final Scheduler scheduler;
+
+    public BlockingAdmissaoStore(AdmissaoRepository repository, MongoTemplate mongoTemplate) {
+        this(repository, mongoTemplate, Schedulers.boundedElastic());
+    }
+
+    @Autowired
+    public BlockingAdmissaoStore(AdmissaoRepository repository, MongoTemplate mongoTemplate, Scheduler scheduler) {
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<Admissao> save(Admissao admissao) {
+        return Mono.fromCallable(() -> repository.save(admissao))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return Mono.fromRunnable(() -> repository.deleteById(id))
+                .subscribeOn(scheduler)
+                .then();
+    }
+
+    @Override
+    public Mono<List<Admissao>> insertAll(List<Admissao> admissoes) {
+        return Mono.fromCallable(() -> repository.insert(admissoes))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Map<Integer, Throwable>> insertAllUnordered(List<Admissao> admissoes) {
+        return Mono.fromCallable(() -> {
+                    try {
+                        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Admissao.class)
+                                .insert(admissoes)
+                                .execute();
+                        return Map.<Integer, Throwable>of();
+                    } catch (BulkOperationException e) {
+                        return rejeitados(e.getErrors(), e);
+                    }
+                })
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Page<Admissao>> findAll(Pageable pageable) {
+        return Mono.fromCallable(() -> repository.findAll(pageable))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Page<Admissao>> findByDataAdmissaoBetween(LocalDate inicio, LocalDate fim, Pageable pageable) {
+        return Mono.fromCallable(() -> repository.findByDataAdmissaoBetween(inicio, fim, pageable))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Page<Admissao>> findBySalarioBrutoGreaterThanEqual(BigDecimal salarioMinimo, Pageable pageable) {
+        return Mono.fromCallable(() -> repository.findBySalarioBrutoGreaterThanEqual(salarioMinimo, pageable))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<List<Admissao>> find(Query query) {
+        return Mono.fromCallable(() -> mongoTemplate.find(query, Admissao.class))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Long> count(Query query) {
+        return Mono.fromCallable(() -> mongoTemplate.count(Query.of(query).skip(0).limit(0), Admissao.class))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<Admissao> stream(Query query) {
+        // Flux.fromStream fecha o Stream (e o cursor) no término ou no cancelamento
+        return Flux.fromStream(() -> mongoTemplate.stream(query, Admissao.class))
+                .subscribeOn(scheduler);
+    }
+
+    static Map<Integer, Throwable> rejeitados(List<BulkWriteError> erros, Throwable causa) {
+        return erros.stream().collect(Collectors.toMap(BulkWriteError::getIndex, erro -> causa, (a, b) -> a));
+    }
+}
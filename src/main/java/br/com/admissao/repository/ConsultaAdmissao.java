@@ -0,0 +1,29 @@
+package br.com.admissao.repository;
+
+import java.util.List;
+
+/**
+ * Formatos de consulta expostos pela API e os campos de ordenação que cada um aceita.
+ * Cada campo listado aqui é atendido por um dos índices declarados em {@code Admissao}
+ * (sem ordenação em memória); o QueryPlanVerifier confere isso com explain.
+ */
+public enum ConsultaAdmissao {
+
+    LISTAR(List.of("criadoEm", "salarioBruto")),
+    POR_DATA(List.of("criadoEm")),
+    POR_SALARIO(List.of("salarioBruto"));
+
+    private final List<String> ordenacoes;
+
+    ConsultaAdmissao(List<String> ordenacoes) {
+        this.ordenacoes = ordenacoes;
+    }
+
+    public List<String> getOrdenacoes() {
+        return ordenacoes;
+    }
+
+    public boolean permiteOrdenacao(String campo) {
+        return ordenacoes.contains(campo);
+    }
+}
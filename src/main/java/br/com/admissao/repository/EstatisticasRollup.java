@@ -0,0 +1,237 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.Admissao;
+import br.com.admissao.model.EstatisticaMensal;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Coleção admissoes_estatisticas: um documento por mês de admissão ({@link EstatisticaMensal}).
+ *
+ * - {@link #registrar}: após cada inserção, um upsert com $inc/$min/$max por mês afetado
+ *   (um lote gera um único bulk write com um upsert por mês)
+ * - {@link #reconstruir}: recalcula tudo a partir de admissoes (e das coleções de arquivo) com uma aggregation
+ *
+ * A leitura custa o número de meses consultados, não o tamanho de admissoes.
+ */
+@Component
+public class EstatisticasRollup {
+
+    /**
+     * Limites inferiores das faixas de salário; a última faixa é aberta.
+     */
+    public static final List<BigDecimal> FAIXAS_SALARIO = List.of(
+            new BigDecimal("0"), new BigDecimal("1500"), new BigDecimal("2000"), new BigDecimal("3000"),
+            new BigDecimal("4000"), new BigDecimal("5000"), new BigDecimal("7500"), new BigDecimal("10000"),
+            new BigDecimal("15000"), new BigDecimal("20000"), new BigDecimal("30000"), new BigDecimal("50000"));
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ArquivoAdmissoes arquivo;
+
+    public EstatisticasRollup(ReactiveMongoTemplate mongoTemplate) {
+        this(mongoTemplate, null);
+    }
+
+    @Autowired
+    public EstatisticasRollup(ReactiveMongoTemplate mongoTemplate, @Nullable ArquivoAdmissoes arquivo) {
+        this.mongoTemplate = mongoTemplate;
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * Soma as admissões gravadas aos agregados dos seus meses.
+     */
+    public Mono<Void> registrar(List<Admissao> admissoes) {
+        Map<String, Update> atualizacoes = atualizacoes(admissoes, LocalDateTime.now());
+        if (atualizacoes.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EstatisticaMensal.class);
+        atualizacoes.forEach((mes, update) -> bulk.upsert(Query.query(Criteria.where("_id").is(mes)), update));
+        return bulk.execute().then();
+    }
+
+    /**
+     * Meses entre inicio e fim (inclusive; null = sem limite), em ordem cronológica.
+     */
+    public Flux<EstatisticaMensal> buscar(YearMonth inicio, YearMonth fim) {
+        Criteria criteria = Criteria.where("_id");
+        if (inicio != null) {
+            criteria = criteria.gte(inicio.toString());
+        }
+        if (fim != null) {
+            criteria = criteria.lte(fim.toString());
+        }
+        Query query = inicio == null && fim == null ? new Query() : Query.query(criteria);
+        return mongoTemplate.find(query.with(Sort.by("_id")), EstatisticaMensal.class);
+    }
+
+    /**
+     * Recalcula todos os agregados a partir de admissoes (aggregation agrupando por mês, faixa
+     * de salário e anos de casa) e substitui o conteúdo da coleção. Incrementos feitos durante a
+     * reconstrução podem ser sobrescritos; rode fora do pico.
+     *
+     * @return quantidade de meses gravados
+     */
+    public Mono<Integer> reconstruir() {
+        LocalDateTime agora = LocalDateTime.now();
+        List<String> arquivos = arquivo == null ? List.of() : arquivo.colecoes(null);
+        return mongoTemplate.aggregate(agregacao(arquivos), Document.class)
+                .collect(TreeMap<String, EstatisticaMensal>::new, (meses, grupo) -> acumular(meses, grupo, agora))
+                .flatMap(meses -> Flux.fromIterable(meses.values())
+                        .flatMap(mongoTemplate::save, 8)
+                        .then(mongoTemplate.remove(Query.query(Criteria.where("_id").nin(meses.keySet())),
+                                EstatisticaMensal.class))
+                        .thenReturn(meses.size()));
+    }
+
+    public static String faixa(BigDecimal salario) {
+        for (int i = FAIXAS_SALARIO.size() - 1; i > 0; i--) {
+            if (salario.compareTo(FAIXAS_SALARIO.get(i)) >= 0) {
+                return FAIXAS_SALARIO.get(i).toPlainString();
+            }
+        }
+        return FAIXAS_SALARIO.get(0).toPlainString();
+    }
+
+    // ---------- helpers ----------
+
+    static TypedAggregation<Admissao> agregacao() {
+        return agregacao(List.of());
+    }
+
+    // um documento por (mês, faixa de salário, anos de casa); o merge por mês é feito em acumular.
+    // As admissões arquivadas entram por $unionWith, com os mesmos campos de admissoes
+    static TypedAggregation<Admissao> agregacao(List<String> arquivos) {
+        List<AggregationOperation> estagios = new ArrayList<>();
+        arquivos.forEach(colecao -> estagios.add(UnionWithOperation.unionWith(colecao)));
+        // salários ainda em String (anteriores ao Decimal128, ver MigracaoDecimal128) entram na soma e nas faixas
+        estagios.add(Aggregation.addFields()
+                .addFieldWithValue("salarioBruto", ConvertOperators.valueOf("salarioBruto").convertToDecimal())
+                .build());
+        estagios.add(Aggregation.project("salarioBruto", "anos")
+                // LocalDate é gravado como o início do dia no fuso da aplicação
+                .and(DateOperators.dateOf("dataAdmissao")
+                        .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()))
+                        .toString("%Y-%m")).as("mes")
+                .and(faixaSalario()).as("faixa"));
+        estagios.add(Aggregation.group("mes", "faixa", "anos")
+                .count().as("quantidade")
+                .sum("salarioBruto").as("soma")
+                .min("salarioBruto").as("minimo")
+                .max("salarioBruto").as("maximo"));
+        return Aggregation.newAggregation(Admissao.class, estagios)
+                .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+    }
+
+    // um Update por mês; admissões do mesmo mês são somadas antes de ir ao banco
+    static Map<String, Update> atualizacoes(List<Admissao> admissoes, LocalDateTime agora) {
+        Map<String, List<Admissao>> porMes = new LinkedHashMap<>();
+        for (Admissao a : admissoes) {
+            if (a.getDataAdmissao() == null || a.getSalarioBruto() == null) {
+                continue;
+            }
+            porMes.computeIfAbsent(YearMonth.from(a.getDataAdmissao()).toString(), k -> new ArrayList<>()).add(a);
+        }
+
+        Map<String, Update> atualizacoes = new LinkedHashMap<>();
+        porMes.forEach((mes, doMes) -> {
+            BigDecimal soma = BigDecimal.ZERO;
+            BigDecimal minimo = null;
+            BigDecimal maximo = null;
+            Map<String, Long> faixas = new HashMap<>();
+            Map<String, Long> anos = new HashMap<>();
+            for (Admissao a : doMes) {
+                BigDecimal salario = a.getSalarioBruto();
+                soma = soma.add(salario);
+                minimo = minimo == null || salario.compareTo(minimo) < 0 ? salario : minimo;
+                maximo = maximo == null || salario.compareTo(maximo) > 0 ? salario : maximo;
+                faixas.merge(faixa(salario), 1L, Long::sum);
+                anos.merge(String.valueOf(a.getAnos()), 1L, Long::sum);
+            }
+            Update update = new Update()
+                    .inc("quantidade", (long) doMes.size())
+                    .inc("somaSalario", soma)
+                    .min("salarioMinimo", minimo)
+                    .max("salarioMaximo", maximo)
+                    .set("atualizadoEm", agora);
+            faixas.forEach((k, n) -> update.inc("faixasSalario." + k, n));
+            anos.forEach((k, n) -> update.inc("tempoDeCasa." + k, n));
+            atualizacoes.put(mes, update);
+        });
+        return atualizacoes;
+    }
+
+    // $switch com o limite inferior da faixa, na mesma regra de faixa(BigDecimal)
+    private static ConditionalOperators.Switch faixaSalario() {
+        List<ConditionalOperators.Switch.CaseOperator> casos = new ArrayList<>();
+        for (int i = FAIXAS_SALARIO.size() - 1; i > 0; i--) {
+            casos.add(ConditionalOperators.Switch.CaseOperator
+                    .when(ComparisonOperators.valueOf("salarioBruto")
+                            .greaterThanEqualToValue(new Decimal128(FAIXAS_SALARIO.get(i))))
+                    .then(FAIXAS_SALARIO.get(i).toPlainString()));
+        }
+        return ConditionalOperators.switchCases(casos).defaultTo(FAIXAS_SALARIO.get(0).toPlainString());
+    }
+
+    private static void acumular(Map<String, EstatisticaMensal> meses, Document grupo, LocalDateTime agora) {
+        Document id = grupo.get("_id", Document.class);
+        String mes = id.getString("mes");
+        long quantidade = ((Number) grupo.get("quantidade")).longValue();
+        BigDecimal soma = decimal(grupo.get("soma"));
+        BigDecimal minimo = decimal(grupo.get("minimo"));
+        BigDecimal maximo = decimal(grupo.get("maximo"));
+
+        EstatisticaMensal e = meses.computeIfAbsent(mes, k -> EstatisticaMensal.builder()
+                .mes(k)
+                .somaSalario(BigDecimal.ZERO)
+                .faixasSalario(new TreeMap<>())
+                .tempoDeCasa(new TreeMap<>())
+                .atualizadoEm(agora)
+                .build());
+        e.setQuantidade(e.getQuantidade() + quantidade);
+        e.setSomaSalario(e.getSomaSalario().add(soma));
+        e.setSalarioMinimo(e.getSalarioMinimo() == null || minimo.compareTo(e.getSalarioMinimo()) < 0 ? minimo : e.getSalarioMinimo());
+        e.setSalarioMaximo(e.getSalarioMaximo() == null || maximo.compareTo(e.getSalarioMaximo()) > 0 ? maximo : e.getSalarioMaximo());
+        e.getFaixasSalario().merge(id.getString("faixa"), quantidade, Long::sum);
+        e.getTempoDeCasa().merge(String.valueOf(id.get("anos")), quantidade, Long::sum);
+    }
+
+    private static BigDecimal decimal(Object valor) {
+        if (valor instanceof Decimal128 d) {
+            return d.bigDecimalValue();
+        }
+        return valor == null ? BigDecimal.ZERO : new BigDecimal(valor.toString());
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.RegistroIdempotencia;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Respostas de POST /api/calculos por Idempotency-Key (coleção admissoes_idempotencia), sobre o
+ * ReactiveMongoTemplate nos dois modos de persistência. Os registros expiram pelo índice TTL em
+ * criadoEm, criado quando a aplicação sobe (admissao.mongo.indices.criar).
+ */
+@Component
+public class IdempotenciaStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotenciaStore.class);
+
+    private final ReactiveMongoTemplate template;
+    private final Duration ttl;
+    private final boolean criarIndice;
+
+    public IdempotenciaStore(ReactiveMongoTemplate template,
+                             @Value("${admissao.idempotencia.ttl:24h}") Duration ttl,
+                             @Value("${admissao.mongo.indices.criar:true}") boolean criarIndice) {
+        this.template = template;
+        this.ttl = ttl;
+        this.criarIndice = criarIndice;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (criarIndice) {
+            criarIndice().subscribe(
+                    nome -> log.info("Índice garantido em {}: {}", RegistroIdempotencia.class.getSimpleName(), nome),
+                    e -> log.error("Falha ao criar o índice TTL de {}: {}", RegistroIdempotencia.class.getSimpleName(), e.getMessage()));
+        }
+    }
+
+    public Mono<String> criarIndice() {
+        return template.indexOps(RegistroIdempotencia.class).createIndex(indiceTtl(ttl));
+    }
+
+    public Mono<RegistroIdempotencia> buscar(String chave) {
+        return template.findById(chave, RegistroIdempotencia.class);
+    }
+
+    /**
+     * Insere o registro; DuplicateKeyException se a chave já foi gravada (por outra instância).
+     */
+    public Mono<Void> salvar(RegistroIdempotencia registro) {
+        return template.insert(registro).then();
+    }
+
+    static Index indiceTtl(Duration ttl) {
+        return new Index().on("criadoEm", Sort.Direction.ASC).expire(ttl).named("ttl_criadoEm");
+    }
+}
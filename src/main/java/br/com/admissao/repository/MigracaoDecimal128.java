@@ -0,0 +1,117 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.Admissao;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Converte para Decimal128 os salarioBruto/porcentagem35 gravados como String antes de MongoConfig
+ * passar a gravar BigDecimal como Decimal128. Enquanto não convertidos, esses documentos ficam fora
+ * dos filtros por salário ($gte Decimal128 não compara com String) e ordenados à parte.
+ *
+ * - admissao.mongo.migracao-decimal128.enabled (padrão true): roda em background quando a aplicação sobe
+ * - admissao.mongo.migracao-decimal128.lote: documentos convertidos por update ($toDecimal no servidor)
+ *
+ * Idempotente: só seleciona valores ainda do tipo String, então pode rodar a cada inicialização
+ * e em várias instâncias ao mesmo tempo.
+ */
+@Component
+public class MigracaoDecimal128 {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracaoDecimal128.class);
+
+    static final List<String> CAMPOS = List.of("salarioBruto", "porcentagem35");
+
+    // tipo BSON string
+    private static final int TIPO_STRING = 2;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final boolean habilitada;
+    private final int lote;
+
+    public MigracaoDecimal128(ReactiveMongoTemplate mongoTemplate,
+                              @Value("${admissao.mongo.migracao-decimal128.enabled:true}") boolean habilitada,
+                              @Value("${admissao.mongo.migracao-decimal128.lote:1000}") int lote) {
+        if (lote < 1) {
+            throw new IllegalArgumentException("admissao.mongo.migracao-decimal128.lote deve ser positivo");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.habilitada = habilitada;
+        this.lote = lote;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (habilitada) {
+            migrar().subscribe(
+                    convertidos -> {
+                        if (convertidos > 0) {
+                            log.info("Valores convertidos para Decimal128 em {}: {}", colecao(), convertidos);
+                        }
+                    },
+                    e -> log.error("Falha ao converter valores para Decimal128 em {}: {}", colecao(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Converte um campo por vez, em lotes de até {@code lote} documentos percorridos por _id crescente:
+     * cada lote continua depois do último _id do anterior, então a coleção é lida uma vez por campo.
+     * Termina quando a busca traz menos que um lote, mesmo que outra instância tenha convertido parte dele.
+     *
+     * @return quantidade de valores convertidos
+     */
+    public Mono<Long> migrar() {
+        return Flux.fromIterable(CAMPOS)
+                .concatMap(campo -> converterLote(campo, null)
+                        .expand(anterior -> anterior.encontrados() < lote
+                                ? Mono.empty()
+                                : converterLote(campo, anterior.ultimoId()))
+                        .reduce(0L, (total, l) -> total + l.convertidos()))
+                .reduce(0L, Long::sum);
+    }
+
+    private record Lote(Object ultimoId, int encontrados, long convertidos) {
+    }
+
+    private Mono<Lote> converterLote(String campo, Object depoisDe) {
+        Criteria pendente = Criteria.where(campo).type(TIPO_STRING);
+        Query pendentes = Query.query(depoisDe == null ? pendente : new Criteria().andOperator(
+                        pendente, Criteria.where("_id").gt(depoisDe)))
+                .with(Sort.by("_id"))
+                .limit(lote);
+        pendentes.fields().include("_id");
+        return mongoTemplate.find(pendentes, Document.class, colecao())
+                .map(doc -> doc.get("_id"))
+                .collectList()
+                .flatMap(ids -> ids.isEmpty()
+                        ? Mono.just(new Lote(depoisDe, 0, 0))
+                        // o $type repetido deixa de fora o que outra instância converteu nesse meio tempo
+                        : mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids).and(campo).type(TIPO_STRING)),
+                                        conversao(campo), colecao())
+                                .map(r -> new Lote(ids.get(ids.size() - 1), ids.size(), r.getModifiedCount())));
+    }
+
+    // update com pipeline: o valor é convertido no servidor, sem ler o documento
+    static AggregationUpdate conversao(String campo) {
+        return AggregationUpdate.update().set(campo).toValue(ConvertOperators.valueOf(campo).convertToDecimal());
+    }
+
+    private String colecao() {
+        return mongoTemplate.getCollectionName(Admissao.class);
+    }
+}
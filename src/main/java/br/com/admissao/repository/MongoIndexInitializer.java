@@ -0,0 +1,70 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.Admissao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Cria os índices declarados em {@link Admissao} (@CompoundIndexes) quando a aplicação sobe.
+ *
+ * - admissao.mongo.indices.criar (padrão true): cria em background; uma falha só é logada
+ * - admissao.mongo.indices.verificar-planos (padrão false): aguarda a criação e roda o
+ *   {@link QueryPlanVerifier}; qualquer COLLSCAN/SORT em memória impede a inicialização
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final boolean criar;
+    private final boolean verificarPlanos;
+
+    public MongoIndexInitializer(ReactiveMongoTemplate reactiveMongoTemplate,
+                                 MongoTemplate mongoTemplate,
+                                 @Value("${admissao.mongo.indices.criar:true}") boolean criar,
+                                 @Value("${admissao.mongo.indices.verificar-planos:false}") boolean verificarPlanos) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.criar = criar;
+        this.verificarPlanos = verificarPlanos;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (verificarPlanos) {
+            if (criar) {
+                criarIndices().block();
+            }
+            List<String> violacoes = new QueryPlanVerifier(mongoTemplate).verificar();
+            if (!violacoes.isEmpty()) {
+                throw new IllegalStateException("Consultas sem índice adequado:\n - " + String.join("\n - ", violacoes));
+            }
+            log.info("Planos de consulta verificados: nenhum COLLSCAN ou SORT em memória");
+        } else if (criar) {
+            criarIndices().subscribe(
+                    null,
+                    e -> log.error("Falha ao criar índices de {}: {}", Admissao.class.getSimpleName(), e.getMessage()));
+        }
+    }
+
+    public Mono<Void> criarIndices() {
+        IndexResolver resolver = IndexResolver.create(reactiveMongoTemplate.getConverter().getMappingContext());
+        return Flux.fromIterable(resolver.resolveIndexFor(Admissao.class))
+                .concatMap(indice -> reactiveMongoTemplate.indexOps(Admissao.class).createIndex(indice))
+                .doOnNext(nome -> log.info("Índice garantido em {}: {}", Admissao.class.getSimpleName(), nome))
+                .then();
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.Admissao;
+import br.com.admissao.util.KeysetCursor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Executa explain em cada formato de consulta da API (offset, cursor e export) e
+ * aponta os planos com COLLSCAN ou SORT (ordenação em memória).
+ */
+public class QueryPlanVerifier {
+
+    private static final Set<String> ESTAGIOS_PROIBIDOS = Set.of("COLLSCAN", "SORT");
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryMapper queryMapper;
+    private final MongoPersistentEntity<?> entity;
+
+    public QueryPlanVerifier(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        this.entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(Admissao.class);
+    }
+
+    /**
+     * @return uma descrição por consulta com plano inadequado; vazia quando todas usam índice
+     */
+    public List<String> verificar() {
+        List<String> violacoes = new ArrayList<>();
+        for (ConsultaAdmissao consulta : ConsultaAdmissao.values()) {
+            for (String campo : consulta.getOrdenacoes()) {
+                for (Sort.Direction direcao : Sort.Direction.values()) {
+                    // paginação por offset (repositório derivado): filtro + sort + skip/limit
+                    Query offset = filtro(consulta).with(Sort.by(direcao, campo)).skip(20).limit(20);
+                    violacoes.addAll(verificar(consulta + " sort=" + campo + "," + direcao, offset));
+                }
+            }
+            // paginação por cursor: página seguinte (filtro + keyset), ordenada por (campo, _id)
+            String campoCursor = consulta == ConsultaAdmissao.POR_SALARIO ? "salarioBruto" : "criadoEm";
+            for (Sort.Direction direcao : Sort.Direction.values()) {
+                Query cursor = filtro(consulta)
+                        .addCriteria(cursorExemplo(campoCursor, direcao).criteria())
+                        .with(Sort.by(direcao, campoCursor, "id")).limit(21);
+                violacoes.addAll(verificar(consulta + " cursor " + campoCursor + "," + direcao, cursor));
+            }
+        }
+        // export (mesmas consultas do ExportService; sem filtro nenhum o COLLSCAN é esperado):
+        // por salário sem ordenação; por data com hint no índice de criadoEm, na ordem dele
+        violacoes.addAll(verificar("EXPORT por-salario", filtro(ConsultaAdmissao.POR_SALARIO)));
+        violacoes.addAll(verificar("EXPORT por-data", exportPorData()));
+        violacoes.addAll(verificar("EXPORT por-data e salario",
+                exportPorData().addCriteria(Criteria.where("salarioBruto").gte(new BigDecimal("3000")))));
+        return violacoes;
+    }
+
+    public List<String> verificar(String descricao, Query query) {
+        Document filtro = queryMapper.getMappedObject(query.getQueryObject(), entity);
+        Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+        var find = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Admissao.class))
+                .find(filtro).sort(sort).skip((int) query.getSkip());
+        if (query.getLimit() > 0) {
+            find = find.limit(query.getLimit());
+        }
+        if (query.getHint() != null) {
+            find = find.hintString(query.getHint());
+        }
+        Document explain = find.explain();
+        Object plano = ((Document) explain.get("queryPlanner")).get("winningPlan");
+
+        List<String> estagios = new ArrayList<>();
+        coletarEstagios(plano, estagios);
+        List<String> proibidos = estagios.stream().filter(ESTAGIOS_PROIBIDOS::contains).distinct().toList();
+        if (proibidos.isEmpty()) {
+            return List.of();
+        }
+        return List.of(descricao + ": " + proibidos + " em " + estagios + " (filtro " + filtro.toJson()
+                + ", sort " + sort.toJson() + ")");
+    }
+
+    // ---------- helpers ----------
+
+    private static Query filtro(ConsultaAdmissao consulta) {
+        switch (consulta) {
+            case POR_DATA:
+                return new Query(Criteria.where("dataAdmissao")
+                        .gt(LocalDate.of(2020, 1, 1)).lt(LocalDate.of(2021, 1, 1)));
+            case POR_SALARIO:
+                return new Query(Criteria.where("salarioBruto").gte(new BigDecimal("3000")));
+            default:
+                return new Query();
+        }
+    }
+
+    private static Query exportPorData() {
+        return filtro(ConsultaAdmissao.POR_DATA)
+                .with(Sort.by(Sort.Direction.DESC, "criadoEm", "id"))
+                .withHint(Admissao.INDICE_CRIADO_EM);
+    }
+
+    private static KeysetCursor cursorExemplo(String campo, Sort.Direction direcao) {
+        Object valor = "salarioBruto".equals(campo) ? new BigDecimal("5000") : LocalDateTime.of(2024, 1, 1, 0, 0);
+        return new KeysetCursor(campo, direcao, valor, new ObjectId().toHexString());
+    }
+
+    // percorre o plano vencedor (inclusive inputStage/inputStages e queryPlan do SBE)
+    private static void coletarEstagios(Object no, List<String> estagios) {
+        if (no instanceof Map<?, ?> mapa) {
+            Object stage = mapa.get("stage");
+            if (stage instanceof String s) {
+                estagios.add(s);
+            }
+            for (Object valor : mapa.values()) {
+                coletarEstagios(valor, estagios);
+            }
+        } else if (no instanceof List<?> lista) {
+            for (Object item : lista) {
+                coletarEstagios(item, estagios);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.Admissao;
+import com.mongodb.MongoBulkWriteException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Implementação totalmente reativa (ReactiveMongoRepository).
+ * Quando a página retornada já revela o total (primeira página incompleta)
+ * o count não é executado.
+ */
+@Component
+@ConditionalOnProperty(name = "admissao.persistence.mode", havingValue = "reactive")
+public class ReactiveAdmissaoStore implements AdmissaoStore {
+
+    private final AdmissaoReactiveRepository repository;
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveAdmissaoStore(AdmissaoReactiveRepository repository, ReactiveMongoTemplate mongoTemplate) {
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Admissao> save(Admissao admissao) {
+        return repository.save(admissao);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return repository.deleteById(id);
+    }
+
+    @Override
+    public Mono<List<Admissao>> insertAll(List<Admissao> admissoes) {
+        return repository.insert(admissoes).collectList();
+    }
+
+    @Override
+    public Mono<Map<Integer, Throwable>> insertAllUnordered(List<Admissao> admissoes) {
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Admissao.class)
+                .insert(admissoes)
+                .execute()
+                .thenReturn(Map.<Integer, Throwable>of())
+                .onErrorResume(BulkOperationException.class,
+                        e -> Mono.just(BlockingAdmissaoStore.rejeitados(e.getErrors(), e)))
+                .onErrorResume(MongoBulkWriteException.class,
+                        e -> Mono.just(BlockingAdmissaoStore.rejeitados(e.getWriteErrors(), e)));
+    }
+
+    @Override
+    public Mono<Page<Admissao>> findAll(Pageable pageable) {
+        return toPage(repository.findAllBy(pageable), repository::count, pageable);
+    }
+
+    @Override
+    public Mono<Page<Admissao>> findByDataAdmissaoBetween(LocalDate inicio, LocalDate fim, Pageable pageable) {
+        return toPage(repository.findByDataAdmissaoBetween(inicio, fim, pageable),
+                () -> repository.countByDataAdmissaoBetween(inicio, fim), pageable);
+    }
+
+    @Override
+    public Mono<Page<Admissao>> findBySalarioBrutoGreaterThanEqual(BigDecimal salarioMinimo, Pageable pageable) {
+        return toPage(repository.findBySalarioBrutoGreaterThanEqual(salarioMinimo, pageable),
+                () -> repository.countBySalarioBrutoGreaterThanEqual(salarioMinimo), pageable);
+    }
+
+    @Override
+    public Mono<List<Admissao>> find(Query query) {
+        return mongoTemplate.find(query, Admissao.class).collectList();
+    }
+
+    @Override
+    public Mono<Long> count(Query query) {
+        return mongoTemplate.count(Query.of(query).skip(0).limit(0), Admissao.class);
+    }
+
+    @Override
+    public Flux<Admissao> stream(Query query) {
+        return mongoTemplate.find(query, Admissao.class);
+    }
+
+    // ---------- helpers ----------
+
+    private Mono<Page<Admissao>> toPage(Flux<Admissao> content, Supplier<Mono<Long>> count, Pageable pageable) {
+        Mono<List<Admissao>> contentMono = content.collectList();
+        if (pageable.isUnpaged()) {
+            return contentMono.map(list -> new PageImpl<>(list, pageable, list.size()));
+        }
+        return contentMono.flatMap(list -> {
+            // mesma otimização do PageableExecutionUtils: evita o count quando o total já é conhecido
+            if (pageable.getOffset() == 0 && list.size() < pageable.getPageSize()) {
+                return Mono.just(new PageImpl<>(list, pageable, list.size()));
+            }
+            return count.get().map(total -> new PageImpl<>(list, pageable, total));
+        });
+    }
+}
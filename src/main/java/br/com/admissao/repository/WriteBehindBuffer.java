@@ -0,0 +1,250 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.exception.ApiException;
+import br.com.admissao.model.Admissao;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gravação em grupo (write-behind) para o POST /api/calculos, ativada por
+ * {@code admissao.persistence.write-behind.enabled}.
+ *
+ * Cada admissão recebe o _id aqui e entra em uma fila lock-free limitada; um flush grava até
+ * {@code batch-size} registros com um único bulk insert não ordenado, quando a fila atinge esse
+ * tamanho ou a cada {@code max-espera}. O Mono do chamador só completa depois que o lote do
+ * registro foi confirmado pelo Mongo, portanto o id devolvido na resposta sempre existe no banco.
+ *
+ * Fila cheia: o chamador fica estacionado (sem polling) até um flush liberar vagas, por no máximo
+ * {@code espera-fila-cheia}; depois recebe ApiException.
+ * Ao encerrar a aplicação novas entradas são recusadas e a fila é gravada por completo.
+ */
+@Component
+@ConditionalOnProperty(name = "admissao.persistence.write-behind.enabled", havingValue = "true")
+public class WriteBehindBuffer implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindBuffer.class);
+    private static final Duration ESPERA_ENCERRAMENTO = Duration.ofSeconds(30);
+
+    private record Pendente(Admissao admissao, Sinks.One<Admissao> confirmacao) {
+    }
+
+    private final AdmissaoStore store;
+    private final int batchSize;
+    private final int capacidade;
+    private final Duration esperaFilaCheia;
+    private final int concorrencia;
+
+    private final Queue<Pendente> fila = new ConcurrentLinkedQueue<>();
+    // chamadores esperando vaga; cada flush acorda tantos quantos registros retirou da fila
+    private final Queue<Sinks.Empty<Void>> aguardandoVaga = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger profundidade = new AtomicInteger();
+    private final AtomicInteger flushesEmVoo = new AtomicInteger();
+    private final AtomicBoolean encerrando = new AtomicBoolean();
+    private final Disposable temporizador;
+
+    private final DistributionSummary tamanhoLote;
+    private final Timer latenciaFlush;
+
+    public WriteBehindBuffer(AdmissaoStore store,
+                             MeterRegistry registry,
+                             @Value("${admissao.persistence.write-behind.batch-size:256}") int batchSize,
+                             @Value("${admissao.persistence.write-behind.max-espera:10ms}") Duration maxEspera,
+                             @Value("${admissao.persistence.write-behind.capacidade:10000}") int capacidade,
+                             @Value("${admissao.persistence.write-behind.espera-fila-cheia:1s}") Duration esperaFilaCheia,
+                             @Value("${admissao.persistence.write-behind.concorrencia:2}") int concorrencia) {
+        this.store = store;
+        this.batchSize = batchSize;
+        this.capacidade = capacidade;
+        this.esperaFilaCheia = esperaFilaCheia;
+        this.concorrencia = concorrencia;
+
+        Gauge.builder("admissao.writebehind.fila", profundidade, AtomicInteger::get)
+                .description("Admissões aguardando gravação")
+                .register(registry);
+        this.tamanhoLote = DistributionSummary.builder("admissao.writebehind.lote")
+                .description("Registros por bulk insert")
+                .register(registry);
+        this.latenciaFlush = Timer.builder("admissao.writebehind.flush")
+                .description("Duração de cada bulk insert")
+                .register(registry);
+
+        this.temporizador = Flux.interval(maxEspera)
+                .subscribe(t -> {
+                    if (profundidade.get() > 0) {
+                        flush();
+                    }
+                });
+    }
+
+    /**
+     * Enfileira a admissão (o _id é atribuído aqui) e completa quando o lote dela for gravado.
+     */
+    public Mono<Admissao> enfileirar(Admissao admissao) {
+        if (admissao.getId() == null) {
+            admissao.setId(new ObjectId().toHexString());
+        }
+        return Mono.defer(() -> enfileirarQuandoHouverVaga(admissao, System.nanoTime() + esperaFilaCheia.toNanos()))
+                .flatMap(pendente -> pendente.confirmacao().asMono());
+    }
+
+    /**
+     * Grava o que estiver na fila, sem esperar pelos limiares. Usado no encerramento.
+     */
+    public void flushTudo(Duration timeout) {
+        long limite = System.nanoTime() + timeout.toNanos();
+        while ((profundidade.get() > 0 || flushesEmVoo.get() > 0) && System.nanoTime() < limite) {
+            flush();
+            try {
+                TimeUnit.MILLISECONDS.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        encerrando.set(true);
+        temporizador.dispose();
+        acordar(Integer.MAX_VALUE);
+        flushTudo(ESPERA_ENCERRAMENTO);
+        if (profundidade.get() > 0) {
+            log.error("Encerrando com {} admissões não gravadas", profundidade.get());
+        }
+    }
+
+    // ---------- helpers ----------
+
+    private Mono<Pendente> enfileirarQuandoHouverVaga(Admissao admissao, long limite) {
+        return Mono.defer(() -> {
+            if (encerrando.get()) {
+                return Mono.error(new ApiException("Aplicação em encerramento; admissão não foi gravada"));
+            }
+            Pendente pendente = tentarEnfileirar(admissao);
+            if (pendente != null) {
+                return Mono.just(pendente);
+            }
+            long restante = limite - System.nanoTime();
+            if (restante <= 0) {
+                return Mono.error(filaCheia());
+            }
+            Sinks.Empty<Void> vaga = Sinks.empty();
+            aguardandoVaga.offer(vaga);
+            // a vaga pode ter sido liberada entre a tentativa e o offer, sem ninguém para acordar
+            if (profundidade.get() < capacidade || encerrando.get()) {
+                acordar(1);
+            }
+            // acordado, disputa a vaga de novo: outro chamador pode tê-la ocupado antes
+            return vaga.asMono()
+                    .doOnCancel(() -> aguardandoVaga.remove(vaga))
+                    .timeout(Duration.ofNanos(restante), Mono.error(WriteBehindBuffer::filaCheia))
+                    .then(enfileirarQuandoHouverVaga(admissao, limite));
+        });
+    }
+
+    // null = sem vaga
+    private Pendente tentarEnfileirar(Admissao admissao) {
+        int atual;
+        do {
+            atual = profundidade.get();
+            if (atual >= capacidade) {
+                return null;
+            }
+        } while (!profundidade.compareAndSet(atual, atual + 1));
+
+        Pendente pendente = new Pendente(admissao, Sinks.one());
+        fila.offer(pendente);
+        if (atual + 1 >= batchSize) {
+            flush();
+        }
+        return pendente;
+    }
+
+    private void flush() {
+        int voo;
+        do {
+            voo = flushesEmVoo.get();
+            if (voo >= concorrencia) {
+                return; // o flush em andamento dispara o próximo ao terminar
+            }
+        } while (!flushesEmVoo.compareAndSet(voo, voo + 1));
+
+        List<Pendente> lote = new ArrayList<>(batchSize);
+        Pendente p;
+        while (lote.size() < batchSize && (p = fila.poll()) != null) {
+            lote.add(p);
+        }
+        profundidade.addAndGet(-lote.size());
+        if (lote.isEmpty()) {
+            flushesEmVoo.decrementAndGet();
+            return;
+        }
+        acordar(lote.size());
+
+        tamanhoLote.record(lote.size());
+        long inicio = System.nanoTime();
+        store.insertAllUnordered(lote.stream().map(Pendente::admissao).toList())
+                .doFinally(s -> {
+                    latenciaFlush.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                    flushesEmVoo.decrementAndGet();
+                    if (profundidade.get() >= batchSize) {
+                        flush();
+                    }
+                })
+                .subscribe(rejeitados -> confirmar(lote, rejeitados), erro -> falhar(lote, erro));
+    }
+
+    private void acordar(int vagas) {
+        Sinks.Empty<Void> vaga;
+        for (int i = 0; i < vagas && (vaga = aguardandoVaga.poll()) != null; i++) {
+            vaga.tryEmitEmpty();
+        }
+    }
+
+    private static ApiException filaCheia() {
+        return new ApiException("Fila de gravação cheia; tente novamente");
+    }
+
+    private void confirmar(List<Pendente> lote, Map<Integer, Throwable> rejeitados) {
+        for (int i = 0; i < lote.size(); i++) {
+            Pendente p = lote.get(i);
+            Throwable causa = rejeitados.get(i);
+            if (causa != null) {
+                p.confirmacao().tryEmitError(new ApiException("Falha ao gravar a admissão " + p.admissao().getId(), causa));
+            } else {
+                p.confirmacao().tryEmitValue(p.admissao());
+            }
+        }
+    }
+
+    private void falhar(List<Pendente> lote, Throwable erro) {
+        log.error("Falha no bulk insert de {} admissões: {}", lote.size(), erro.getMessage());
+        for (Pendente p : lote) {
+            p.confirmacao().tryEmitError(erro);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.AdmissaoResumoDTO;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.repository.ArquivoAdmissoes;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * GET /api/calculos/stream: admissões gravadas e removidas em tempo real, por Server-Sent Events.
+ *
+ * Um único change stream em admissoes (inserts e deletes) alimenta todos os assinantes. Os deletes do
+ * arquivamento (admissões movidas para o arquivo, ainda consultáveis) não viram "remocao". Ele é aberto no
+ * primeiro assinante e fica aberto até o encerramento; se cair, é reaberto com backoff a partir do último
+ * resume token, sem perder eventos. Os últimos {@code historico} eventos ficam em memória.
+ *
+ * O id de cada evento SSE é o resume token. Na reconexão (Last-Event-ID) o assinante recebe do histórico
+ * os eventos posteriores ao token e segue com os novos, sem lacuna. Um token anterior ao histórico (ex.: depois
+ * de um restart) abre um change stream só para o assinante (resumeAfter), até ele alcançar o histórico; se o
+ * oplog já não tiver esse ponto, o assinante recebe um evento "reinicio" e segue só com os novos (deve reler
+ * a listagem).
+ *
+ * Cada assinante tem uma fila de {@code buffer} eventos; cheia (cliente lento), vale admissao.stream.politica:
+ * - desconectar (padrão): encerra a conexão; o cliente reconecta com Last-Event-ID e recebe do histórico o que perdeu
+ * - descartar: descarta os eventos desse assinante até a fila esvaziar, sem reconexão
+ * Um comentário SSE (heartbeat) sai ao conectar e a cada {@code heartbeat}, para que proxies não derrubem a conexão.
+ */
+@Service
+public class AdmissaoStreamService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissaoStreamService.class);
+
+    public enum Politica {
+        DESCONECTAR,
+        DESCARTAR
+    }
+
+    static final String EVENTO_ADMISSAO = "admissao";
+    static final String EVENTO_REMOCAO = "remocao";
+    static final String EVENTO_REINICIO = "reinicio";
+
+    // _data do resume token: hexadecimal
+    private static final Pattern TOKEN = Pattern.compile("[0-9A-Fa-f]{1,1024}");
+
+    /**
+     * Uma alteração de admissoes: resume token, evento SSE e a admissão (somente o id nas remoções).
+     */
+    record Mudanca(String token, String evento, Admissao admissao) {
+    }
+
+    /**
+     * Origem das alterações (o change stream; substituível nos testes).
+     */
+    interface Fonte {
+        /**
+         * @param resumeAfter token a partir do qual continuar; null = a partir de {@code inicio}
+         */
+        Flux<Mudanca> abrir(String resumeAfter, Instant inicio);
+    }
+
+    private final Fonte fonte;
+    private final Politica politica;
+    private final int buffer;
+    private final int historicoMaximo;
+    private final Duration heartbeat;
+
+    // protegidos por this: o histórico e a emissão para os assinantes andam juntos, então quem assina
+    // (replay do histórico + novos) não perde nem repete eventos
+    private final Deque<Mudanca> historico = new ArrayDeque<>();
+    private final Sinks.Many<Mudanca> vivo = Sinks.many().multicast().directBestEffort();
+    private String tokenAnteriorAoHistorico;
+    private volatile String ultimoToken;
+    private Instant inicio;
+    private Disposable assinatura;
+
+    private final AtomicInteger assinantes = new AtomicInteger();
+    private final Counter descartados;
+    private final Counter desconectados;
+
+    public AdmissaoStreamService(ReactiveMongoTemplate mongoTemplate, MeterRegistry registry, Politica politica,
+                                 int buffer, int historico, Duration heartbeat) {
+        this(mongoTemplate, registry, politica, buffer, historico, heartbeat, null);
+    }
+
+    /**
+     * @param arquivo camada de arquivo: os deletes de admissões movidas para ela não saem como "remocao"
+     */
+    @Autowired
+    public AdmissaoStreamService(ReactiveMongoTemplate mongoTemplate,
+                                 MeterRegistry registry,
+                                 @Value("${admissao.stream.politica:desconectar}") Politica politica,
+                                 @Value("${admissao.stream.buffer:256}") int buffer,
+                                 @Value("${admissao.stream.historico:1000}") int historico,
+                                 @Value("${admissao.stream.heartbeat:15s}") Duration heartbeat,
+                                 @Nullable ArquivoAdmissoes arquivo) {
+        this(semArquivadas(changeStream(mongoTemplate), arquivo), registry, politica, buffer, historico, heartbeat);
+    }
+
+    AdmissaoStreamService(Fonte fonte, MeterRegistry registry, Politica politica, int buffer, int historico,
+                          Duration heartbeat) {
+        this.fonte = fonte;
+        this.politica = politica;
+        this.buffer = buffer;
+        this.historicoMaximo = historico;
+        this.heartbeat = heartbeat;
+
+        Gauge.builder("admissao.stream.assinantes", assinantes, AtomicInteger::get)
+                .description("Conexões abertas em /api/calculos/stream")
+                .register(registry);
+        this.descartados = Counter.builder("admissao.stream.descartados")
+                .description("Eventos descartados por fila cheia (politica=descartar)")
+                .register(registry);
+        this.desconectados = Counter.builder("admissao.stream.desconectados")
+                .description("Assinantes desconectados por fila cheia (politica=desconectar)")
+                .register(registry);
+    }
+
+    /**
+     * @param lastEventId último id recebido pelo cliente (header Last-Event-ID); null = somente eventos novos
+     */
+    public Flux<ServerSentEvent<Object>> assinar(String lastEventId) {
+        if (lastEventId != null && !TOKEN.matcher(lastEventId).matches()) {
+            throw new ServerWebInputException("Last-Event-ID inválido: " + lastEventId);
+        }
+        return Flux.defer(() -> {
+            // os heartbeats param junto com os eventos (ex.: desconexão por fila cheia)
+            Sinks.Empty<Void> fim = Sinks.empty();
+            Flux<ServerSentEvent<Object>> eventos = Flux.defer(() -> mudancas(lastEventId))
+                    .map(AdmissaoStreamService::sse)
+                    .doFinally(s -> fim.tryEmitEmpty());
+            Flux<ServerSentEvent<Object>> batimentos = Flux.interval(Duration.ZERO, heartbeat)
+                    .onBackpressureDrop()
+                    .map(i -> ServerSentEvent.builder().comment("heartbeat").build())
+                    .takeUntilOther(fim.asMono());
+            return Flux.merge(eventos, batimentos);
+        })
+                .doOnSubscribe(s -> assinantes.incrementAndGet())
+                .doFinally(s -> assinantes.decrementAndGet());
+    }
+
+    /**
+     * Alterações para um assinante: as do histórico posteriores a lastEventId e depois as novas,
+     * já com a política de fila cheia aplicada.
+     */
+    Flux<Mudanca> mudancas(String lastEventId) {
+        Sinks.Many<Mudanca> fila = Sinks.many().unicast().onBackpressureBuffer();
+        List<Mudanca> replay;
+        Disposable novas;
+        synchronized (this) {
+            replay = lastEventId == null ? List.of() : posteriores(lastEventId);
+            if (replay == null) {
+                iniciar();
+                return limitar(proprio(lastEventId), buffer);
+            }
+            replay.forEach(fila::tryEmitNext);
+            novas = vivo.asFlux().subscribe(fila::tryEmitNext, fila::tryEmitError, fila::tryEmitComplete);
+            // depois de assinar o vivo: o primeiro assinante recebe desde o primeiro evento
+            iniciar();
+        }
+        // o replay não conta para a fila cheia: ele chega todo de uma vez
+        return limitar(fila.asFlux().doFinally(s -> novas.dispose()), buffer + replay.size());
+    }
+
+    // token anterior ao histórico: change stream próprio a partir dele até chegar a um evento do histórico, e dali
+    // em diante o compartilhado; sem esse ponto no oplog, "reinicio" e só as novas
+    private Flux<Mudanca> proprio(String lastEventId) {
+        AtomicReference<String> ultimo = new AtomicReference<>(lastEventId);
+        return fonte.abrir(lastEventId, null)
+                .doOnNext(m -> ultimo.set(m.token()))
+                .takeUntil(m -> alcancou(m.token()))
+                .concatWith(Flux.defer(() -> mudancas(ultimo.get())))
+                .onErrorResume(e -> {
+                    log.warn("Last-Event-ID fora do histórico e do oplog, assinante recomeça: {}", e.getMessage());
+                    return Flux.just(new Mudanca("", EVENTO_REINICIO, null))
+                            .concatWith(Flux.defer(() -> mudancas(null)));
+                });
+    }
+
+    private Flux<Mudanca> limitar(Flux<Mudanca> mudancas, int capacidade) {
+        if (politica == Politica.DESCARTAR) {
+            return mudancas.onBackpressureBuffer(capacidade, m -> descartados.increment(),
+                    BufferOverflowStrategy.DROP_LATEST);
+        }
+        return mudancas.onBackpressureBuffer(capacidade, BufferOverflowStrategy.ERROR)
+                .onErrorResume(Exceptions::isOverflow, e -> {
+                    desconectados.increment();
+                    return Mono.empty();
+                });
+    }
+
+    // chamado com o lock; o primeiro assinante abre o change stream. Ele começa sempre do instante atual:
+    // um Last-Event-ID inválido derrubaria o change stream de todos
+    private void iniciar() {
+        if (assinatura != null) {
+            return;
+        }
+        inicio = Instant.now();
+        assinatura = Flux.defer(() -> fonte.abrir(ultimoToken, inicio))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .transientErrors(true)
+                        .doBeforeRetry(s -> log.warn("Change stream de admissoes interrompido, reabrindo: {}",
+                                s.failure().getMessage())))
+                .subscribe(this::publicar);
+    }
+
+    private synchronized void publicar(Mudanca mudanca) {
+        historico.addLast(mudanca);
+        if (historico.size() > historicoMaximo) {
+            tokenAnteriorAoHistorico = historico.removeFirst().token();
+        }
+        ultimoToken = mudanca.token();
+        vivo.tryEmitNext(mudanca);
+    }
+
+    // chamado com o lock; null quando o token não está no histórico
+    private List<Mudanca> posteriores(String token) {
+        if (token.equals(tokenAnteriorAoHistorico)) {
+            return new ArrayList<>(historico);
+        }
+        List<Mudanca> depois = new ArrayList<>();
+        Iterator<Mudanca> it = historico.descendingIterator();
+        while (it.hasNext()) {
+            Mudanca m = it.next();
+            if (m.token().equals(token)) {
+                Collections.reverse(depois);
+                return depois;
+            }
+            depois.add(m);
+        }
+        return null;
+    }
+
+    private synchronized boolean alcancou(String token) {
+        return token.equals(tokenAnteriorAoHistorico) || historico.stream().anyMatch(m -> m.token().equals(token));
+    }
+
+    private static ServerSentEvent<Object> sse(Mudanca mudanca) {
+        Object dados = switch (mudanca.evento()) {
+            case EVENTO_ADMISSAO -> mudanca.admissao();
+            case EVENTO_REMOCAO -> AdmissaoResumoDTO.builder().id(mudanca.admissao().getId()).build();
+            // id vazio: o cliente esquece o Last-Event-ID antigo
+            default -> Map.of("motivo", "eventos anteriores indisponíveis; releia a listagem");
+        };
+        return ServerSentEvent.builder(dados)
+                .id(mudanca.token())
+                .event(mudanca.evento())
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (this) {
+            if (assinatura != null) {
+                assinatura.dispose();
+            }
+        }
+        vivo.tryEmitComplete();
+    }
+
+    // ---------- change stream ----------
+
+    static Fonte changeStream(ReactiveMongoTemplate mongoTemplate) {
+        String colecao = mongoTemplate.getCollectionName(Admissao.class);
+        return (resumeAfter, inicio) -> {
+            ChangeStreamOptions.ChangeStreamOptionsBuilder opcoes = ChangeStreamOptions.builder()
+                    .filter(Aggregation.newAggregation(
+                            Aggregation.match(Criteria.where("operationType").in("insert", "delete"))));
+            if (resumeAfter != null) {
+                opcoes.resumeAfter(new BsonDocument("_data", new BsonString(resumeAfter)));
+            } else {
+                opcoes.resumeAt(inicio);
+            }
+            return mongoTemplate.changeStream(colecao, opcoes.build(), Admissao.class)
+                    .map(AdmissaoStreamService::mudanca);
+        };
+    }
+
+    /**
+     * Descarta as remoções de admissões que foram para o arquivo: o ArquivoAdmissoes copia antes de remover,
+     * então quando o delete chega a cópia já existe. O resume token delas não é guardado; numa retomada o
+     * evento volta e é descartado de novo.
+     */
+    static Fonte semArquivadas(Fonte fonte, @Nullable ArquivoAdmissoes arquivo) {
+        if (arquivo == null) {
+            return fonte;
+        }
+        return (resumeAfter, inicio) -> fonte.abrir(resumeAfter, inicio)
+                .concatMap(m -> m.evento().equals(EVENTO_REMOCAO)
+                        ? arquivo.arquivada(m.admissao().getId()).filter(arquivada -> !arquivada).map(n -> m)
+                        : Mono.just(m));
+    }
+
+    private static Mudanca mudanca(ChangeStreamEvent<Admissao> evento) {
+        String token = evento.getResumeToken().asDocument().getString("_data").getValue();
+        if (evento.getOperationType() == OperationType.DELETE) {
+            String id = evento.getRaw().getDocumentKey().getObjectId("_id").getValue().toHexString();
+            return new Mudanca(token, EVENTO_REMOCAO, Admissao.builder().id(id).build());
+        }
+        return new Mudanca(token, EVENTO_ADMISSAO, evento.getBody());
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.admissao.service;
+
+import br.com.admissao.repository.ArquivoAdmissoes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Agenda o arquivamento das admissões antigas ({@link ArquivoAdmissoes}) e mantém atualizada a lista
+ * de meses arquivados usada pelas consultas:
+ * - admissao.arquivo.cron (padrão "-", desligado): move o que tiver criadoEm além de admissao.arquivo.horizonte
+ * - admissao.arquivo.lote: documentos lidos, copiados e removidos por vez
+ * - admissao.arquivo.atualizacao: releitura dos meses arquivados (inclusive por outras instâncias); um
+ *   arquivamento que cria meses novos espera duas releituras antes de remover de admissoes
+ */
+@Service
+public class ArquivamentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivamentoService.class);
+
+    private final ArquivoAdmissoes arquivo;
+    private final Duration horizonte;
+    private final int lote;
+    private final Duration propagacao;
+    private final AtomicBoolean arquivando = new AtomicBoolean();
+
+    public ArquivamentoService(ArquivoAdmissoes arquivo,
+                               @Value("${admissao.arquivo.horizonte:365d}") Duration horizonte,
+                               @Value("${admissao.arquivo.lote:1000}") int lote,
+                               @Value("${admissao.arquivo.atualizacao:1m}") Duration atualizacao) {
+        if (horizonte.isNegative() || horizonte.isZero() || lote < 1) {
+            throw new IllegalArgumentException("admissao.arquivo.horizonte e admissao.arquivo.lote devem ser positivos");
+        }
+        this.arquivo = arquivo;
+        this.horizonte = horizonte;
+        this.lote = lote;
+        // uma releitura pode ter começado antes da coleção nova existir
+        this.propagacao = atualizacao.multipliedBy(2);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        atualizarAgendado();
+    }
+
+    @Scheduled(fixedDelayString = "${admissao.arquivo.atualizacao:1m}", initialDelayString = "${admissao.arquivo.atualizacao:1m}")
+    public void atualizarAgendado() {
+        arquivo.atualizar().subscribe(
+                meses -> log.debug("Meses arquivados: {}", meses),
+                e -> log.error("Falha ao listar as coleções de arquivo: {}", e.getMessage()));
+    }
+
+    @Scheduled(cron = "${admissao.arquivo.cron:-}")
+    public void arquivarAgendado() {
+        arquivar().subscribe(
+                movidos -> log.info("Arquivamento concluído: {} admissões movidas", movidos),
+                e -> log.error("Falha ao arquivar admissões: {}", e.getMessage()));
+    }
+
+    /**
+     * Move as admissões criadas antes de agora - horizonte; uma execução por vez
+     * (chamadas concorrentes completam vazias).
+     */
+    public Mono<Long> arquivar() {
+        return Mono.defer(() -> {
+            if (!arquivando.compareAndSet(false, true)) {
+                log.warn("Arquivamento já em andamento");
+                return Mono.empty();
+            }
+            return arquivo.arquivar(LocalDateTime.now().minus(horizonte), lote, propagacao)
+                    .doFinally(s -> arquivando.set(false));
+        });
+    }
+}
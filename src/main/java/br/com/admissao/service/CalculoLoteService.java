@@ -0,0 +1,159 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.dto.LoteResultadoDTO;
+import br.com.admissao.dto.ViaCepDTO;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.repository.AdmissaoStore;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Processamento em lote de admissões (POST /api/calculos/lote).
+ * - Cada registro é validado individualmente (CalculoRequestValidacao); registros inválidos viram uma linha
+ *   de erro, sem abortar o lote.
+ * - Consultas de CEP são deduplicadas dentro do lote (uma consulta por CEP normalizado).
+ * - Registros válidos são gravados em grupos de até admissao.lote.batch-size com um único insertMany não
+ *   ordenado (e somados às estatísticas mensais com um único bulk write por grupo); um documento rejeitado
+ *   vira ERRO só na sua linha, os demais do grupo seguem gravados.
+ * - No máximo admissao.lote.concorrencia registros são preparados ao mesmo tempo; a entrada só é
+ *   consumida conforme o cliente lê os resultados (backpressure de ponta a ponta).
+ */
+@Service
+public class CalculoLoteService {
+
+    private final CalculoService calculoService;
+    private final AdmissaoStore store;
+    private final CepResolver cepResolver;
+    private final CalculoRequestValidacao validacao;
+    private final int batchSize;
+    private final int concorrencia;
+    private final Duration maxEspera;
+
+    public CalculoLoteService(CalculoService calculoService,
+                              AdmissaoStore store,
+                              CepResolver cepResolver,
+                              CalculoRequestValidacao validacao,
+                              @Value("${admissao.lote.batch-size:500}") int batchSize,
+                              @Value("${admissao.lote.concorrencia:32}") int concorrencia,
+                              @Value("${admissao.lote.max-espera:200ms}") Duration maxEspera) {
+        this.calculoService = calculoService;
+        this.store = store;
+        this.cepResolver = cepResolver;
+        this.validacao = validacao;
+        this.batchSize = batchSize;
+        this.concorrencia = concorrencia;
+        this.maxEspera = maxEspera;
+    }
+
+    /**
+     * @return um resultado por registro de entrada, emitido assim que o seu grupo é gravado
+     */
+    public Flux<LoteResultadoDTO> processar(Flux<CalculoRequestDTO> requisicoes) {
+        // escopo do lote: cresce no máximo até o número de CEPs distintos da entrada
+        Map<String, Mono<Optional<ViaCepDTO>>> ceps = new ConcurrentHashMap<>();
+
+        return requisicoes
+                .index()
+                .flatMap(t -> preparar(t.getT1(), t.getT2(), ceps), concorrencia)
+                .bufferTimeout(batchSize, maxEspera, true)
+                .concatMap(this::persistir);
+    }
+
+    // ---------- helpers ----------
+
+    private Mono<Item> preparar(long indice, CalculoRequestDTO dto, Map<String, Mono<Optional<ViaCepDTO>>> ceps) {
+        List<String> erros = validacao.validar(dto);
+        if (!erros.isEmpty()) {
+            return Mono.just(Item.erro(indice, erros));
+        }
+
+        String chave = ViaCepClient.normalizarCep(dto.getCep());
+        return ceps.computeIfAbsent(chave, k -> cepResolver.buscarPorCep(k)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .cache())
+                .map(endereco -> endereco
+                        .map(e -> Item.ok(indice, calculoService.montarAdmissao(dto), e))
+                        .orElseGet(() -> Item.erro(indice, List.of("ViaCEP não retornou dados para o CEP: " + dto.getCep()))))
+                .onErrorResume(e -> Mono.just(Item.erro(indice, List.of("Erro ao consultar CEP " + dto.getCep() + ": "
+                        + Optional.ofNullable(e.getMessage()).orElse(e.getClass().getSimpleName())))));
+    }
+
+    private Flux<LoteResultadoDTO> persistir(List<Item> itens) {
+        List<LoteResultadoDTO> erros = new ArrayList<>();
+        List<Item> validos = new ArrayList<>();
+        for (Item item : itens) {
+            if (item.erro != null) {
+                erros.add(item.erro);
+            } else {
+                validos.add(item);
+            }
+        }
+        if (validos.isEmpty()) {
+            return Flux.fromIterable(erros);
+        }
+
+        // ids atribuídos aqui: o insert não ordenado não devolve os documentos gravados
+        List<Admissao> admissoes = validos.stream().map(i -> i.admissao).collect(Collectors.toList());
+        admissoes.stream().filter(a -> a.getId() == null).forEach(a -> a.setId(new ObjectId().toHexString()));
+        Mono<List<LoteResultadoDTO>> gravados = store.insertAllUnordered(admissoes)
+                .flatMap(rejeitados -> {
+                    List<Admissao> salvos = new ArrayList<>(admissoes.size());
+                    List<LoteResultadoDTO> resultados = new ArrayList<>(admissoes.size());
+                    for (int i = 0; i < admissoes.size(); i++) {
+                        Item item = validos.get(i);
+                        Throwable causa = rejeitados.get(i);
+                        if (causa != null) {
+                            resultados.add(falha(item, causa));
+                        } else {
+                            salvos.add(admissoes.get(i));
+                            resultados.add(LoteResultadoDTO.criado(item.indice, calculoService.toResponse(admissoes.get(i), item.endereco)));
+                        }
+                    }
+                    return calculoService.registrarEstatisticas(salvos).thenReturn(resultados);
+                })
+                // o bulk write nem chegou a ser confirmado (ex.: conexão): nenhum registro é dado como gravado
+                .onErrorResume(e -> Mono.just(validos.stream().map(i -> falha(i, e)).collect(Collectors.toList())));
+
+        return Flux.fromIterable(erros).concatWith(gravados.flatMapIterable(l -> l));
+    }
+
+    private static LoteResultadoDTO falha(Item item, Throwable e) {
+        return LoteResultadoDTO.erro(item.indice, List.of("Falha ao persistir o registro: "
+                + Optional.ofNullable(e.getMessage()).orElse(e.getClass().getSimpleName())));
+    }
+
+    private static final class Item {
+        private final long indice;
+        private final Admissao admissao;
+        private final ViaCepDTO endereco;
+        private final LoteResultadoDTO erro;
+
+        private Item(long indice, Admissao admissao, ViaCepDTO endereco, LoteResultadoDTO erro) {
+            this.indice = indice;
+            this.admissao = admissao;
+            this.endereco = endereco;
+            this.erro = erro;
+        }
+
+        static Item ok(long indice, Admissao admissao, ViaCepDTO endereco) {
+            return new Item(indice, admissao, endereco, null);
+        }
+
+        static Item erro(long indice, List<String> erros) {
+            return new Item(indice, null, null, LoteResultadoDTO.erro(indice, erros));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.exception.ValidacaoException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Validação do CalculoRequestDTO no POST /api/calculos e no lote, escolhida por admissao.validacao.modo:
+ * - bean-validation (padrão): as anotações do DTO, via jakarta.validation.Validator
+ * - rapida: as mesmas regras escritas à mão, sem reflexão nem regex, com as mesmas mensagens
+ *
+ * As mensagens ("campo: mensagem") saem em ordem alfabética nos dois modos. Qualquer alteração nas
+ * anotações do DTO precisa ser replicada em {@link #validarRapido} (CalculoRequestValidacaoTest compara os dois).
+ */
+@Component
+public class CalculoRequestValidacao {
+
+    public enum Modo {
+        BEAN_VALIDATION,
+        RAPIDA
+    }
+
+    static final String DATA_OBRIGATORIA = "dataAdmissao: dataAdmissao é obrigatória";
+    static final String DATA_FUTURA = "dataAdmissao: dataAdmissao não pode ser no futuro";
+    static final String SALARIO_OBRIGATORIO = "salarioBruto: salarioBruto é obrigatório";
+    static final String SALARIO_NAO_POSITIVO = "salarioBruto: salarioBruto deve ser maior que zero";
+    static final String CEP_OBRIGATORIO = "cep: cep é obrigatório";
+    static final String CEP_INVALIDO = "cep: CEP inválido. Formato esperado: 12345-678 ou 12345678";
+
+    private final Modo modo;
+    private final Validator validator;
+    private final Clock clock;
+
+    @Autowired
+    public CalculoRequestValidacao(@Value("${admissao.validacao.modo:bean-validation}") Modo modo, Validator validator) {
+        this(modo, validator, Clock.systemDefaultZone());
+    }
+
+    CalculoRequestValidacao(Modo modo, Validator validator, Clock clock) {
+        this.modo = modo;
+        this.validator = validator;
+        this.clock = clock;
+    }
+
+    /**
+     * @throws ValidacaoException (400) com todas as violações
+     */
+    public void validarOuFalhar(CalculoRequestDTO dto) {
+        List<String> erros = validar(dto);
+        if (!erros.isEmpty()) {
+            throw new ValidacaoException(erros);
+        }
+    }
+
+    /**
+     * @return violações ("campo: mensagem") em ordem alfabética; vazia se o DTO é válido
+     */
+    public List<String> validar(CalculoRequestDTO dto) {
+        if (modo == Modo.RAPIDA) {
+            return validarRapido(dto, LocalDate.now(clock));
+        }
+        // mesmo formato de GlobalExceptionHandler.formatConstraintViolation
+        return validator.validate(dto).stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * As anotações do CalculoRequestDTO, na mesma semântica do Hibernate Validator:
+     * - @NotBlank: nulo ou só com caracteres <= ' ' (String.trim()) é inválido
+     * - @Pattern: nulo é válido; "" também é testado (e falha) junto com o @NotBlank
+     * - @PastOrPresent: comparado com a data de hoje no fuso da JVM
+     * - @DecimalMin("0.0", inclusive = false): estritamente maior que zero
+     */
+    static List<String> validarRapido(CalculoRequestDTO dto, LocalDate hoje) {
+        List<String> erros = null;
+        String cep = dto.getCep();
+        if (cep == null) {
+            erros = adicionar(erros, CEP_OBRIGATORIO);
+        } else {
+            if (!formatoCep(cep)) {
+                erros = adicionar(erros, CEP_INVALIDO);
+            }
+            if (cep.trim().isEmpty()) {
+                erros = adicionar(erros, CEP_OBRIGATORIO);
+            }
+        }
+        LocalDate data = dto.getDataAdmissao();
+        if (data == null) {
+            erros = adicionar(erros, DATA_OBRIGATORIA);
+        } else if (data.isAfter(hoje)) {
+            erros = adicionar(erros, DATA_FUTURA);
+        }
+        BigDecimal salario = dto.getSalarioBruto();
+        if (salario == null) {
+            erros = adicionar(erros, SALARIO_OBRIGATORIO);
+        } else if (salario.signum() <= 0) {
+            erros = adicionar(erros, SALARIO_NAO_POSITIVO);
+        }
+        // já em ordem alfabética: "cep" < "dataAdmissao" < "salarioBruto", e CEP_INVALIDO < CEP_OBRIGATORIO
+        return erros == null ? List.of() : erros;
+    }
+
+    // \d{5}-?\d{3}
+    static boolean formatoCep(String cep) {
+        int n = cep.length();
+        if (n == 8) {
+            return digitos(cep, 0, 8);
+        }
+        return n == 9 && cep.charAt(5) == '-' && digitos(cep, 0, 5) && digitos(cep, 6, 9);
+    }
+
+    private static boolean digitos(String s, int inicio, int fim) {
+        for (int i = inicio; i < fim; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> adicionar(List<String> erros, String erro) {
+        if (erros == null) {
+            erros = new ArrayList<>(2);
+        }
+        erros.add(erro);
+        return erros;
+    }
+}
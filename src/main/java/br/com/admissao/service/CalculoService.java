@@ -1,50 +1,158 @@
 package br.com.admissao.service;
 
+import br.com.admissao.dto.AdmissaoResumoDTO;
 import br.com.admissao.dto.CalculoRequestDTO;
 import br.com.admissao.dto.CalculoResponseDTO;
+import br.com.admissao.dto.PaginaDTO;
+import br.com.admissao.dto.ViaCepDTO;
 import br.com.admissao.exception.ApiException;
 import br.com.admissao.model.Admissao;
-import br.com.admissao.repository.AdmissaoRepository;
+import br.com.admissao.repository.AdmissaoStore;
+import br.com.admissao.repository.ArquivoAdmissoes;
+import br.com.admissao.repository.EstatisticasRollup;
+import br.com.admissao.repository.WriteBehindBuffer;
+import br.com.admissao.util.KeysetCursor;
 import br.com.admissao.util.PeriodUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.publisher.Signal;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * Serviço que combina persistência síncrona (MongoRepository) com chamadas reativas ao ViaCEP.
- * Operações bloqueantes (salvar no MongoRepository) são empacotadas em Mono.fromCallable()
- * e executadas em Schedulers.boundedElastic() para evitar bloqueios no event-loop reativo.
+ * Serviço que combina a persistência (via {@link AdmissaoStore}) com chamadas reativas ao ViaCEP.
+ * O store ativo é escolhido por configuração (admissao.persistence.mode): o modo blocking executa o
+ * MongoRepository no scheduler de persistência (boundedElastic ou virtual threads); o modo reactive usa
+ * o ReactiveMongoRepository.
+ * Em ambos os casos nenhum método deste serviço bloqueia o event-loop.
+ *
+ * As consultas incluem as coleções de arquivo ({@link ArquivoAdmissoes}) que podem conter o intervalo
+ * de dataAdmissao pedido; sem nenhuma, vão só à coleção quente pelo store, como antes do arquivamento.
  */
 @Service
 public class CalculoService {
 
-    private final AdmissaoRepository repository;
-    private final ViaCepClient viaCepClient;
+    private static final Logger log = LoggerFactory.getLogger(CalculoService.class);
 
-    public CalculoService(AdmissaoRepository repository, ViaCepClient viaCepClient) {
-        this.repository = repository;
-        this.viaCepClient = viaCepClient;
+    private final AdmissaoStore store;
+    private final CepResolver cepResolver;
+    private final WriteBehindBuffer writeBehind;
+    private final EstatisticasRollup estatisticas;
+    private final MeterRegistry registry;
+    private final ArquivoAdmissoes arquivo;
+
+    public CalculoService(AdmissaoStore store, CepResolver cepResolver) {
+        this(store, cepResolver, null, null, Metrics.globalRegistry, null);
+    }
+
+    /**
+     * @param writeBehind  presente quando admissao.persistence.write-behind.enabled=true;
+     *                     o save do POST passa a ser feito em grupo (bulk insert)
+     * @param estatisticas rollup mensal atualizado a cada admissão gravada (null = desligado)
+     * @param arquivo      camada de arquivo consultada junto com a coleção quente (null = só a quente)
+     */
+    @Autowired
+    public CalculoService(AdmissaoStore store, CepResolver cepResolver, @Nullable WriteBehindBuffer writeBehind,
+                          @Nullable EstatisticasRollup estatisticas, MeterRegistry registry,
+                          @Nullable ArquivoAdmissoes arquivo) {
+        this.store = store;
+        this.cepResolver = cepResolver;
+        this.writeBehind = writeBehind;
+        this.estatisticas = estatisticas;
+        this.registry = registry;
+        this.arquivo = arquivo;
     }
 
     /**
      * Calcula, persiste e retorna o resultado de forma reativa (Mono).
-     * - Persiste em uma thread do boundedElastic (porque repository.save é bloqueante).
-     * - Chama o ViaCEP de forma reativa (via WebClient) sem bloquear.
+     * - Persiste através do AdmissaoStore configurado (blocking ou reactive).
+     * - Resolve o endereço via CepResolver (ViaCEP e/ou índice local, conforme cep.resolver.mode).
+     *
+     * As duas etapas rodam em paralelo (latência = máx(save, CEP), não a soma). Se o CEP vier vazio
+     * ou com erro, o registro já gravado é removido antes de propagar o erro, para não deixar órfãos.
+     * Só admissões que permanecem gravadas entram nas estatísticas.
      *
      * @param dto dados de entrada
      * @return Mono contendo CalculoResponseDTO
      */
     public Mono<CalculoResponseDTO> calcularESalvarReactive(CalculoRequestDTO dto) {
+        Admissao adm = montarAdmissao(dto);
+
+        // Persiste sem bloquear o event-loop (boundedElastic ou driver reativo, conforme o store),
+        // individualmente ou no próximo lote do write-behind
+        Mono<Admissao> salvoMono = medir("save", writeBehind != null ? writeBehind.enfileirar(adm) : store.save(adm));
+
+        // materialize(): vazio/erro do CEP viram valores, assim o zip não cancela um save em andamento
+        Mono<Signal<ViaCepDTO>> enderecoMono = medir("cep", cepResolver.buscarPorCep(dto.getCep())).materialize();
+
+        return medir("total", Mono.zip(salvoMono, enderecoMono)
+                .flatMap(t -> {
+                    Admissao salvo = t.getT1();
+                    Signal<ViaCepDTO> endereco = t.getT2();
+                    if (endereco.hasValue()) {
+                        return registrarEstatisticas(List.of(salvo)).thenReturn(toResponse(salvo, endereco.get()));
+                    }
+                    Throwable erro = endereco.hasError()
+                            ? endereco.getThrowable()
+                            : new ApiException("ViaCEP não retornou dados para o CEP: " + dto.getCep());
+                    return compensar(salvo).then(Mono.error(erro));
+                }));
+    }
+
+    /**
+     * Timer admissao.calculo.etapa (etapa = save | cep | total; resultado = sucesso | vazio | erro | cancelado),
+     * com histograma para percentis. No modo blocking, "save" inclui a espera na fila do boundedElastic.
+     */
+    private <T> Mono<T> medir(String etapa, Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample amostra = Timer.start(registry);
+            AtomicBoolean emitiu = new AtomicBoolean();
+            return mono
+                    .doOnNext(v -> emitiu.set(true))
+                    .doFinally(sinal -> amostra.stop(Timer.builder("admissao.calculo.etapa")
+                            .description("Duração de cada etapa do POST /api/calculos")
+                            .tag("etapa", etapa)
+                            .tag("resultado", switch (sinal) {
+                                case ON_ERROR -> "erro";
+                                case CANCEL -> "cancelado";
+                                default -> emitiu.get() ? "sucesso" : "vazio";
+                            })
+                            .publishPercentileHistogram()
+                            .register(registry)));
+        });
+    }
+
+    /**
+     * Aplica os cálculos (tempo de casa e 35% do salário) sobre a requisição, sem persistir.
+     */
+    public Admissao montarAdmissao(CalculoRequestDTO dto) {
         var periodo = PeriodUtil.calcularPeriodo(dto.getDataAdmissao());
         BigDecimal porcentagem35 = dto.getSalarioBruto().multiply(BigDecimal.valueOf(0.35));
 
-        Admissao adm = Admissao.builder()
+        return Admissao.builder()
                 .dataAdmissao(dto.getDataAdmissao())
                 .salarioBruto(dto.getSalarioBruto())
                 .anos(periodo.getYears())
@@ -53,40 +161,274 @@ public class CalculoService {
                 .porcentagem35(porcentagem35)
                 .criadoEm(LocalDateTime.now())
                 .build();
+    }
+
+    /**
+     * Soma as admissões gravadas ao rollup mensal. Uma falha só é logada: a admissão já está gravada
+     * e a reconstrução do rollup (EstatisticasService) corrige a diferença.
+     */
+    public Mono<Void> registrarEstatisticas(List<Admissao> salvas) {
+        if (estatisticas == null || salvas.isEmpty()) {
+            return Mono.empty();
+        }
+        return estatisticas.registrar(salvas)
+                .onErrorResume(e -> {
+                    log.error("Falha ao atualizar as estatísticas de {} admissões: {}", salvas.size(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    // remove o registro sem endereço; uma falha aqui só é logada para não mascarar o erro original
+    private Mono<Void> compensar(Admissao salvo) {
+        return store.deleteById(salvo.getId())
+                .onErrorResume(e -> {
+                    log.error("Falha ao remover a admissão {} após erro no CEP: {}", salvo.getId(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public CalculoResponseDTO toResponse(Admissao salvo, ViaCepDTO endereco) {
+        return CalculoResponseDTO.builder()
+                .id(salvo.getId())
+                .dataAdmissao(salvo.getDataAdmissao())
+                .salarioBruto(salvo.getSalarioBruto())
+                .anos(salvo.getAnos())
+                .meses(salvo.getMeses())
+                .dias(salvo.getDias())
+                .porcentagem35(salvo.getPorcentagem35())
+                .criadoEm(salvo.getCriadoEm())
+                .endereco(endereco)
+                .build();
+    }
+
+    // ---------- Métodos de consulta (reativos / pageable) ----------
+    public Mono<Page<Admissao>> listar(Pageable pageable) {
+        return paginar(null, pageable, arquivos(null), () -> store.findAll(pageable));
+    }
+
+    public Mono<Page<Admissao>> filtrarPorData(LocalDate inicio, LocalDate fim, Pageable pageable) {
+        return paginar(filtroPorData(inicio, fim), pageable, arquivos(inicio),
+                () -> store.findByDataAdmissaoBetween(inicio, fim, pageable));
+    }
+
+    public Mono<Page<Admissao>> filtrarPorSalario(BigDecimal min, Pageable pageable) {
+        return paginar(filtroPorSalario(min), pageable, arquivos(null),
+                () -> store.findBySalarioBrutoGreaterThanEqual(min, pageable));
+    }
+
+    // ---------- Tempo de casa na data de referência ----------
+
+    // limite inferior quando não há tempo máximo (findByDataAdmissaoBetween é exclusivo nas duas pontas)
+    private static final LocalDate ADMISSAO_MAIS_ANTIGA = LocalDate.of(1900, 1, 1);
+
+    /**
+     * Admissões com tempo de casa entre minAnos e maxAnos (anos completos, inclusive) na data de referência.
+     * Os limites viram um intervalo de dataAdmissao, atendido pela mesma consulta (e índice) de
+     * filtrarPorData; anos/meses/dias são recalculados só para os registros da página, pois os gravados
+     * valem para o momento do cálculo.
+     *
+     * @param maxAnos    null = sem limite superior
+     * @param referencia null = hoje
+     */
+    public Mono<Page<Admissao>> filtrarPorTempoDeCasa(int minAnos, Integer maxAnos, LocalDate referencia,
+                                                     Pageable pageable) {
+        if (minAnos < 0 || (maxAnos != null && maxAnos < minAnos)) {
+            throw new ServerWebInputException("Intervalo de tempo de casa inválido: minAnos=" + minAnos
+                    + ", maxAnos=" + maxAnos);
+        }
+        LocalDate ref = referencia != null ? referencia : LocalDate.now();
+        // anos >= minAnos  <=>  dataAdmissao <= admitidoAte(ref, minAnos)
+        // anos <= maxAnos  <=>  dataAdmissao >  admitidoAte(ref, maxAnos + 1)
+        LocalDate inicio = maxAnos != null ? PeriodUtil.admitidoAte(ref, maxAnos + 1) : ADMISSAO_MAIS_ANTIGA;
+        LocalDate fim = PeriodUtil.admitidoAte(ref, minAnos).plusDays(1);
+
+        return filtrarPorData(inicio, fim, pageable)
+                .map(pagina -> pagina.map(a -> {
+                    var periodo = PeriodUtil.calcularPeriodo(a.getDataAdmissao(), ref);
+                    a.setAnos(periodo.getYears());
+                    a.setMeses(periodo.getMonths());
+                    a.setDias(periodo.getDays());
+                    return a;
+                }));
+    }
+
+    // ---------- Paginação por cursor (keyset, sem count nem skip) ----------
+
+    public Mono<PaginaDTO<Admissao>> listarPorCursor(Sort.Direction direcao, String cursor, int size) {
+        return paginarPorCursor(null, arquivos(null), "criadoEm", direcao, cursor, size, null, Function.identity());
+    }
+
+    // mesmo intervalo exclusivo do findByDataAdmissaoBetween
+    public Mono<PaginaDTO<Admissao>> filtrarPorDataPorCursor(LocalDate inicio, LocalDate fim,
+                                                             Sort.Direction direcao, String cursor, int size) {
+        return paginarPorCursor(filtroPorData(inicio, fim), arquivos(inicio), "criadoEm", direcao, cursor, size, null,
+                Function.identity());
+    }
+
+    public Mono<PaginaDTO<Admissao>> filtrarPorSalarioPorCursor(BigDecimal min,
+                                                                Sort.Direction direcao, String cursor, int size) {
+        return paginarPorCursor(filtroPorSalario(min), arquivos(null), "salarioBruto", direcao, cursor, size, null,
+                Function.identity());
+    }
+
+    /**
+     * Ordena por (campo, _id) — o _id desempata valores iguais e torna a ordem estável —
+     * e busca size + 1 registros só para saber se existe próxima página.
+     *
+     * @param campos projeção (null = documento inteiro); o campo de ordenação e o _id são lidos
+     *               mesmo fora dela, pois formam o próximo cursor
+     */
+    private <T> Mono<PaginaDTO<T>> paginarPorCursor(Criteria filtro, List<String> arquivos, String campo,
+                                                    Sort.Direction direcao,
+                                                    String token, int size, Set<String> campos,
+                                                    Function<Admissao, T> mapper) {
+        List<Criteria> criterios = new ArrayList<>();
+        if (filtro != null) {
+            criterios.add(filtro);
+        }
+        if (token != null && !token.isBlank()) {
+            criterios.add(KeysetCursor.decode(token, campo, direcao).criteria());
+        }
+
+        Query query = new Query();
+        if (criterios.size() == 1) {
+            query.addCriteria(criterios.get(0));
+        } else if (criterios.size() > 1) {
+            query.addCriteria(new Criteria().andOperator(criterios));
+        }
+        query.with(Sort.by(direcao, campo, "id")).limit(size + 1);
+        if (campos != null) {
+            projetar(query, campos).include(campo, "id");
+        }
+
+        return buscar(query, arquivos).map(lista -> {
+            boolean hasNext = lista.size() > size;
+            List<Admissao> items = hasNext ? lista.subList(0, size) : lista;
+            String nextCursor = hasNext ? KeysetCursor.of(items.get(size - 1), campo, direcao).encode() : null;
+            return PaginaDTO.<T>builder()
+                    .items(items.stream().map(mapper).toList())
+                    .size(size)
+                    .hasNext(hasNext)
+                    .nextCursor(nextCursor)
+                    .build();
+        });
+    }
+
+    // ---------- Projeção (fields=) ----------
+
+    /**
+     * Mesmas consultas de listar/filtrarPorData/filtrarPorSalario, mas o Mongo devolve somente os campos
+     * pedidos e a página é um PaginaDTO: sem count (a não ser com comTotal), busca size + 1 registros
+     * só para saber se existe próxima página.
+     *
+     * @param campos subconjunto de AdmissaoResumoDTO.CAMPOS
+     */
+    public Mono<PaginaDTO<AdmissaoResumoDTO>> listarResumo(Set<String> campos, Pageable pageable, boolean comTotal) {
+        return paginarResumo(null, arquivos(null), campos, pageable, comTotal);
+    }
+
+    public Mono<PaginaDTO<AdmissaoResumoDTO>> filtrarPorDataResumo(LocalDate inicio, LocalDate fim, Set<String> campos,
+                                                                   Pageable pageable, boolean comTotal) {
+        return paginarResumo(filtroPorData(inicio, fim), arquivos(inicio), campos, pageable, comTotal);
+    }
+
+    public Mono<PaginaDTO<AdmissaoResumoDTO>> filtrarPorSalarioResumo(BigDecimal min, Set<String> campos,
+                                                                      Pageable pageable, boolean comTotal) {
+        return paginarResumo(filtroPorSalario(min), arquivos(null), campos, pageable, comTotal);
+    }
+
+    public Mono<PaginaDTO<AdmissaoResumoDTO>> listarResumoPorCursor(Set<String> campos, Sort.Direction direcao,
+                                                                    String cursor, int size) {
+        return paginarPorCursor(null, arquivos(null), "criadoEm", direcao, cursor, size, campos,
+                a -> AdmissaoResumoDTO.of(a, campos));
+    }
+
+    public Mono<PaginaDTO<AdmissaoResumoDTO>> filtrarPorDataResumoPorCursor(LocalDate inicio, LocalDate fim,
+                                                                            Set<String> campos, Sort.Direction direcao,
+                                                                            String cursor, int size) {
+        return paginarPorCursor(filtroPorData(inicio, fim), arquivos(inicio), "criadoEm", direcao, cursor, size, campos,
+                a -> AdmissaoResumoDTO.of(a, campos));
+    }
+
+    public Mono<PaginaDTO<AdmissaoResumoDTO>> filtrarPorSalarioResumoPorCursor(BigDecimal min, Set<String> campos,
+                                                                               Sort.Direction direcao,
+                                                                               String cursor, int size) {
+        return paginarPorCursor(filtroPorSalario(min), arquivos(null), "salarioBruto", direcao, cursor, size, campos,
+                a -> AdmissaoResumoDTO.of(a, campos));
+    }
+
+    private Mono<PaginaDTO<AdmissaoResumoDTO>> paginarResumo(Criteria filtro, List<String> arquivos, Set<String> campos,
+                                                            Pageable pageable, boolean comTotal) {
+        Query query = filtro != null ? new Query(filtro) : new Query();
+        Query pagina = Query.of(query).with(pageable).limit(pageable.getPageSize() + 1);
+        projetar(pagina, campos);
+
+        int size = pageable.getPageSize();
+        return buscar(pagina, arquivos).flatMap(lista -> {
+            boolean hasNext = lista.size() > size;
+            List<Admissao> items = hasNext ? lista.subList(0, size) : lista;
+            PaginaDTO<AdmissaoResumoDTO> dto = PaginaDTO.<AdmissaoResumoDTO>builder()
+                    .items(items.stream().map(a -> AdmissaoResumoDTO.of(a, campos)).toList())
+                    .size(size)
+                    .hasNext(hasNext)
+                    .nextPage(hasNext ? pageable.getPageNumber() + 1 : null)
+                    .build();
+            if (!comTotal) {
+                return Mono.just(dto);
+            }
+            // última página: total = offset + itens, sem count (uma página vazia além do fim ainda precisa dele)
+            if (!hasNext && (pageable.getOffset() == 0 || !items.isEmpty())) {
+                dto.setTotal(pageable.getOffset() + items.size());
+                return Mono.just(dto);
+            }
+            return contar(query, arquivos).map(total -> {
+                dto.setTotal(total);
+                return dto;
+            });
+        });
+    }
+
+    // ---------- Camadas quente e de arquivo ----------
 
-        // Persiste de forma bloqueante em boundedElastic (não bloqueia event-loop)
-        Mono<Admissao> salvoMono = Mono.fromCallable(() -> repository.save(adm))
-                .subscribeOn(Schedulers.boundedElastic());
+    // coleções de arquivo que podem ter admissões com dataAdmissao > inicio (null = sem limite inferior)
+    private List<String> arquivos(LocalDate inicio) {
+        return arquivo == null ? List.of() : arquivo.colecoes(inicio);
+    }
+
+    private Mono<List<Admissao>> buscar(Query query, List<String> arquivos) {
+        return arquivos.isEmpty() ? store.find(query) : arquivo.buscar(query, store::find, store::count, arquivos);
+    }
+
+    private Mono<Long> contar(Query query, List<String> arquivos) {
+        return arquivos.isEmpty() ? store.count(query) : arquivo.contar(query, store.count(query), arquivos);
+    }
 
-        // Integra com ViaCEP (reativo) e monta o DTO sem bloqueios
-        return salvoMono.flatMap(salvo ->
-                viaCepClient.buscarPorCep(dto.getCep())
-                        .switchIfEmpty(Mono.error(new ApiException("ViaCEP não retornou dados para o CEP: " + dto.getCep())))
-                        .map(endereco -> CalculoResponseDTO.builder()
-                                .id(salvo.getId())
-                                .dataAdmissao(salvo.getDataAdmissao())
-                                .salarioBruto(salvo.getSalarioBruto())
-                                .anos(salvo.getAnos())
-                                .meses(salvo.getMeses())
-                                .dias(salvo.getDias())
-                                .porcentagem35(salvo.getPorcentagem35())
-                                .criadoEm(salvo.getCriadoEm())
-                                .endereco(endereco)
-                                .build()
-                        )
-        );
+    // sem arquivos, a consulta paginada do store (que pula o count quando a página já revela o total)
+    private Mono<Page<Admissao>> paginar(Criteria filtro, Pageable pageable, List<String> arquivos,
+                                         Supplier<Mono<Page<Admissao>>> somenteQuente) {
+        if (arquivos.isEmpty()) {
+            return somenteQuente.get();
+        }
+        Query query = filtro != null ? new Query(filtro) : new Query();
+        return buscar(Query.of(query).with(pageable), arquivos)
+                .zipWith(contar(query, arquivos), (itens, total) -> new PageImpl<>(itens, pageable, total));
     }
 
-    // ---------- Métodos de consulta (sincronos / pageable) ----------
-    public Page<Admissao> listar(Pageable pageable) {
-        return repository.findAll(pageable);
+    // _id vem por padrão em toda projeção; só é lido quando pedido
+    private static Field projetar(Query query, Set<String> campos) {
+        Field fields = query.fields();
+        campos.forEach(fields::include);
+        if (!campos.contains("id")) {
+            fields.exclude("id");
+        }
+        return fields;
     }
 
-    public Page<Admissao> filtrarPorData(LocalDate inicio, LocalDate fim, Pageable pageable) {
-        return repository.findByDataAdmissaoBetween(inicio, fim, pageable);
+    private static Criteria filtroPorData(LocalDate inicio, LocalDate fim) {
+        return Criteria.where("dataAdmissao").gt(inicio).lt(fim);
     }
 
-    public Page<Admissao> filtrarPorSalario(BigDecimal min, Pageable pageable) {
-        return repository.findBySalarioBrutoGreaterThanEqual(min, pageable);
+    private static Criteria filtroPorSalario(BigDecimal min) {
+        return Criteria.where("salarioBruto").gte(min);
     }
 }
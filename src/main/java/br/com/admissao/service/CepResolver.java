@@ -0,0 +1,14 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.ViaCepDTO;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolve um CEP em endereço. Mono vazio significa "CEP não encontrado".
+ * Implementações: {@link ViaCepClient} (remoto), {@link LocalCepIndex} (índice local mapeado em memória)
+ * e {@link CompositeCepResolver}, que combina os dois conforme {@code cep.resolver.mode}.
+ */
+public interface CepResolver {
+
+    Mono<ViaCepDTO> buscarPorCep(String cep);
+}
@@ -0,0 +1,12 @@
+package br.com.admissao.service;
+
+public enum CepResolverMode {
+    /** Somente ViaCEP (comportamento original). */
+    REMOTE_ONLY,
+    /** ViaCEP; em caso de erro (timeout, 5xx) consulta o índice local. */
+    REMOTE_FIRST,
+    /** Índice local; CEPs ausentes do índice são consultados no ViaCEP. */
+    LOCAL_FIRST,
+    /** Somente o índice local, sem rede (jobs em lote, indisponibilidade do ViaCEP). */
+    LOCAL_ONLY
+}
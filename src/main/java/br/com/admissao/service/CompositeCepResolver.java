@@ -0,0 +1,42 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.ViaCepDTO;
+import reactor.core.publisher.Mono;
+
+/**
+ * Combina o índice local e o ViaCEP de acordo com o {@link CepResolverMode} configurado.
+ * Um "não encontrado" do ViaCEP é definitivo; apenas erros disparam o fallback para o índice local.
+ */
+public class CompositeCepResolver implements CepResolver {
+
+    private final CepResolverMode mode;
+    private final CepResolver remote;
+    private final CepResolver local;
+
+    public CompositeCepResolver(CepResolverMode mode, CepResolver remote, CepResolver local) {
+        if (mode != CepResolverMode.REMOTE_ONLY && local == null) {
+            throw new IllegalStateException("cep.resolver.mode=" + mode + " exige cep.local.index-path configurado");
+        }
+        this.mode = mode;
+        this.remote = remote;
+        this.local = local;
+    }
+
+    @Override
+    public Mono<ViaCepDTO> buscarPorCep(String cep) {
+        switch (mode) {
+            case LOCAL_ONLY:
+                return local.buscarPorCep(cep);
+            case LOCAL_FIRST:
+                return local.buscarPorCep(cep)
+                        .switchIfEmpty(Mono.defer(() -> remote.buscarPorCep(cep)));
+            case REMOTE_FIRST:
+                return remote.buscarPorCep(cep)
+                        .onErrorResume(e -> local.buscarPorCep(cep)
+                                .switchIfEmpty(Mono.error(e)));
+            case REMOTE_ONLY:
+            default:
+                return remote.buscarPorCep(cep);
+        }
+    }
+}
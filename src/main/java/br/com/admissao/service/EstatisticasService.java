@@ -0,0 +1,142 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.EstatisticaMensalDTO;
+import br.com.admissao.model.EstatisticaMensal;
+import br.com.admissao.repository.EstatisticasRollup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * GET /api/calculos/estatisticas servido pelo rollup mensal ({@link EstatisticasRollup}),
+ * e a reconstrução do rollup:
+ * - admissao.estatisticas.reconstruir-ao-iniciar (padrão false): reconstrói quando a aplicação sobe
+ * - admissao.estatisticas.reconstrucao.cron (padrão "-", desligado): reconstrução periódica
+ */
+@Service
+public class EstatisticasService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasService.class);
+    private static final double[] PERCENTIS = {0.5, 0.9, 0.99};
+
+    private final EstatisticasRollup rollup;
+    private final boolean reconstruirAoIniciar;
+    private final AtomicBoolean reconstruindo = new AtomicBoolean();
+
+    public EstatisticasService(EstatisticasRollup rollup,
+                               @Value("${admissao.estatisticas.reconstruir-ao-iniciar:false}") boolean reconstruirAoIniciar) {
+        this.rollup = rollup;
+        this.reconstruirAoIniciar = reconstruirAoIniciar;
+    }
+
+    /**
+     * @param inicio primeiro mês (inclusive), opcional
+     * @param fim    último mês (inclusive), opcional
+     */
+    public Flux<EstatisticaMensalDTO> consultar(YearMonth inicio, YearMonth fim) {
+        if (inicio != null && fim != null && inicio.isAfter(fim)) {
+            throw new ServerWebInputException("inicio deve ser anterior ou igual a fim");
+        }
+        return rollup.buscar(inicio, fim).map(EstatisticasService::toDTO);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (reconstruirAoIniciar) {
+            reconstruirAgendado();
+        }
+    }
+
+    @Scheduled(cron = "${admissao.estatisticas.reconstrucao.cron:-}")
+    public void reconstruirAgendado() {
+        reconstruir().subscribe(
+                meses -> log.info("Estatísticas reconstruídas: {} meses", meses),
+                e -> log.error("Falha ao reconstruir as estatísticas: {}", e.getMessage()));
+    }
+
+    /**
+     * Reconstrói o rollup; uma execução por vez (chamadas concorrentes completam vazias).
+     */
+    public Mono<Integer> reconstruir() {
+        return Mono.defer(() -> {
+            if (!reconstruindo.compareAndSet(false, true)) {
+                log.warn("Reconstrução das estatísticas já em andamento");
+                return Mono.empty();
+            }
+            return rollup.reconstruir().doFinally(s -> reconstruindo.set(false));
+        });
+    }
+
+    // ---------- helpers ----------
+
+    static EstatisticaMensalDTO toDTO(EstatisticaMensal e) {
+        Map<String, Long> faixas = ordenado(e.getFaixasSalario());
+        Map<String, BigDecimal> percentis = new LinkedHashMap<>();
+        for (double p : PERCENTIS) {
+            percentis.put("p" + Math.round(p * 100), percentil(p, e, faixas));
+        }
+        return EstatisticaMensalDTO.builder()
+                .mes(e.getMes())
+                .quantidade(e.getQuantidade())
+                .salarioMedio(e.getQuantidade() == 0 || e.getSomaSalario() == null ? null
+                        : e.getSomaSalario().divide(BigDecimal.valueOf(e.getQuantidade()), 2, RoundingMode.HALF_UP))
+                .salarioMinimo(e.getSalarioMinimo())
+                .salarioMaximo(e.getSalarioMaximo())
+                .percentis(percentis)
+                .faixasSalario(faixas)
+                .tempoDeCasa(ordenado(e.getTempoDeCasa()))
+                .build();
+    }
+
+    /**
+     * Interpolação linear dentro da faixa que contém o percentil; os limites da faixa são
+     * restringidos ao mínimo/máximo observados (a última faixa é aberta).
+     */
+    static BigDecimal percentil(double p, EstatisticaMensal e, Map<String, Long> faixas) {
+        long total = faixas.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0 || e.getSalarioMinimo() == null || e.getSalarioMaximo() == null) {
+            return null;
+        }
+        double alvo = p * total;
+        List<BigDecimal> limites = EstatisticasRollup.FAIXAS_SALARIO;
+        long acumulado = 0;
+        for (int i = 0; i < limites.size(); i++) {
+            long n = faixas.getOrDefault(limites.get(i).toPlainString(), 0L);
+            if (n > 0 && acumulado + n >= alvo) {
+                BigDecimal inferior = limites.get(i).max(e.getSalarioMinimo());
+                BigDecimal superior = i + 1 < limites.size() ? limites.get(i + 1).min(e.getSalarioMaximo()) : e.getSalarioMaximo();
+                double fracao = (alvo - acumulado) / n;
+                BigDecimal valor = inferior.add(superior.subtract(inferior).multiply(BigDecimal.valueOf(fracao)));
+                return valor.setScale(2, RoundingMode.HALF_UP);
+            }
+            acumulado += n;
+        }
+        return e.getSalarioMaximo();
+    }
+
+    // chaves numéricas em ordem numérica (o Mongo devolve na ordem de criação dos campos)
+    private static Map<String, Long> ordenado(Map<String, Long> mapa) {
+        Map<String, Long> ordenado = new TreeMap<>(Comparator.comparing(BigDecimal::new));
+        if (mapa != null) {
+            ordenado.putAll(mapa);
+        }
+        return ordenado;
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.admissao.service;
+
+import br.com.admissao.model.Admissao;
+import br.com.admissao.repository.AdmissaoStore;
+import br.com.admissao.repository.ArquivoAdmissoes;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Exportação completa das admissões (NDJSON ou CSV) direto de um cursor do Mongo.
+ *
+ * As linhas são agrupadas em blocos de {@code admissao.export.linhas-por-bloco} e cada bloco
+ * é codificado em um único DataBuffer; a memória usada depende do tamanho do bloco,
+ * não da quantidade de registros exportados.
+ */
+@Service
+public class ExportService {
+
+    static final String CSV_CABECALHO = "id,dataAdmissao,salarioBruto,anos,meses,dias,porcentagem35,criadoEm\n";
+
+    public enum Formato {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extensao;
+
+        Formato(MediaType mediaType, String extensao) {
+            this.mediaType = mediaType;
+            this.extensao = extensao;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+
+        /**
+         * @throws ServerWebInputException formato desconhecido (400)
+         */
+        public static Formato of(String valor) {
+            for (Formato f : values()) {
+                if (f.extensao.equalsIgnoreCase(valor)) {
+                    return f;
+                }
+            }
+            throw new ServerWebInputException("formato inválido: " + valor + " (use ndjson ou csv)");
+        }
+    }
+
+    private final AdmissaoStore store;
+    private final int linhasPorBloco;
+    private final ArquivoAdmissoes arquivo;
+    private final ObjectWriter writer;
+
+    public ExportService(AdmissaoStore store, int linhasPorBloco, ObjectMapper objectMapper) {
+        this(store, linhasPorBloco, null, objectMapper);
+    }
+
+    /**
+     * @param arquivo      coleções de arquivo lidas depois da quente, com o mesmo filtro (null = só a quente)
+     * @param objectMapper o do Spring Boot, usado pelo encoder JSON: cada linha tem o formato dos demais endpoints
+     */
+    @Autowired
+    public ExportService(AdmissaoStore store,
+                         @Value("${admissao.export.linhas-por-bloco:500}") int linhasPorBloco,
+                         @Nullable ArquivoAdmissoes arquivo,
+                         ObjectMapper objectMapper) {
+        this.store = store;
+        this.linhasPorBloco = linhasPorBloco;
+        this.arquivo = arquivo;
+        this.writer = objectMapper.writerFor(Admissao.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Filtros opcionais e combináveis: inicio/fim (dataAdmissao, exclusivo como em /por-data)
+     * e min (salarioBruto >=). Com inicio/fim a saída segue criadoEm decrescente (a ordem do índice usado);
+     * sem eles a ordem não é garantida (nenhum sort é aplicado, para que o Mongo não ordene em memória).
+     */
+    public Flux<DataBuffer> exportar(Formato formato, LocalDate inicio, LocalDate fim, BigDecimal min,
+                                     DataBufferFactory bufferFactory) {
+        if ((inicio == null) != (fim == null)) {
+            throw new ServerWebInputException("inicio e fim devem ser informados juntos");
+        }
+        Query query = new Query().cursorBatchSize(linhasPorBloco);
+        if (inicio != null) {
+            // nenhum índice começa por dataAdmissao: o hint percorre as chaves do índice de criadoEm (na ordem dele,
+            // sem sort em memória) e filtra o intervalo nelas; sem hint, o plano seria um COLLSCAN
+            query.addCriteria(Criteria.where("dataAdmissao").gt(inicio).lt(fim))
+                    .with(Sort.by(Sort.Direction.DESC, "criadoEm", "id"))
+                    .withHint(Admissao.INDICE_CRIADO_EM);
+        }
+        if (min != null) {
+            query.addCriteria(Criteria.where("salarioBruto").gte(min));
+        }
+
+        List<String> arquivos = arquivo == null ? List.of() : arquivo.colecoes(inicio);
+        Flux<Admissao> admissoes = Flux.concat(store.stream(query),
+                Flux.fromIterable(arquivos).concatMap(colecao -> arquivo.stream(query, colecao)));
+        Flux<DataBuffer> linhas = admissoes
+                .buffer(linhasPorBloco)
+                .map(bloco -> codificar(formato, bloco, bufferFactory));
+        if (formato == Formato.CSV) {
+            return Flux.concat(
+                    Flux.defer(() -> Flux.just(bufferFactory.wrap(CSV_CABECALHO.getBytes(StandardCharsets.UTF_8)))),
+                    linhas);
+        }
+        return linhas;
+    }
+
+    // ---------- helpers ----------
+
+    private DataBuffer codificar(Formato formato, List<Admissao> bloco, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(bloco.size() * 160);
+        try {
+            if (formato == Formato.CSV) {
+                StringBuilder sb = new StringBuilder(bloco.size() * 100);
+                for (Admissao a : bloco) {
+                    linhaCsv(sb, a);
+                }
+                buffer.write(sb, StandardCharsets.UTF_8);
+            } else {
+                OutputStream out = buffer.asOutputStream();
+                for (Admissao a : bloco) {
+                    writer.writeValue(out, a);
+                    out.write('\n');
+                }
+            }
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw e;
+        }
+    }
+
+    private static void linhaCsv(StringBuilder sb, Admissao a) {
+        sb.append(valor(a.getId())).append(',')
+                .append(valor(a.getDataAdmissao())).append(',')
+                .append(a.getSalarioBruto() == null ? "" : a.getSalarioBruto().toPlainString()).append(',')
+                .append(a.getAnos()).append(',')
+                .append(a.getMeses()).append(',')
+                .append(a.getDias()).append(',')
+                .append(a.getPorcentagem35() == null ? "" : a.getPorcentagem35().toPlainString()).append(',')
+                .append(valor(a.getCriadoEm())).append('\n');
+    }
+
+    // os campos exportados são ids, datas e números: nenhum precisa de aspas no CSV
+    private static String valor(Object o) {
+        return o == null ? "" : o.toString();
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.dto.CalculoResponseDTO;
+import br.com.admissao.exception.ApiException;
+import br.com.admissao.model.RegistroIdempotencia;
+import br.com.admissao.repository.IdempotenciaStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key no POST /api/calculos.
+ *
+ * - Cada chave tem uma execução em memória (Caffeine, admissao.idempotencia.maximo-em-memoria / ttl):
+ *   requisições concorrentes com a mesma chave aguardam o resultado da primeira, e repetições
+ *   posteriores são respondidas da memória, sem Mongo nem ViaCEP
+ * - A primeira resposta também é gravada em admissoes_idempotencia (índice TTL), para repetições que
+ *   chegam depois de uma reinicialização, de uma remoção do cache ou em outra instância
+ * - A mesma chave com outro payload -> ApiException (422)
+ * - Uma execução que falha não fica registrada: a repetição calcula de novo
+ */
+@Service
+public class IdempotenciaService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotenciaService.class);
+    static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final IdempotenciaStore store;
+    private final Cache<String, Execucao> execucoes;
+    private final Counter repeticoes;
+
+    public IdempotenciaService(IdempotenciaStore store,
+                               MeterRegistry registry,
+                               @Value("${admissao.idempotencia.maximo-em-memoria:10000}") long maximoEmMemoria,
+                               @Value("${admissao.idempotencia.ttl:24h}") Duration ttl) {
+        this.store = store;
+        this.execucoes = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+                .maximumSize(maximoEmMemoria)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(), "idempotencia");
+        this.repeticoes = Counter.builder("admissao.idempotencia.repeticoes")
+                .description("POSTs respondidos com a resposta de uma requisição anterior com a mesma Idempotency-Key")
+                .register(registry);
+    }
+
+    /**
+     * @param calculo executado no máximo uma vez por chave (enquanto o registro existir)
+     */
+    public Mono<Resultado> executar(String chave, CalculoRequestDTO dto, Supplier<Mono<CalculoResponseDTO>> calculo) {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new ServerWebInputException("Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+        String impressao = impressao(dto);
+        return Mono.defer(() -> {
+            Execucao propria = new Execucao(impressao, new CompletableFuture<>());
+            Execucao existente = execucoes.asMap().putIfAbsent(chave, propria);
+            if (existente != null) {
+                if (!existente.impressao().equals(impressao)) {
+                    return Mono.error(conflito(chave));
+                }
+                repeticoes.increment();
+                return Mono.fromFuture(existente.resultado(), true).map(r -> new Resultado(r.resposta(), true));
+            }
+            // desacoplada da requisição: o cancelamento da primeira não afeta as que aguardam
+            primeiraExecucao(chave, impressao, calculo).subscribe(
+                    propria.resultado()::complete,
+                    e -> {
+                        execucoes.asMap().remove(chave, propria);
+                        propria.resultado().completeExceptionally(e);
+                    });
+            return Mono.fromFuture(propria.resultado(), true);
+        });
+    }
+
+    private Mono<Resultado> primeiraExecucao(String chave, String impressao, Supplier<Mono<CalculoResponseDTO>> calculo) {
+        return store.buscar(chave)
+                .flatMap(registro -> {
+                    if (!registro.getImpressao().equals(impressao)) {
+                        return Mono.<Resultado>error(conflito(chave));
+                    }
+                    repeticoes.increment();
+                    return Mono.just(new Resultado(registro.getResposta(), true));
+                })
+                .switchIfEmpty(Mono.defer(calculo)
+                        .flatMap(resposta -> registrar(chave, impressao, resposta)
+                                .thenReturn(new Resultado(resposta, false))));
+    }
+
+    // a admissão já foi gravada: uma falha aqui só é logada (a chave continua valendo na memória)
+    private Mono<Void> registrar(String chave, String impressao, CalculoResponseDTO resposta) {
+        return store.salvar(RegistroIdempotencia.builder()
+                        .chave(chave)
+                        .impressao(impressao)
+                        .resposta(resposta)
+                        .criadoEm(LocalDateTime.now())
+                        .build())
+                .onErrorResume(DuplicateKeyException.class, e -> {
+                    log.warn("Idempotency-Key {} registrada em paralelo por outra instância", chave);
+                    return Mono.empty();
+                })
+                .onErrorResume(e -> {
+                    log.error("Falha ao registrar a Idempotency-Key {}: {}", chave, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static ApiException conflito(String chave) {
+        return new ApiException("Idempotency-Key " + chave + " já utilizada com outro payload");
+    }
+
+    /**
+     * SHA-256 do payload normalizado (salário sem zeros à direita, CEP só com dígitos).
+     */
+    static String impressao(CalculoRequestDTO dto) {
+        String normalizado = dto.getDataAdmissao()
+                + "|" + dto.getSalarioBruto().stripTrailingZeros().toPlainString()
+                + "|" + ViaCepClient.normalizarCep(dto.getCep());
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(normalizado.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param repetida true quando a resposta veio de uma requisição anterior com a mesma chave
+     */
+    public record Resultado(CalculoResponseDTO resposta, boolean repetida) {
+    }
+
+    private record Execucao(String impressao, CompletableFuture<Resultado> resultado) {
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.ViaCepDTO;
+import br.com.admissao.util.CepIndexBuilder;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Índice de CEPs mapeado em memória (gerado por {@link CepIndexBuilder}).
+ * A busca binária lê as chaves diretamente do arquivo mapeado, sem alocação;
+ * apenas o registro encontrado é decodificado em ViaCepDTO.
+ * Somente leituras absolutas no buffer, portanto seguro para uso concorrente.
+ */
+public class LocalCepIndex implements CepResolver, Closeable {
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int offsetsStart;
+
+    private LocalCepIndex(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != CepIndexBuilder.MAGIC || buffer.getInt(4) != CepIndexBuilder.VERSION) {
+            throw new IOException("Arquivo não é um índice de CEP válido (versão " + CepIndexBuilder.VERSION + ")");
+        }
+        this.count = buffer.getInt(8);
+        this.offsetsStart = CepIndexBuilder.HEADER_SIZE + count * 4;
+    }
+
+    public static LocalCepIndex open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new LocalCepIndex(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Mono<ViaCepDTO> buscarPorCep(String cep) {
+        return Mono.fromCallable(() -> lookup(cep).orElse(null));
+    }
+
+    public Optional<ViaCepDTO> lookup(String cep) {
+        int key = CepIndexBuilder.parseCep(cep);
+        if (key < 0) {
+            return Optional.empty();
+        }
+        int pos = binarySearch(key);
+        return pos < 0 ? Optional.empty() : Optional.of(decode(key, buffer.getInt(offsetsStart + pos * 4)));
+    }
+
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ---------- helpers ----------
+
+    private int binarySearch(int key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midKey = buffer.getInt(CepIndexBuilder.HEADER_SIZE + mid * 4);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private ViaCepDTO decode(int key, int offset) {
+        String[] campos = new String[CepIndexBuilder.FIELD_COUNT];
+        int pos = offset;
+        for (int i = 0; i < campos.length; i++) {
+            int len = Short.toUnsignedInt(buffer.getShort(pos));
+            byte[] bytes = new byte[len];
+            buffer.get(pos + 2, bytes);
+            campos[i] = new String(bytes, StandardCharsets.UTF_8);
+            pos += 2 + len;
+        }
+        ViaCepDTO dto = new ViaCepDTO();
+        dto.setCep(formatCep(key));
+        dto.setLogradouro(campos[0]);
+        dto.setComplemento(campos[1]);
+        dto.setBairro(campos[2]);
+        dto.setLocalidade(campos[3]);
+        dto.setUf(campos[4]);
+        dto.setDdd(campos[5]);
+        dto.setIbge(campos[6]);
+        return dto;
+    }
+
+    // mesmo formato devolvido pelo ViaCEP: 12345-678
+    private static String formatCep(int key) {
+        char[] c = new char[9];
+        int v = key;
+        for (int i = 8; i >= 0; i--) {
+            if (i == 5) {
+                c[i] = '-';
+                continue;
+            }
+            c[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        return new String(c);
+    }
+}
@@ -1,30 +1,108 @@
 package br.com.admissao.service;
 
 import br.com.admissao.dto.ViaCepDTO;
-import io.github.resilience4j.retry.annotation.Retry;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
 @Component
-public class ViaCepClient {
+public class ViaCepClient implements CepResolver {
 
     private final WebClient webClient;
+    private final AsyncCache<String, Optional<ViaCepDTO>> cache;
+    private final ViaCepResiliencia resiliencia;
+
+    public ViaCepClient(WebClient webClient, AsyncCache<String, Optional<ViaCepDTO>> cache) {
+        this(webClient, cache, ViaCepResiliencia.semProtecao(Duration.ofSeconds(2)));
+    }
 
-    public ViaCepClient(WebClient webClient) {
+    @Autowired
+    public ViaCepClient(WebClient webClient, AsyncCache<String, Optional<ViaCepDTO>> cache,
+                        ViaCepResiliencia resiliencia) {
         this.webClient = webClient;
+        this.cache = cache;
+        this.resiliencia = resiliencia;
     }
 
-    // Retorna Mono e trata erros convertendo para sinal de empty ou erro customizado
-    @Retry(name = "viacepRetry")
+    /**
+     * Consulta o endereço passando pelo cache (ViaCepCacheConfig).
+     * Requisições concorrentes para o mesmo CEP compartilham a mesma chamada HTTP em andamento;
+     * o cancelamento de um assinante não cancela a chamada dos demais.
+     * Só cache misses chegam ao ViaCEP, sempre através do {@link ViaCepResiliencia}
+     * (retry, hedge, circuit breaker, bulkhead e rate limiter).
+     */
+    @Override
     public Mono<ViaCepDTO> buscarPorCep(String cep) {
-        String normalized = cep.replaceAll("\\D", "");
+        String normalized = normalizarCep(cep);
+        return Mono.fromFuture(() -> cache.get(normalized, (key, executor) -> resiliencia
+                                .executar(() -> consultar(key)
+                                        .map(Optional::of)
+                                        .defaultIfEmpty(Optional.empty()), ViaCepClient::transitorio)
+                                .toFuture()), true)
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    // opcional: fallback síncrono para ser usado pelo serviço imperativo
+    public Mono<ViaCepDTO> buscarPorCepComFallback(String cep, ViaCepDTO fallback) {
+        return buscarPorCep(cep).onErrorResume(e -> Mono.justOrEmpty(fallback));
+    }
+
+    /**
+     * Somente os dígitos do CEP. Sem regex: um CEP já normalizado é devolvido sem alocação.
+     */
+    public static String normalizarCep(String cep) {
+        int n = cep.length();
+        int i = 0;
+        while (i < n && digito(cep.charAt(i))) {
+            i++;
+        }
+        if (i == n) {
+            return cep;
+        }
+        StringBuilder digitos = new StringBuilder(n - 1).append(cep, 0, i);
+        for (i++; i < n; i++) {
+            char c = cep.charAt(i);
+            if (digito(c)) {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    private static boolean digito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // timeout, falha de conexão e 5xx justificam nova tentativa; 4xx não
+    static boolean transitorio(Throwable e) {
+        return e instanceof TimeoutException
+                || e instanceof WebClientRequestException
+                || e instanceof ViaCepIndisponivelException;
+    }
+
+    static class ViaCepIndisponivelException extends RuntimeException {
+        ViaCepIndisponivelException(String message) {
+            super(message);
+        }
+    }
+
+    // Retorna Mono e trata erros convertendo para sinal de empty ou erro customizado (o timeout fica no ViaCepResiliencia)
+    private Mono<ViaCepDTO> consultar(String normalized) {
         return webClient
                 .get()
                 .uri("/ws/{cep}/json/", normalized)
                 .retrieve()
-                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
+                .onStatus(status -> status.is4xxClientError(),
                         resp -> Mono.error(new RuntimeException("Erro ao consultar ViaCEP: " + resp.statusCode())))
+                .onStatus(status -> status.is5xxServerError(),
+                        resp -> Mono.error(new ViaCepIndisponivelException("Erro ao consultar ViaCEP: " + resp.statusCode())))
                 .bodyToMono(ViaCepDTO.class)
                 .flatMap(v -> {
                     // ViaCEP devolve um JSON com { "erro": true } quando não encontra
@@ -32,15 +110,6 @@ public class ViaCepClient {
                         return Mono.empty();
                     }
                     return Mono.just(v);
-                })
-                .timeout(java.time.Duration.ofSeconds(2)) // timeout defensivo
-                ;
-    }
-
-    // opcional: fallback síncrono para ser usado pelo serviço imperativo
-    public Mono<ViaCepDTO> buscarPorCepComFallback(String cep, ViaCepDTO fallback) {
-        return buscarPorCep(cep).onErrorResume(e -> Mono.justOrEmpty(fallback));
+                });
     }
 }
-
-
@@ -0,0 +1,206 @@
+package br.com.admissao.service;
+
+import br.com.admissao.exception.ApiException;
+import br.com.admissao.util.JanelaLatencia;
+import br.com.admissao.util.RetryBudget;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Camada de resiliência das chamadas ao ViaCEP, aplicada como operadores Reactor (sem anotações).
+ *
+ * Cada chamada HTTP passa, de fora para dentro, por circuit breaker, rate limiter (cota do ViaCEP)
+ * e bulkhead (chamadas simultâneas), com timeout por tentativa. Instâncias "viacep" configuradas em
+ * resilience4j.* no application.yaml.
+ *
+ * Sobre isso:
+ * - hedge: se a chamada não responder até o percentil observado (viacep.resiliencia.hedge.*),
+ *   uma segunda é disparada e vale a primeira resposta;
+ * - retry com backoff somente para erros transitórios, limitado pelo {@link RetryBudget}
+ *   (hedges consomem o mesmo orçamento).
+ */
+@Component
+public class ViaCepResiliencia {
+
+    private static final String NOME = "viacep";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final RateLimiter rateLimiter;
+    private final RetryBudget budget;
+    private final JanelaLatencia janela;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Duration backoff;
+    private final Counter hedges;
+    private final Counter retriesNegados;
+
+    @Autowired
+    public ViaCepResiliencia(CircuitBreakerRegistry circuitBreakers,
+                             BulkheadRegistry bulkheads,
+                             RateLimiterRegistry rateLimiters,
+                             MeterRegistry registry,
+                             @Value("${viacep.resiliencia.timeout:2s}") Duration timeout,
+                             @Value("${viacep.resiliencia.retry.max-tentativas:2}") int maxRetries,
+                             @Value("${viacep.resiliencia.retry.backoff:100ms}") Duration backoff,
+                             @Value("${viacep.resiliencia.retry.budget.proporcao:0.1}") double proporcao,
+                             @Value("${viacep.resiliencia.retry.budget.minimo-por-segundo:5}") double minimoPorSegundo,
+                             @Value("${viacep.resiliencia.hedge.enabled:true}") boolean hedge,
+                             @Value("${viacep.resiliencia.hedge.percentil:0.95}") double percentil,
+                             @Value("${viacep.resiliencia.hedge.atraso-inicial:300ms}") Duration atrasoInicial,
+                             @Value("${viacep.resiliencia.hedge.atraso-minimo:50ms}") Duration atrasoMinimo,
+                             @Value("${viacep.resiliencia.hedge.atraso-maximo:1s}") Duration atrasoMaximo) {
+        this(circuitBreakers.circuitBreaker(NOME),
+                bulkheads.bulkhead(NOME),
+                rateLimiters.rateLimiter(NOME),
+                new RetryBudget(proporcao, minimoPorSegundo),
+                hedge ? new JanelaLatencia(percentil, atrasoInicial, atrasoMinimo, atrasoMaximo) : null,
+                registry, timeout, maxRetries, backoff);
+    }
+
+    // proteções null são ignoradas; janela null desliga o hedge
+    ViaCepResiliencia(CircuitBreaker circuitBreaker, Bulkhead bulkhead, RateLimiter rateLimiter,
+                      RetryBudget budget, JanelaLatencia janela, MeterRegistry registry,
+                      Duration timeout, int maxRetries, Duration backoff) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.rateLimiter = rateLimiter;
+        this.budget = budget;
+        this.janela = janela;
+        this.timeout = timeout;
+        this.maxRetries = maxRetries;
+        this.backoff = backoff;
+        this.hedges = Counter.builder("viacep.hedges").description("Chamadas de hedge disparadas").register(registry);
+        this.retriesNegados = Counter.builder("viacep.retries.negados")
+                .description("Retries/hedges recusados pelo retry budget").register(registry);
+    }
+
+    /**
+     * Executa a chamada com toda a proteção.
+     *
+     * @param chamada    uma chamada HTTP; deve sempre emitir um valor (use Optional para "não encontrado")
+     * @param transitorio erros que justificam nova tentativa (timeout, conexão, 5xx)
+     */
+    public <T> Mono<T> executar(Supplier<Mono<T>> chamada, Predicate<Throwable> transitorio) {
+        // um depósito por chamada lógica: o retryWhen ressubscreve só o comHedge, então retries não pagam a si mesmos
+        return Mono.defer(() -> {
+                    budget.registrarRequisicao();
+                    return Mono.defer(() -> comHedge(chamada))
+                            // o orçamento só é consultado quando ainda há tentativas e o erro é transitório
+                            .retryWhen(Retry.from(sinais -> sinais.concatMap(sinal -> {
+                                long tentativa = sinal.totalRetries();
+                                if (tentativa >= maxRetries || !transitorio.test(sinal.failure())
+                                        || !permitirNovaTentativa()) {
+                                    return Mono.error(sinal.failure());
+                                }
+                                return Mono.delay(backoff.multipliedBy(1L << tentativa));
+                            })));
+                })
+                .onErrorMap(ViaCepResiliencia::traduzir);
+    }
+
+    /**
+     * Somente o timeout por chamada, sem retry, hedge ou limites. Usado quando o cliente é
+     * criado fora do contexto Spring (testes e benchmarks).
+     */
+    public static ViaCepResiliencia semProtecao(Duration timeout) {
+        return new ViaCepResiliencia(null, null, null, new RetryBudget(0, 0), null,
+                new SimpleMeterRegistry(), timeout, 0, Duration.ZERO);
+    }
+
+    // ---------- helpers ----------
+
+    // primeira resposta vence. Um erro da primária só é propagado (para o retry decidir) quando o hedge
+    // não chegou a ser disparado ou também terminou sem resposta; um hedge em andamento não é cancelado
+    private <T> Mono<T> comHedge(Supplier<Mono<T>> chamada) {
+        if (janela == null) {
+            return protegida(chamada);
+        }
+        AtomicReference<Throwable> erroPrimaria = new AtomicReference<>();
+        Sinks.One<Boolean> primariaFalhou = Sinks.one();
+        Mono<T> primaria = protegida(chamada).doOnError(e -> {
+            erroPrimaria.set(e);
+            primariaFalhou.tryEmitValue(true);
+        });
+        // se a primária falhar antes do atraso, o hedge termina vazio sem ser disparado
+        Mono<T> hedge = Mono.delay(janela.atual())
+                .takeUntilOther(primariaFalhou.asMono())
+                .flatMap(t -> {
+                    if (!permitirNovaTentativa()) {
+                        return Mono.<T>empty();
+                    }
+                    hedges.increment();
+                    return protegida(chamada);
+                });
+        return Mono.firstWithValue(primaria, hedge)
+                .onErrorMap(e -> erroPrimaria.get() != null ? erroPrimaria.get() : e);
+    }
+
+    private <T> Mono<T> protegida(Supplier<Mono<T>> chamada) {
+        Mono<T> mono = Mono.defer(() -> {
+            long inicio = System.nanoTime();
+            return chamada.get()
+                    .timeout(timeout)
+                    .doOnNext(v -> {
+                        if (janela != null) {
+                            janela.registrar(System.nanoTime() - inicio);
+                        }
+                    });
+        });
+        if (bulkhead != null) {
+            mono = mono.transformDeferred(BulkheadOperator.of(bulkhead));
+        }
+        if (rateLimiter != null) {
+            mono = mono.transformDeferred(RateLimiterOperator.of(rateLimiter));
+        }
+        if (circuitBreaker != null) {
+            mono = mono.transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        }
+        return mono;
+    }
+
+    private boolean permitirNovaTentativa() {
+        if (budget.tentarRetry()) {
+            return true;
+        }
+        retriesNegados.increment();
+        return false;
+    }
+
+    private static Throwable traduzir(Throwable e) {
+        if (e instanceof CallNotPermittedException) {
+            return new ApiException("ViaCEP indisponível no momento (circuito aberto); tente novamente em instantes", e);
+        }
+        if (e instanceof BulkheadFullException) {
+            return new ApiException("Limite de consultas simultâneas ao ViaCEP atingido; tente novamente", e);
+        }
+        if (e instanceof RequestNotPermitted) {
+            return new ApiException("Cota de consultas ao ViaCEP excedida; tente novamente", e);
+        }
+        return e;
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.admissao.util;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Gera o índice binário de CEPs lido pelo LocalCepIndex a partir de um dump CSV.
+ *
+ * CSV esperado (sem aspas escapadas, cabeçalho opcional):
+ *   cep;logradouro;complemento;bairro;localidade;uf;ddd;ibge
+ *
+ * Layout do índice (big-endian):
+ * - header: MAGIC (int), VERSION (int), quantidade (int)
+ * - chaves: quantidade x int, CEP numérico em ordem crescente (busca binária)
+ * - offsets: quantidade x int, posição absoluta do registro de cada chave
+ * - registros: 7 campos (logradouro .. ibge), cada um como short sem sinal (tamanho) + bytes UTF-8
+ *
+ * Uso em lote: java -cp app.jar br.com.admissao.util.CepIndexBuilder ceps.csv ceps.idx [;]
+ */
+public final class CepIndexBuilder {
+
+    public static final int MAGIC = 0x43455049; // "CEPI"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 12;
+    public static final int FIELD_COUNT = 7;
+
+    private CepIndexBuilder() {
+    }
+
+    /**
+     * @return quantidade de CEPs gravados no índice
+     */
+    public static int build(Path csv, Path index, char delimiter) throws IOException {
+        // TreeMap ordena pelas chaves e descarta duplicados (última linha vence)
+        Map<Integer, byte[][]> registros = new TreeMap<>();
+        // literal: com split(String) um delimitador como '|' ou '.' viraria regex
+        Pattern separador = Pattern.compile(Pattern.quote(String.valueOf(delimiter)));
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = separador.split(line, -1);
+                int key = parseCep(unquote(cols[0]));
+                if (key < 0) {
+                    continue; // cabeçalho ou linha inválida
+                }
+                byte[][] campos = new byte[FIELD_COUNT][];
+                for (int i = 0; i < FIELD_COUNT; i++) {
+                    String valor = i + 1 < cols.length ? unquote(cols[i + 1]) : "";
+                    campos[i] = valor.getBytes(StandardCharsets.UTF_8);
+                    if (campos[i].length > 0xFFFF) {
+                        throw new IOException("Campo excede 65535 bytes no CEP " + cols[0]);
+                    }
+                }
+                registros.put(key, campos);
+            }
+        }
+
+        Path tmp = Files.createTempFile(index.toAbsolutePath().getParent(), "cep", ".idx.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            int count = registros.size();
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(count);
+            for (Integer key : registros.keySet()) {
+                out.writeInt(key);
+            }
+            int offset = HEADER_SIZE + count * 8;
+            for (byte[][] campos : registros.values()) {
+                out.writeInt(offset);
+                for (byte[] campo : campos) {
+                    offset += 2 + campo.length;
+                }
+            }
+            for (byte[][] campos : registros.values()) {
+                for (byte[] campo : campos) {
+                    out.writeShort(campo.length);
+                    out.write(campo);
+                }
+            }
+        }
+        Files.move(tmp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return registros.size();
+    }
+
+    /**
+     * Converte um CEP ("12345-678" ou "12345678") em inteiro sem alocar; -1 se inválido.
+     */
+    public static int parseCep(CharSequence cep) {
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > 8) {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+            } else if (c != '-') {
+                return -1;
+            }
+        }
+        return digits == 8 ? value : -1;
+    }
+
+    private static String unquote(String value) {
+        String v = value.trim();
+        if (v.length() >= 2 && v.charAt(0) == '"' && v.charAt(v.length() - 1) == '"') {
+            return v.substring(1, v.length() - 1);
+        }
+        return v;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: CepIndexBuilder <csv> <indice> [delimitador]");
+            System.exit(1);
+        }
+        char delimiter = args.length > 2 ? args[2].charAt(0) : ';';
+        int count = build(Path.of(args[0]), Path.of(args[1]), delimiter);
+        System.out.println(count + " CEPs gravados em " + args[1]);
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.admissao.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latências das últimas {@link #TAMANHO} chamadas bem-sucedidas e o percentil observado,
+ * usado como atraso do hedge. O percentil é recalculado a cada {@link #RECALCULO} amostras
+ * e limitado a [minimo, maximo]; até haver amostras suficientes vale o atraso inicial.
+ */
+public class JanelaLatencia {
+
+    // potência de 2: o índice na janela é o total mascarado
+    static final int TAMANHO = 256;
+    static final int RECALCULO = 32;
+
+    private final AtomicLongArray amostras = new AtomicLongArray(TAMANHO);
+    private final AtomicLong total = new AtomicLong();
+    private final double percentil;
+    private final long minimo;
+    private final long maximo;
+    private volatile long atual;
+
+    public JanelaLatencia(double percentil, Duration inicial, Duration minimo, Duration maximo) {
+        this.percentil = percentil;
+        this.minimo = minimo.toNanos();
+        this.maximo = maximo.toNanos();
+        this.atual = inicial.toNanos();
+    }
+
+    public void registrar(long nanos) {
+        long n = total.getAndIncrement();
+        amostras.set((int) (n & (TAMANHO - 1)), nanos);
+        if ((n + 1) % RECALCULO == 0) {
+            recalcular((int) Math.min(n + 1, TAMANHO));
+        }
+    }
+
+    public Duration atual() {
+        return Duration.ofNanos(atual);
+    }
+
+    private void recalcular(int quantidade) {
+        long[] copia = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            copia[i] = amostras.get(i);
+        }
+        Arrays.sort(copia);
+        long valor = copia[(int) Math.ceil(percentil * quantidade) - 1];
+        atual = Math.max(minimo, Math.min(maximo, valor));
+    }
+}
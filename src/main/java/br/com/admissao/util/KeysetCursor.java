@@ -0,0 +1,102 @@
+package br.com.admissao.util;
+
+import br.com.admissao.model.Admissao;
+import lombok.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Token de continuação da paginação por cursor (keyset).
+ * Codifica o campo de ordenação, a direção, o valor do último item e o seu _id, em Base64 URL-safe.
+ * O conteúdo não faz parte do contrato da API: clientes devem tratá-lo como opaco.
+ */
+@Value
+public class KeysetCursor {
+
+    private static final String VERSAO = "v1";
+    private static final String SEP = "|";
+
+    String campo;
+    Sort.Direction direcao;
+    Object valor;
+    String id;
+
+    public static KeysetCursor of(Admissao ultimo, String campo, Sort.Direction direcao) {
+        return new KeysetCursor(campo, direcao, valorDe(ultimo, campo), ultimo.getId());
+    }
+
+    public String encode() {
+        String raw = String.join(SEP, VERSAO, campo, direcao.name(), valor.toString(), id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Critério "depois do cursor": (campo > v) OR (campo == v AND _id > id), invertendo os operadores para DESC.
+     * O limite campo >= v (ou <=) fora do $or deixa o IXSCAN com um único intervalo no índice {campo, _id}.
+     */
+    public Criteria criteria() {
+        boolean asc = direcao.isAscending();
+        Criteria estrito = asc ? Criteria.where(campo).gt(valor) : Criteria.where(campo).lt(valor);
+        Criteria desempate = new Criteria().andOperator(
+                Criteria.where(campo).is(valor),
+                asc ? Criteria.where("id").gt(id) : Criteria.where("id").lt(id));
+        Criteria limite = asc ? Criteria.where(campo).gte(valor) : Criteria.where(campo).lte(valor);
+        return limite.orOperator(estrito, desempate);
+    }
+
+    /**
+     * Decodifica e confere se o token foi gerado para a mesma ordenação da requisição atual.
+     *
+     * @throws ServerWebInputException token inválido ou de outra ordenação (400)
+     */
+    public static KeysetCursor decode(String token, String campoEsperado, Sort.Direction direcaoEsperada) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 5 || !VERSAO.equals(parts[0])) {
+                throw new IllegalArgumentException("formato");
+            }
+            String campo = parts[1];
+            Sort.Direction direcao = Sort.Direction.valueOf(parts[2]);
+            if (!campo.equals(campoEsperado) || direcao != direcaoEsperada) {
+                throw new ServerWebInputException("cursor não corresponde à ordenação solicitada ("
+                        + campoEsperado + "," + direcaoEsperada.name().toLowerCase() + ")");
+            }
+            return new KeysetCursor(campo, direcao, parseValor(campo, parts[3]), parts[4]);
+        } catch (ServerWebInputException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ServerWebInputException("cursor inválido");
+        }
+    }
+
+    // ---------- helpers ----------
+
+    private static Object valorDe(Admissao a, String campo) {
+        switch (campo) {
+            case "criadoEm":
+                return a.getCriadoEm();
+            case "salarioBruto":
+                return a.getSalarioBruto();
+            default:
+                throw new IllegalArgumentException("Campo sem suporte a cursor: " + campo);
+        }
+    }
+
+    private static Object parseValor(String campo, String valor) {
+        switch (campo) {
+            case "criadoEm":
+                return LocalDateTime.parse(valor);
+            case "salarioBruto":
+                return new BigDecimal(valor);
+            default:
+                throw new IllegalArgumentException("Campo sem suporte a cursor: " + campo);
+        }
+    }
+}
@@ -5,8 +5,23 @@ import java.time.Period;
 
 public class PeriodUtil {
     public static PeriodResult calcularPeriodo(LocalDate dataAdmissao) {
-        var hoje = LocalDate.now();
-        Period p = Period.between(dataAdmissao, hoje);
+        return calcularPeriodo(dataAdmissao, LocalDate.now());
+    }
+
+    /**
+     * Tempo de casa em uma data de referência (anos, meses e dias completos, como Period.between).
+     */
+    public static PeriodResult calcularPeriodo(LocalDate dataAdmissao, LocalDate referencia) {
+        Period p = Period.between(dataAdmissao, referencia);
         return new PeriodResult(p.getYears(), p.getMonths(), p.getDays());
     }
-}
\ No newline at end of file
+
+    /**
+     * Última data de admissão com pelo menos {@code anos} completos na referência:
+     * calcularPeriodo(d, referencia).getYears() >= anos se e somente se d <= admitidoAte(referencia, anos)
+     * (inclusive para admissões em 29/02).
+     */
+    public static LocalDate admitidoAte(LocalDate referencia, int anos) {
+        return referencia.minusYears(anos);
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.admissao.util;
+
+/**
+ * Orçamento de novas tentativas (retries e hedges) proporcional ao tráfego.
+ *
+ * Cada requisição original deposita {@code proporcao} fichas; cada nova tentativa consome uma.
+ * Além disso, {@code minimoPorSegundo} fichas são repostas por segundo, para que um tráfego
+ * baixo ainda possa fazer retries. O saldo é limitado, então uma indisponibilidade longa não
+ * transforma o saldo acumulado em uma rajada de retries.
+ */
+public class RetryBudget {
+
+    private final double proporcao;
+    private final double minimoPorSegundo;
+    private final double saldoMaximo;
+
+    private double saldo;
+    private long ultimaReposicao;
+
+    public RetryBudget(double proporcao, double minimoPorSegundo) {
+        this.proporcao = proporcao;
+        this.minimoPorSegundo = minimoPorSegundo;
+        this.saldoMaximo = Math.max(10, minimoPorSegundo);
+        this.saldo = minimoPorSegundo;
+        this.ultimaReposicao = System.nanoTime();
+    }
+
+    public synchronized void registrarRequisicao() {
+        saldo = Math.min(saldoMaximo, saldo + proporcao);
+    }
+
+    /**
+     * @return true se há saldo para mais uma tentativa (e a consome)
+     */
+    public synchronized boolean tentarRetry() {
+        long agora = System.nanoTime();
+        saldo = Math.min(saldoMaximo, saldo + (agora - ultimaReposicao) / 1e9 * minimoPorSegundo);
+        ultimaReposicao = agora;
+        if (saldo < 1) {
+            return false;
+        }
+        saldo -= 1;
+        return true;
+    }
+}
@@ -2,12 +2,48 @@ package br.com.admissao;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.netty.http.client.HttpClient;
 
-@SpringBootTest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"admissao.mongo.indices.criar=false", "server.compression.min-response-size=1KB"})
 class AdmissaoApplicationTests {
 
+	@LocalServerPort
+	private int porta;
+
 	@Test
 	void contextLoads() {
 	}
 
+	// server.compression: JSON acima de min-response-size sai comprimido; respostas pequenas não
+	// (limite reduzido a 1KB: sem Mongo, /actuator/metrics é o maior JSON disponível)
+	@Test
+	void respostasJson_comprimidasAcimaDoLimite() {
+		// o conector padrão descomprime e remove o Content-Encoding; aqui a resposta chega como o servidor enviou
+		WebTestClient client = WebTestClient
+				.bindToServer(new ReactorClientHttpConnector(HttpClient.create().compress(false)))
+				.baseUrl("http://localhost:" + porta)
+				.build();
+
+		client.get().uri("/actuator/metrics")
+				.accept(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+		client.post().uri("/api/calculos")
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{}")
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING);
+	}
+
 }
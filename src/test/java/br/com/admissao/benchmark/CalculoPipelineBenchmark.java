@@ -0,0 +1,94 @@
+package br.com.admissao.benchmark;
+
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.dto.CalculoResponseDTO;
+import br.com.admissao.dto.ViaCepDTO;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.repository.AdmissaoStore;
+import br.com.admissao.service.CalculoService;
+import br.com.admissao.service.CepResolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latência do POST /api/calculos com save e CEP em sequência (pipeline antigo) x em paralelo (Mono.zip).
+ * Mongo e ViaCEP são simulados com atrasos configuráveis:
+ *   -Dbenchmark.save-ms=30 -Dbenchmark.cep-ms=80
+ *
+ * Executar com:
+ *   mvn test -Dtest=CalculoPipelineBenchmark -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CalculoPipelineBenchmark {
+
+    private static final Duration SAVE = Duration.ofMillis(Long.getLong("benchmark.save-ms", 30));
+    private static final Duration CEP = Duration.ofMillis(Long.getLong("benchmark.cep-ms", 80));
+    private static final int REQUISICOES = 2_000;
+    private static final int CONCORRENCIA = 200;
+
+    @Test
+    void compararSequencialComParalelo() {
+        AdmissaoStore store = mock(AdmissaoStore.class);
+        when(store.save(any(Admissao.class)))
+                .thenAnswer(inv -> Mono.delay(SAVE).thenReturn(inv.<Admissao>getArgument(0)));
+        CepResolver cepResolver = mock(CepResolver.class);
+        ViaCepDTO endereco = new ViaCepDTO();
+        endereco.setCep("66050-080");
+        when(cepResolver.buscarPorCep(anyString())).thenAnswer(inv -> Mono.delay(CEP).thenReturn(endereco));
+
+        CalculoService service = new CalculoService(store, cepResolver);
+        CalculoRequestDTO dto = CalculoRequestDTO.builder()
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(BigDecimal.valueOf(3500))
+                .cep("66050080")
+                .build();
+
+        // pipeline anterior: save e só depois o CEP
+        Function<CalculoRequestDTO, Mono<CalculoResponseDTO>> sequencial = d ->
+                store.save(service.montarAdmissao(d)).flatMap(salvo ->
+                        cepResolver.buscarPorCep(d.getCep()).map(e -> service.toResponse(salvo, e)));
+        Function<CalculoRequestDTO, Mono<CalculoResponseDTO>> paralelo = service::calcularESalvarReactive;
+
+        // aquecimento
+        medir(sequencial, dto, 200);
+        medir(paralelo, dto, 200);
+
+        System.out.printf("save=%dms cep=%dms, %d requisições, concorrência %d%n",
+                SAVE.toMillis(), CEP.toMillis(), REQUISICOES, CONCORRENCIA);
+        System.out.printf("%-12s %10s %10s%n", "pipeline", "p50", "p99");
+        imprimir("sequencial", medir(sequencial, dto, REQUISICOES));
+        imprimir("paralelo", medir(paralelo, dto, REQUISICOES));
+    }
+
+    private long[] medir(Function<CalculoRequestDTO, Mono<CalculoResponseDTO>> pipeline, CalculoRequestDTO dto, int total) {
+        long[] latencias = Flux.range(0, total)
+                .flatMap(i -> Mono.defer(() -> {
+                    long inicio = System.nanoTime();
+                    return pipeline.apply(dto).map(r -> System.nanoTime() - inicio);
+                }), CONCORRENCIA)
+                .collectList()
+                .block()
+                .stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(latencias);
+        return latencias;
+    }
+
+    private void imprimir(String nome, long[] latencias) {
+        System.out.printf("%-12s %8.1fms %8.1fms%n", nome,
+                latencias[latencias.length / 2] / 1e6,
+                latencias[(int) (latencias.length * 0.99)] / 1e6);
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.admissao.benchmark;
+
+import br.com.admissao.model.Admissao;
+import br.com.admissao.repository.AdmissaoRepository;
+import br.com.admissao.repository.BlockingAdmissaoStore;
+import br.com.admissao.service.CalculoService;
+import br.com.admissao.util.KeysetCursor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Latência da página 1 x página 10.000 (size=20) nos dois modos de paginação:
+ * - offset: Page<Admissao> (skip + limit + count a cada requisição)
+ * - cursor: PaginaDTO (seek pelo índice {criadoEm, _id}, sem count)
+ *
+ * Requer Docker (Testcontainers, mongo:6.0). Executar com:
+ *   mvn test -Dtest=KeysetPaginationBenchmark -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class KeysetPaginationBenchmark {
+
+    private static final int SIZE = 20;
+    private static final int PAGINA_PROFUNDA = 10_000;
+    private static final int DOCUMENTOS = (PAGINA_PROFUNDA + 1) * SIZE;
+    private static final int REPETICOES = 25;
+
+    private static MongoDBContainer mongo;
+    private static MongoClient client;
+    private static MongoTemplate template;
+    private static AdmissaoRepository repository;
+    private static CalculoService service;
+
+    @BeforeAll
+    static void setUp() {
+        Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker indisponível");
+        mongo = new MongoDBContainer("mongo:6.0");
+        mongo.start();
+        client = MongoClients.create(mongo.getReplicaSetUrl("bench"));
+        template = new MongoTemplate(client, "bench");
+        repository = new MongoRepositoryFactory(template).getRepository(AdmissaoRepository.class);
+        service = new CalculoService(new BlockingAdmissaoStore(repository, template), null);
+
+        template.indexOps(Admissao.class).createIndex(new Index().on("criadoEm", Sort.Direction.DESC).on("_id", Sort.Direction.DESC));
+
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0);
+        List<Admissao> lote = new ArrayList<>(10_000);
+        for (int i = 0; i < DOCUMENTOS; i++) {
+            lote.add(Admissao.builder()
+                    .dataAdmissao(LocalDate.of(2015, 1, 1).plusDays(i % 3000))
+                    .salarioBruto(BigDecimal.valueOf(1500 + i % 20_000))
+                    .criadoEm(base.plusSeconds(i))
+                    .build());
+            if (lote.size() == 10_000) {
+                template.insertAll(lote);
+                lote.clear();
+            }
+        }
+        template.insertAll(lote);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        if (mongo != null) {
+            mongo.stop();
+        }
+    }
+
+    @Test
+    void compararPaginaInicialComPaginaProfunda() {
+        Sort sort = Sort.by("criadoEm").descending();
+
+        double offset1 = medianaMs(() -> repository.findAll(PageRequest.of(0, SIZE, sort)));
+        double offsetN = medianaMs(() -> repository.findAll(PageRequest.of(PAGINA_PROFUNDA, SIZE, sort)));
+
+        // cursor equivalente ao fim da página 9.999, obtido uma única vez fora da medição
+        Admissao ultimoAnterior = template.findOne(new Query()
+                .with(Sort.by(Sort.Direction.DESC, "criadoEm", "id"))
+                .skip((long) PAGINA_PROFUNDA * SIZE - 1), Admissao.class);
+        String token = KeysetCursor.of(ultimoAnterior, "criadoEm", Sort.Direction.DESC).encode();
+
+        double cursor1 = medianaMs(() -> service.listarPorCursor(Sort.Direction.DESC, null, SIZE).block());
+        double cursorN = medianaMs(() -> service.listarPorCursor(Sort.Direction.DESC, token, SIZE).block());
+
+        System.out.printf("%d documentos, size=%d, mediana de %d execuções%n", DOCUMENTOS, SIZE, REPETICOES);
+        System.out.printf("%-8s %12s %16s%n", "modo", "página 1", "página " + PAGINA_PROFUNDA);
+        System.out.printf("%-8s %10.2fms %14.2fms%n", "offset", offset1, offsetN);
+        System.out.printf("%-8s %10.2fms %14.2fms%n", "cursor", cursor1, cursorN);
+    }
+
+    private double medianaMs(Supplier<?> consulta) {
+        for (int i = 0; i < 5; i++) {
+            consulta.get(); // aquecimento
+        }
+        double[] tempos = new double[REPETICOES];
+        for (int i = 0; i < REPETICOES; i++) {
+            long inicio = System.nanoTime();
+            consulta.get();
+            tempos[i] = (System.nanoTime() - inicio) / 1e6;
+        }
+        Arrays.sort(tempos);
+        return tempos[REPETICOES / 2];
+    }
+}
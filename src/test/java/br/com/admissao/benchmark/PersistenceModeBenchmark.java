@@ -0,0 +1,99 @@
+package br.com.admissao.benchmark;
+
+import br.com.admissao.model.Admissao;
+import br.com.admissao.repository.AdmissaoReactiveRepository;
+import br.com.admissao.repository.AdmissaoRepository;
+import br.com.admissao.repository.AdmissaoStore;
+import br.com.admissao.repository.BlockingAdmissaoStore;
+import br.com.admissao.repository.ReactiveAdmissaoStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Comparação de throughput entre os modos de persistência (blocking x reactive).
+ * O Mongo é simulado com latência fixa por operação para isolar o custo de agendamento:
+ * no modo blocking cada operação ocupa uma thread do boundedElastic durante toda a latência;
+ * no modo reactive nenhuma thread fica presa.
+ *
+ * Executar com:
+ *   mvn test -Dtest=PersistenceModeBenchmark -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PersistenceModeBenchmark {
+
+    private static final Duration LATENCIA = Duration.ofMillis(20);
+    private static final int REQUISICOES = 5_000;
+    private static final int CONCORRENCIA = 1_000;
+
+    @Test
+    void compararThroughput() {
+        AdmissaoStore blocking = new BlockingAdmissaoStore(blockingRepository(), null);
+        AdmissaoStore reactive = new ReactiveAdmissaoStore(reactiveRepository(), null);
+        Pageable pageable = PageRequest.of(0, 20);
+
+        // aquecimento
+        medir(blocking, s -> s.save(admissao()), 500);
+        medir(reactive, s -> s.save(admissao()), 500);
+
+        System.out.printf("%-10s %-8s %12s%n", "modo", "op", "req/s");
+        System.out.printf("%-10s %-8s %12.0f%n", "blocking", "save", medir(blocking, s -> s.save(admissao()), REQUISICOES));
+        System.out.printf("%-10s %-8s %12.0f%n", "reactive", "save", medir(reactive, s -> s.save(admissao()), REQUISICOES));
+        System.out.printf("%-10s %-8s %12.0f%n", "blocking", "listar", medir(blocking, s -> s.findAll(pageable), REQUISICOES));
+        System.out.printf("%-10s %-8s %12.0f%n", "reactive", "listar", medir(reactive, s -> s.findAll(pageable), REQUISICOES));
+    }
+
+    private double medir(AdmissaoStore store, Function<AdmissaoStore, Mono<?>> op, int total) {
+        long inicio = System.nanoTime();
+        Flux.range(0, total)
+                .flatMap(i -> op.apply(store), CONCORRENCIA)
+                .blockLast();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        return total / segundos;
+    }
+
+    private AdmissaoRepository blockingRepository() {
+        AdmissaoRepository repository = mock(AdmissaoRepository.class);
+        when(repository.save(any(Admissao.class))).thenAnswer(inv -> {
+            Thread.sleep(LATENCIA.toMillis());
+            return inv.getArgument(0);
+        });
+        when(repository.findAll(any(Pageable.class))).thenAnswer(inv -> {
+            Thread.sleep(LATENCIA.toMillis());
+            return new PageImpl<>(List.of(admissao()), inv.getArgument(0), 1);
+        });
+        return repository;
+    }
+
+    private AdmissaoReactiveRepository reactiveRepository() {
+        AdmissaoReactiveRepository repository = mock(AdmissaoReactiveRepository.class);
+        when(repository.save(any(Admissao.class)))
+                .thenAnswer(inv -> Mono.delay(LATENCIA).thenReturn(inv.getArgument(0)));
+        when(repository.findAllBy(any(Pageable.class)))
+                .thenAnswer(inv -> Mono.delay(LATENCIA).thenMany(Flux.just(admissao())));
+        return repository;
+    }
+
+    private Admissao admissao() {
+        return Admissao.builder()
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(BigDecimal.valueOf(3500))
+                .criadoEm(LocalDateTime.now())
+                .build();
+    }
+}
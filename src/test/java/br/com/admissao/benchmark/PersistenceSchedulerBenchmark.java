@@ -0,0 +1,151 @@
+package br.com.admissao.benchmark;
+
+import br.com.admissao.config.PersistenceSchedulerConfig;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.repository.AdmissaoRepository;
+import br.com.admissao.repository.AdmissaoStore;
+import br.com.admissao.repository.BlockingAdmissaoStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Modo blocking com admissao.persistence.scheduler=bounded-elastic x virtual-threads em alta concorrência.
+ * O Mongo é simulado por um pool de conexões (semáforo, como o maxPoolSize do driver) e latência fixa por
+ * operação: no boundedElastic a concorrência é limitada pelas threads (10x núcleos), com as demais tarefas
+ * em fila; com virtual threads o limite é o pool. Mostra req/s, p50/p99 e rejeições.
+ *   -Dbenchmark.latencia-ms=20 -Dbenchmark.pool=100 -Dbenchmark.concorrencia=5000
+ *
+ * Executar com (virtual threads requerem JDK 21; em JDK anterior só o boundedElastic é medido):
+ *   mvn -Pjava21 test -Dtest=PersistenceSchedulerBenchmark -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PersistenceSchedulerBenchmark {
+
+    private static final Duration LATENCIA = Duration.ofMillis(Long.getLong("benchmark.latencia-ms", 20));
+    private static final int POOL = Integer.getInteger("benchmark.pool", 100);
+    private static final int CONCORRENCIA = Integer.getInteger("benchmark.concorrencia", 5_000);
+    private static final int REQUISICOES = 50_000;
+
+    private final Semaphore conexoes = new Semaphore(POOL);
+
+    @Test
+    void compararSchedulers() {
+        Pageable pageable = PageRequest.of(0, 20);
+        AdmissaoRepository repository = repository();
+        AdmissaoStore boundedElastic = new BlockingAdmissaoStore(repository, null, Schedulers.boundedElastic());
+        Scheduler virtual = PersistenceSchedulerConfig.virtualThreadsDisponiveis()
+                ? PersistenceSchedulerConfig.virtualThreads() : null;
+        AdmissaoStore virtualThreads = virtual == null ? null : new BlockingAdmissaoStore(repository, null, virtual);
+
+        try {
+            // aquecimento
+            medir(boundedElastic, s -> s.save(admissao()), 5_000);
+            if (virtualThreads != null) {
+                medir(virtualThreads, s -> s.save(admissao()), 5_000);
+            }
+
+            System.out.printf("latência %dms, pool %d, concorrência %d, %d requisições, %d núcleos%n",
+                    LATENCIA.toMillis(), POOL, CONCORRENCIA, REQUISICOES, Runtime.getRuntime().availableProcessors());
+            System.out.printf("%-16s %-8s %10s %10s %10s %10s%n", "scheduler", "op", "req/s", "p50", "p99", "rejeições");
+            imprimir("boundedElastic", "save", medir(boundedElastic, s -> s.save(admissao()), REQUISICOES));
+            imprimir("boundedElastic", "listar", medir(boundedElastic, s -> s.findAll(pageable), REQUISICOES));
+            if (virtualThreads == null) {
+                System.out.println("virtual threads indisponíveis na JVM " + Runtime.version() + " (requer 21+)");
+                return;
+            }
+            imprimir("virtualThreads", "save", medir(virtualThreads, s -> s.save(admissao()), REQUISICOES));
+            imprimir("virtualThreads", "listar", medir(virtualThreads, s -> s.findAll(pageable), REQUISICOES));
+        } finally {
+            if (virtual != null) {
+                virtual.dispose();
+            }
+        }
+    }
+
+    private static void imprimir(String scheduler, String op, Resultado r) {
+        System.out.printf("%-16s %-8s %10.0f %8.1fms %8.1fms %10d%n", scheduler, op, r.throughput,
+                percentil(r.latencias, 0.50), percentil(r.latencias, 0.99), r.rejeicoes);
+    }
+
+    private Resultado medir(AdmissaoStore store, Function<AdmissaoStore, Mono<?>> op, int total) {
+        AtomicLong rejeicoes = new AtomicLong();
+        long inicio = System.nanoTime();
+        long[] latencias = Flux.range(0, total)
+                .flatMap(i -> Mono.defer(() -> {
+                    long t0 = System.nanoTime();
+                    return op.apply(store)
+                            .map(r -> System.nanoTime() - t0)
+                            .onErrorResume(e -> {
+                                rejeicoes.incrementAndGet();
+                                return Mono.empty();
+                            });
+                }), CONCORRENCIA)
+                .collectList()
+                .map(l -> l.stream().mapToLong(Long::longValue).sorted().toArray())
+                .block();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        return new Resultado(total / segundos, latencias, rejeicoes.get());
+    }
+
+    private static double percentil(long[] ordenado, double p) {
+        if (ordenado.length == 0) {
+            return Double.NaN;
+        }
+        return ordenado[(int) Math.ceil(p * ordenado.length) - 1] / 1_000_000.0;
+    }
+
+    // stubOnly: sem registrar as invocações (milhares de threads concorrentes)
+    private AdmissaoRepository repository() {
+        AdmissaoRepository repository = mock(AdmissaoRepository.class, withSettings().stubOnly());
+        when(repository.save(any(Admissao.class))).thenAnswer(inv -> {
+            consultarMongo();
+            return inv.getArgument(0);
+        });
+        when(repository.findAll(any(Pageable.class))).thenAnswer(inv -> {
+            consultarMongo();
+            return new PageImpl<>(List.of(admissao()), inv.getArgument(0), 1);
+        });
+        return repository;
+    }
+
+    private void consultarMongo() throws InterruptedException {
+        conexoes.acquire();
+        try {
+            Thread.sleep(LATENCIA.toMillis());
+        } finally {
+            conexoes.release();
+        }
+    }
+
+    private static Admissao admissao() {
+        return Admissao.builder()
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(BigDecimal.valueOf(3500))
+                .criadoEm(LocalDateTime.now())
+                .build();
+    }
+
+    private record Resultado(double throughput, long[] latencias, long rejeicoes) {
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.admissao.benchmark;
+
+import br.com.admissao.config.WebClientConfig;
+import br.com.admissao.dto.ViaCepDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga contra um ViaCEP simulado local (HttpServer do reactor-netty) comparando o transporte:
+ * - sem pool: uma conexão TCP por requisição
+ * - padrão: WebClient.create(), pool global do reactor-netty
+ * - ajustado: o WebClient de WebClientConfig (pool viacep, timeouts, DNS em cache)
+ *
+ * Mostra conexões abertas no servidor (churn), erros e p50/p99/p99.9. O servidor fecha conexões
+ * ociosas após -Dbenchmark.idle-ms (padrão 1000); a carga vem em rajadas separadas por pausas
+ * maiores que isso, como no tráfego real.
+ *   -Dbenchmark.latencia-ms=5 -Dbenchmark.concorrencia=200
+ *
+ * Executar com:
+ *   mvn test -Dtest=ViaCepTransporteBenchmark -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ViaCepTransporteBenchmark {
+
+    private static final String RESPOSTA = "{\"cep\":\"66050-080\",\"logradouro\":\"Travessa Quintino Bocaiúva\","
+            + "\"bairro\":\"Nazaré\",\"localidade\":\"Belém\",\"uf\":\"PA\",\"ibge\":\"1501402\",\"ddd\":\"91\"}";
+    private static final Duration LATENCIA = Duration.ofMillis(Long.getLong("benchmark.latencia-ms", 5));
+    private static final Duration OCIOSO = Duration.ofMillis(Long.getLong("benchmark.idle-ms", 1000));
+    private static final int CONCORRENCIA = Integer.getInteger("benchmark.concorrencia", 200);
+    private static final int RAJADAS = 4;
+    private static final int POR_RAJADA = 5_000;
+
+    private final AtomicInteger conexoes = new AtomicInteger();
+
+    @Test
+    void compararTransportes() {
+        DisposableServer servidor = HttpServer.create()
+                .port(0)
+                .idleTimeout(OCIOSO)
+                // uma vez por conexão TCP (doOnConnection é chamado a cada requisição HTTP/1.1)
+                .doOnChannelInit((observer, canal, endereco) -> conexoes.incrementAndGet())
+                .handle((req, res) -> res.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.delay(LATENCIA).thenReturn(RESPOSTA), StandardCharsets.UTF_8))
+                .bindNow();
+        String baseUrl = "http://localhost:" + servidor.port();
+
+        try (AnnotationConfigApplicationContext contexto = new AnnotationConfigApplicationContext()) {
+            contexto.getEnvironment().getPropertySources()
+                    .addFirst(new MapPropertySource("benchmark", Map.of("viacep.base-url", baseUrl)));
+            // conversões do Spring Boot ("500ms", "16KB") para os @Value de WebClientConfig
+            contexto.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+            contexto.registerBean(WebClient.Builder.class, WebClient::builder);
+            contexto.register(WebClientConfig.class);
+            contexto.refresh();
+
+            WebClient semPool = WebClient.builder().baseUrl(baseUrl)
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.newConnection())).build();
+            WebClient padrao = WebClient.create(baseUrl);
+            WebClient ajustado = contexto.getBean("viaCepWebClient", WebClient.class);
+
+            // aquecimento (JIT e resolução de nomes)
+            for (WebClient c : Arrays.asList(semPool, padrao, ajustado)) {
+                carga(c, 1, 1_000);
+            }
+
+            System.out.printf("latência do servidor %dms, ociosidade %dms, concorrência %d, %d rajadas de %d%n",
+                    LATENCIA.toMillis(), OCIOSO.toMillis(), CONCORRENCIA, RAJADAS, POR_RAJADA);
+            System.out.printf("%-10s %10s %8s %10s %10s %10s%n", "transporte", "conexões", "erros", "p50", "p99", "p99.9");
+            imprimir("sem pool", semPool);
+            imprimir("padrão", padrao);
+            imprimir("ajustado", ajustado);
+        } finally {
+            servidor.disposeNow();
+        }
+    }
+
+    private void imprimir(String nome, WebClient client) {
+        conexoes.set(0);
+        Resultado r = carga(client, RAJADAS, POR_RAJADA);
+        System.out.printf("%-10s %10d %8d %9.2fms %9.2fms %9.2fms%n", nome, conexoes.get(), r.erros,
+                percentil(r.latencias, 0.50), percentil(r.latencias, 0.99), percentil(r.latencias, 0.999));
+    }
+
+    private Resultado carga(WebClient client, int rajadas, int porRajada) {
+        AtomicLong erros = new AtomicLong();
+        long[] latencias = Flux.range(0, rajadas)
+                .concatMap(rajada -> Flux.range(0, porRajada)
+                        .flatMap(i -> Mono.defer(() -> {
+                            long inicio = System.nanoTime();
+                            return client.get().uri("/ws/{cep}/json/", "66050080")
+                                    .retrieve()
+                                    .bodyToMono(ViaCepDTO.class)
+                                    .map(v -> System.nanoTime() - inicio)
+                                    .onErrorResume(e -> {
+                                        erros.incrementAndGet();
+                                        return Mono.empty();
+                                    });
+                        }), CONCORRENCIA)
+                        // pausa maior que a ociosidade do servidor: as conexões do pool são fechadas por ele
+                        .concatWith(Mono.delay(OCIOSO.multipliedBy(2)).then(Mono.empty())))
+                .filter(Objects::nonNull)
+                .collectList()
+                .map(l -> l.stream().mapToLong(Long::longValue).sorted().toArray())
+                .block();
+        return new Resultado(latencias, erros.get());
+    }
+
+    private static double percentil(long[] ordenado, double p) {
+        if (ordenado.length == 0) {
+            return Double.NaN;
+        }
+        return ordenado[(int) Math.ceil(p * ordenado.length) - 1] / 1_000_000.0;
+    }
+
+    private record Resultado(long[] latencias, long erros) {
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.admissao.config;
+
+import br.com.admissao.dto.EstatisticaMensalDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodecConfigTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CodecConfig.CborEncoder encoder = new CodecConfig.CborEncoder(objectMapper.copyWith(new CBORFactory()));
+    private final CBORMapper cbor = new CBORMapper();
+
+    @Test
+    void cborEncoder_fluxViraArray_monoViraValor() throws Exception {
+        EstatisticaMensalDTO jan = EstatisticaMensalDTO.builder().mes("2024-01").quantidade(3).build();
+        EstatisticaMensalDTO fev = EstatisticaMensalDTO.builder().mes("2024-02").quantidade(5).build();
+        ResolvableType tipo = ResolvableType.forClass(EstatisticaMensalDTO.class);
+
+        List<Map<String, Object>> lista = cbor.readValue(
+                bytes(encoder.encode(Flux.just(jan, fev), DefaultDataBufferFactory.sharedInstance, tipo,
+                        MediaType.APPLICATION_CBOR, Map.of())),
+                new TypeReference<>() { });
+        Map<String, Object> valor = cbor.readValue(
+                bytes(encoder.encode(Mono.just(jan), DefaultDataBufferFactory.sharedInstance, tipo,
+                        MediaType.APPLICATION_CBOR, Map.of())),
+                new TypeReference<>() { });
+
+        assertThat(lista).extracting(m -> m.get("mes")).containsExactly("2024-01", "2024-02");
+        assertThat(valor).containsEntry("mes", "2024-01").containsEntry("quantidade", 3);
+    }
+
+    @Test
+    void cborEncoder_soAtendeApplicationCbor() {
+        ResolvableType tipo = ResolvableType.forClass(BigDecimal.class);
+        assertThat(encoder.canEncode(tipo, MediaType.APPLICATION_CBOR)).isTrue();
+        assertThat(encoder.canEncode(tipo, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    @Test
+    void configureHttpMessageCodecs_registraCborSemDuplicarJson() {
+        ServerCodecConfigurer servidor = ServerCodecConfigurer.create();
+        new CodecConfig(objectMapper).configureHttpMessageCodecs(servidor);
+
+        List<HttpMessageWriter<?>> writers = servidor.getWriters();
+        assertThat(writers).filteredOn(w -> w.getWritableMediaTypes().contains(MediaType.APPLICATION_JSON)).hasSize(1);
+        assertThat(writers).filteredOn(w -> w.getWritableMediaTypes().contains(MediaType.APPLICATION_CBOR)).hasSize(1);
+        assertThat(writers).filteredOn(w -> w.getWritableMediaTypes().contains(CodecConfig.APPLICATION_SMILE)).hasSize(1);
+        assertThat(servidor.getReaders()).filteredOn(r -> r.getReadableMediaTypes().contains(MediaType.APPLICATION_CBOR))
+                .hasSize(1);
+    }
+
+    @Test
+    void jsonPorPadrao_soQuandoAcceptNaoRestringe() {
+        CodecConfig.JsonPorPadrao resolver = new CodecConfig.JsonPorPadrao();
+
+        assertThat(resolver.resolveMediaTypes(exchange(null)))
+                .containsExactly(MediaType.APPLICATION_JSON, MediaType.ALL);
+        assertThat(resolver.resolveMediaTypes(exchange("*/*")))
+                .containsExactly(MediaType.APPLICATION_JSON, MediaType.ALL);
+        assertThat(resolver.resolveMediaTypes(exchange("application/cbor")))
+                .containsExactly(MediaType.APPLICATION_CBOR);
+    }
+
+    private static MockServerWebExchange exchange(String accept) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/calculos");
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    private static byte[] bytes(Flux<DataBuffer> buffers) {
+        DataBuffer junto = DataBufferUtils.join(buffers).block();
+        byte[] bytes = new byte[junto.readableByteCount()];
+        junto.read(bytes);
+        DataBufferUtils.release(junto);
+        return bytes;
+    }
+}
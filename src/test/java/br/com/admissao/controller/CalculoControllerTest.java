@@ -1,23 +1,32 @@
 package br.com.admissao.controller;
 
+import br.com.admissao.dto.AdmissaoResumoDTO;
 import br.com.admissao.dto.CalculoRequestDTO;
 import br.com.admissao.dto.CalculoResponseDTO;
+import br.com.admissao.dto.PaginaDTO;
 import br.com.admissao.dto.ViaCepDTO;
 import br.com.admissao.model.Admissao;
+import br.com.admissao.dto.EstatisticaMensalDTO;
+import br.com.admissao.service.CalculoRequestValidacao;
 import br.com.admissao.service.CalculoService;
+import br.com.admissao.service.EstatisticasService;
+import br.com.admissao.service.IdempotenciaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.springframework.data.domain.*;
 import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,6 +38,15 @@ class CalculoControllerTest {
     @Mock
     private CalculoService service;
 
+    @Mock
+    private EstatisticasService estatisticasService;
+
+    @Mock
+    private IdempotenciaService idempotenciaService;
+
+    @Mock
+    private CalculoRequestValidacao validacao;
+
     @InjectMocks
     private CalculoController controller;
 
@@ -72,7 +90,7 @@ class CalculoControllerTest {
         when(service.calcularESalvarReactive(any(CalculoRequestDTO.class))).thenReturn(Mono.just(responseDto));
 
         // act
-        Mono<ResponseEntity<CalculoResponseDTO>> responseMono = controller.calcular(request);
+        Mono<ResponseEntity<CalculoResponseDTO>> responseMono = controller.calcular(request, null);
 
         // assert
         StepVerifier.create(responseMono)
@@ -93,7 +111,7 @@ class CalculoControllerTest {
                 .thenReturn(Mono.error(new RuntimeException("boom")));
 
         // act
-        Mono<ResponseEntity<CalculoResponseDTO>> responseMono = controller.calcular(request);
+        Mono<ResponseEntity<CalculoResponseDTO>> responseMono = controller.calcular(request, null);
 
         // assert: espera erro no Mono
         StepVerifier.create(responseMono)
@@ -103,6 +121,21 @@ class CalculoControllerTest {
         verify(service, times(1)).calcularESalvarReactive(any(CalculoRequestDTO.class));
     }
 
+    @Test
+    void calcular_withIdempotencyKeyReplay_shouldFlagResponse() {
+        when(idempotenciaService.executar(eq("chave-1"), eq(request), any()))
+                .thenReturn(Mono.just(new IdempotenciaService.Resultado(responseDto, true)));
+
+        StepVerifier.create(controller.calcular(request, "chave-1"))
+                .assertNext(responseEntity -> {
+                    assertThat(responseEntity.getStatusCode().value()).isEqualTo(201);
+                    assertThat(responseEntity.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+                    assertThat(responseEntity.getBody()).isSameAs(responseDto);
+                })
+                .verifyComplete();
+        verifyNoInteractions(service);
+    }
+
     // ---------------- GET ----------------
     @Test
     void listar_shouldReturnPagedResult_withDefaults() {
@@ -114,18 +147,21 @@ class CalculoControllerTest {
                 p.getPageNumber() == 0 &&
                         p.getPageSize() == 20 &&
                         p.getSort().equals(Sort.by("criadoEm").descending())
-        ))).thenReturn(page);
+        ))).thenReturn(Mono.just(page));
 
         // act
-        ResponseEntity<Page<Admissao>> resp = controller.listar(0, 20, null);
+        Mono<ResponseEntity<Page<Admissao>>> respMono = controller.listar(0, 20, null);
 
         // assert
-        assertThat(resp).isNotNull();
-        assertThat(resp.getStatusCodeValue()).isEqualTo(200);
-        Page<Admissao> body = resp.getBody();
-        assertThat(body).isNotNull();
-        assertThat(body.getTotalElements()).isEqualTo(2);
-        assertThat(body.getContent()).containsExactly(a1, a2);
+        StepVerifier.create(respMono)
+                .assertNext(resp -> {
+                    assertThat(resp.getStatusCodeValue()).isEqualTo(200);
+                    Page<Admissao> body = resp.getBody();
+                    assertThat(body).isNotNull();
+                    assertThat(body.getTotalElements()).isEqualTo(2);
+                    assertThat(body.getContent()).containsExactly(a1, a2);
+                })
+                .verifyComplete();
 
         verify(service, times(1)).listar(any(Pageable.class));
     }
@@ -140,16 +176,20 @@ class CalculoControllerTest {
 
         when(service.filtrarPorData(eq(inicio), eq(fim), argThat(p ->
                 p.getPageNumber() == 1 && p.getPageSize() == 5 && p.getSort().equals(Sort.by("criadoEm").descending())
-        ))).thenReturn(page);
+        ))).thenReturn(Mono.just(page));
 
         // act
-        ResponseEntity<Page<Admissao>> resp = controller.filtrarPorData(inicio, fim, 1, 5, null);
+        Mono<ResponseEntity<Page<Admissao>>> respMono = controller.filtrarPorData(inicio, fim, 1, 5, null);
 
         // assert
-        assertThat(resp.getStatusCodeValue()).isEqualTo(200);
-        assertThat(resp.getBody()).isNotNull();
-        assertThat(resp.getBody().getContent()).hasSize(1);
-        assertThat(resp.getBody().getContent().get(0).getId()).isEqualTo("id-1");
+        StepVerifier.create(respMono)
+                .assertNext(resp -> {
+                    assertThat(resp.getStatusCodeValue()).isEqualTo(200);
+                    assertThat(resp.getBody()).isNotNull();
+                    assertThat(resp.getBody().getContent()).hasSize(1);
+                    assertThat(resp.getBody().getContent().get(0).getId()).isEqualTo("id-1");
+                })
+                .verifyComplete();
 
         verify(service, times(1)).filtrarPorData(eq(inicio), eq(fim), any(Pageable.class));
     }
@@ -162,19 +202,75 @@ class CalculoControllerTest {
         Page<Admissao> page = new PageImpl<>(List.of(a2), expected, 1);
 
         when(service.filtrarPorSalario(eq(min), argThat(p -> p.getSort().equals(Sort.by("salarioBruto").ascending()))))
-                .thenReturn(page);
+                .thenReturn(Mono.just(page));
 
         // act: pass sort param "salarioBruto,asc" and size 10
-        ResponseEntity<Page<Admissao>> resp = controller.filtrarPorSalario(min, 0, 10, "salarioBruto,asc");
+        Mono<ResponseEntity<Page<Admissao>>> respMono = controller.filtrarPorSalario(min, 0, 10, "salarioBruto,asc");
 
         // assert
-        assertThat(resp.getStatusCodeValue()).isEqualTo(200);
-        assertThat(resp.getBody()).isNotNull();
-        assertThat(resp.getBody().getContent().get(0).getId()).isEqualTo("id-2");
+        StepVerifier.create(respMono)
+                .assertNext(resp -> {
+                    assertThat(resp.getStatusCodeValue()).isEqualTo(200);
+                    assertThat(resp.getBody()).isNotNull();
+                    assertThat(resp.getBody().getContent().get(0).getId()).isEqualTo("id-2");
+                })
+                .verifyComplete();
 
         verify(service, times(1)).filtrarPorSalario(eq(min), any(Pageable.class));
     }
 
+    @Test
+    void filtrarPorData_withSortOutsideIndexes_shouldBeBadRequest() {
+        org.assertj.core.api.Assertions.assertThatThrownBy(() ->
+                        controller.filtrarPorData(LocalDate.of(2022, 1, 1), LocalDate.of(2023, 1, 1), 0, 20, "dias,asc"))
+                .isInstanceOf(org.springframework.web.server.ServerWebInputException.class)
+                .hasMessageContaining("Ordenação não suportada: dias");
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void listarPorCursor_shouldUseCriadoEmDirection_andReturnSlice() {
+        PaginaDTO<Admissao> pagina = PaginaDTO.<Admissao>builder()
+                .items(List.of(a1)).size(1).hasNext(true).nextCursor("abc").build();
+        when(service.listarPorCursor(Sort.Direction.ASC, null, 1)).thenReturn(Mono.just(pagina));
+
+        StepVerifier.create(controller.listarPorCursor(null, 1, "criadoEm,asc"))
+                .assertNext(resp -> {
+                    assertThat(resp.getStatusCodeValue()).isEqualTo(200);
+                    assertThat(resp.getBody().getNextCursor()).isEqualTo("abc");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void filtrarPorSalarioPorCursor_withForeignSortField_shouldBeBadRequest() {
+        org.assertj.core.api.Assertions.assertThatThrownBy(() ->
+                        controller.filtrarPorSalarioPorCursor(BigDecimal.TEN, null, 10, "criadoEm,desc"))
+                .isInstanceOf(org.springframework.web.server.ServerWebInputException.class);
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void exportar_withUnknownFormat_shouldBeBadRequest() {
+        org.assertj.core.api.Assertions.assertThatThrownBy(() ->
+                        controller.exportar("xlsx", null, null, null, null))
+                .isInstanceOf(org.springframework.web.server.ServerWebInputException.class);
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void estatisticas_shouldDelegateMonthRangeToService() {
+        YearMonth inicio = YearMonth.of(2024, 1);
+        YearMonth fim = YearMonth.of(2024, 6);
+        when(estatisticasService.consultar(inicio, fim))
+                .thenReturn(Flux.just(EstatisticaMensalDTO.builder().mes("2024-03").quantidade(4).build()));
+
+        StepVerifier.create(controller.estatisticas(inicio, fim))
+                .assertNext(dto -> assertThat(dto.getQuantidade()).isEqualTo(4))
+                .verifyComplete();
+        verifyNoInteractions(service);
+    }
+
     // ---------- helpers ----------
     private Admissao buildAdmissao(String id, LocalDate dataAdmissao, BigDecimal salario) {
         return Admissao.builder()
@@ -188,4 +284,31 @@ class CalculoControllerTest {
                 .criadoEm(LocalDateTime.now())
                 .build();
     }
+
+    @Test
+    void listarResumo_shouldParseFields_andPassTotalFlag() {
+        PaginaDTO<AdmissaoResumoDTO> pagina = PaginaDTO.<AdmissaoResumoDTO>builder()
+                .items(List.of()).size(20).hasNext(false).total(0L).build();
+        when(service.listarResumo(Set.of("id", "salarioBruto"), PageRequest.of(0, 20, Sort.by("criadoEm").descending()), true))
+                .thenReturn(Mono.just(pagina));
+
+        StepVerifier.create(controller.listarResumo(" id, salarioBruto,", null, null, 0, 20, null, true))
+                .assertNext(resp -> assertThat(resp.getBody()).isSameAs(pagina))
+                .verifyComplete();
+    }
+
+    @Test
+    void listarResumo_withUnknownField_orTotalOnCursor_shouldBeBadRequest() {
+        org.assertj.core.api.Assertions.assertThatThrownBy(() ->
+                        controller.listarResumo("id,cep", null, null, 0, 20, null, false))
+                .isInstanceOf(org.springframework.web.server.ServerWebInputException.class)
+                .hasMessageContaining("Campo não suportado em fields: cep");
+        org.assertj.core.api.Assertions.assertThatThrownBy(() ->
+                        controller.listarResumo(",", null, null, 0, 20, null, false))
+                .isInstanceOf(org.springframework.web.server.ServerWebInputException.class);
+        org.assertj.core.api.Assertions.assertThatThrownBy(() ->
+                        controller.listarResumo("id", "cursor", null, 0, 20, null, true))
+                .isInstanceOf(org.springframework.web.server.ServerWebInputException.class);
+        verifyNoInteractions(service);
+    }
 }
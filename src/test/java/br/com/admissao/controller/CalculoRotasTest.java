@@ -0,0 +1,325 @@
+package br.com.admissao.controller;
+
+import br.com.admissao.config.CodecConfig;
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.dto.CalculoResponseDTO;
+import br.com.admissao.dto.AdmissaoResumoDTO;
+import br.com.admissao.dto.PaginaDTO;
+import br.com.admissao.exception.ApiException;
+import br.com.admissao.exception.GlobalExceptionHandler;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.service.AdmissaoStreamService;
+import br.com.admissao.service.CalculoLoteService;
+import br.com.admissao.service.CalculoRequestValidacao;
+import br.com.admissao.service.CalculoService;
+import br.com.admissao.service.EstatisticasService;
+import br.com.admissao.service.ExportService;
+import br.com.admissao.service.IdempotenciaService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mesmas requisições contra o CalculoController (com o proxy do @Validated) e contra as rotas funcionais
+ * (admissao.web.rotas=funcionais): status, headers relevantes e corpos, inclusive de erro e nos formatos
+ * binários (CodecConfig), devem ser iguais.
+ */
+class CalculoRotasTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private CalculoService service;
+    private IdempotenciaService idempotenciaService;
+    private LocalValidatorFactoryBean validator;
+
+    private AnnotationConfigApplicationContext anotado;
+    private AnnotationConfigApplicationContext funcional;
+    private WebTestClient clientAnotado;
+    private WebTestClient clientFuncional;
+
+    private CalculoResponseDTO resposta;
+    private PageImpl<Admissao> pagina;
+
+    @EnableWebFlux
+    static class WebConfig {
+    }
+
+    private final Map<MediaType, ObjectMapper> mappers = Map.of(
+            MediaType.APPLICATION_JSON, mapper,
+            MediaType.APPLICATION_CBOR, new CBORMapper(),
+            CodecConfig.APPLICATION_SMILE, new SmileMapper());
+
+    @BeforeEach
+    void setUp() {
+        service = mock(CalculoService.class);
+        idempotenciaService = mock(IdempotenciaService.class);
+        validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+
+        anotado = contexto(false);
+        funcional = contexto(true);
+        clientAnotado = WebTestClient.bindToApplicationContext(anotado).build();
+        clientFuncional = WebTestClient.bindToApplicationContext(funcional).build();
+
+        resposta = CalculoResponseDTO.builder()
+                .id("id-1")
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(new BigDecimal("3500.00"))
+                .anos(3).meses(2).dias(26)
+                .porcentagem35(new BigDecimal("1225.0000"))
+                .criadoEm(LocalDateTime.of(2025, 8, 5, 11, 2, 22))
+                .build();
+        Admissao admissao = Admissao.builder()
+                .id("id-1")
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(new BigDecimal("3500.00"))
+                .criadoEm(LocalDateTime.of(2025, 8, 5, 11, 2, 22))
+                .build();
+        pagina = new PageImpl<>(List.of(admissao), PageRequest.of(0, 20, Sort.by("criadoEm").descending()), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        anotado.close();
+        funcional.close();
+        validator.close();
+    }
+
+    private AnnotationConfigApplicationContext contexto(boolean rotasFuncionais) {
+        AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+        if (rotasFuncionais) {
+            ctx.getEnvironment().getPropertySources().addFirst(
+                    new MapPropertySource("teste", Map.of(CalculoRotas.PROPRIEDADE, "funcionais")));
+        }
+        ctx.registerBean(ObjectMapper.class, () -> Jackson2ObjectMapperBuilder.json().build());
+        ctx.registerBean(LocalValidatorFactoryBean.class, () -> validator);
+        ctx.registerBean(MethodValidationPostProcessor.class, () -> {
+            MethodValidationPostProcessor mvpp = new MethodValidationPostProcessor();
+            mvpp.setValidator(validator);
+            mvpp.setProxyTargetClass(true);
+            return mvpp;
+        });
+        ctx.registerBean(CalculoService.class, () -> service);
+        ctx.registerBean(IdempotenciaService.class, () -> idempotenciaService);
+        ctx.registerBean(CalculoLoteService.class, () -> mock(CalculoLoteService.class));
+        ctx.registerBean(ExportService.class, () -> mock(ExportService.class));
+        ctx.registerBean(EstatisticasService.class, () -> mock(EstatisticasService.class));
+        ctx.registerBean(AdmissaoStreamService.class, () -> mock(AdmissaoStreamService.class));
+        ctx.registerBean(CalculoRequestValidacao.class,
+                () -> new CalculoRequestValidacao(CalculoRequestValidacao.Modo.BEAN_VALIDATION, validator));
+        ctx.register(WebConfig.class, CodecConfig.class, GlobalExceptionHandler.class, CalculoController.class, CalculoRotas.class);
+        ctx.refresh();
+        return ctx;
+    }
+
+    // ---------- POST ----------
+
+    @Test
+    void calcular_valido_mesmaResposta() {
+        when(service.calcularESalvarReactive(any(CalculoRequestDTO.class))).thenReturn(Mono.just(resposta));
+
+        Map<String, Object> corpo = comparar(c -> c.post().uri("/api/calculos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"dataAdmissao\":\"2022-05-10\",\"salarioBruto\":3500.00,\"cep\":\"66050-080\"}")
+                .exchange(), 201);
+        assertThat(corpo).containsEntry("id", "id-1");
+    }
+
+    @Test
+    void calcular_invalido_mesmoValidationError() {
+        Map<String, Object> corpo = comparar(c -> c.post().uri("/api/calculos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"dataAdmissao\":\"2022-05-10\",\"salarioBruto\":0}")
+                .exchange(), 400);
+        assertThat(corpo).containsEntry("error", "Validation Error");
+    }
+
+    @Test
+    void calcular_malformadoOuSemCorpo_mesmoMalformedRequest() {
+        comparar(c -> c.post().uri("/api/calculos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"dataAdmissao\":\"10/05/2022\",\"salarioBruto\":3500,\"cep\":\"66050080\"}")
+                .exchange(), 400);
+        comparar(c -> c.post().uri("/api/calculos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"dataAdmissao\":")
+                .exchange(), 400);
+        comparar(c -> c.post().uri("/api/calculos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange(), 400);
+    }
+
+    @Test
+    void calcular_erroDoServico_mesmo422e500() {
+        when(service.calcularESalvarReactive(any(CalculoRequestDTO.class)))
+                .thenReturn(Mono.error(new ApiException("CEP não encontrado")))
+                .thenReturn(Mono.error(new ApiException("CEP não encontrado")))
+                .thenReturn(Mono.error(new IllegalStateException("mongo fora")))
+                .thenReturn(Mono.error(new IllegalStateException("mongo fora")));
+        String json = "{\"dataAdmissao\":\"2022-05-10\",\"salarioBruto\":3500.00,\"cep\":\"66050080\"}";
+
+        comparar(c -> c.post().uri("/api/calculos").contentType(MediaType.APPLICATION_JSON).bodyValue(json).exchange(), 422);
+        comparar(c -> c.post().uri("/api/calculos").contentType(MediaType.APPLICATION_JSON).bodyValue(json).exchange(), 500);
+    }
+
+    @Test
+    void calcular_idempotenciaRepetida_mesmoHeader() {
+        when(idempotenciaService.executar(eq("chave-1"), any(), any()))
+                .thenReturn(Mono.just(new IdempotenciaService.Resultado(resposta, true)));
+
+        comparar(c -> c.post().uri("/api/calculos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CalculoController.IDEMPOTENCY_KEY, "chave-1")
+                .bodyValue("{\"dataAdmissao\":\"2022-05-10\",\"salarioBruto\":3500.00,\"cep\":\"66050080\"}")
+                .exchange(), 201);
+    }
+
+    // ---------- GET ----------
+
+    @Test
+    void listarEFiltros_mesmaPagina() {
+        when(service.listar(any(Pageable.class))).thenReturn(Mono.just(pagina));
+        when(service.filtrarPorData(any(), any(), any(Pageable.class))).thenReturn(Mono.just(pagina));
+        when(service.filtrarPorSalario(any(), any(Pageable.class))).thenReturn(Mono.just(pagina));
+        when(service.filtrarPorTempoDeCasa(anyInt(), any(), any(), any(Pageable.class))).thenReturn(Mono.just(pagina));
+
+        comparar(c -> c.get().uri("/api/calculos").exchange(), 200);
+        comparar(c -> c.get().uri("/api/calculos?page=&size=5&sort=salarioBruto,asc").exchange(), 200);
+        comparar(c -> c.get().uri("/api/calculos/por-data?inicio=2024-01-01&fim=2024-12-31&sort=criadoEm").exchange(), 200);
+        comparar(c -> c.get().uri("/api/calculos/por-salario?min= 3000.50 &size=10").exchange(), 200);
+        comparar(c -> c.get().uri("/api/calculos/por-tempo?minAnos=1&maxAnos=5&referencia=2024-01-01").exchange(), 200);
+    }
+
+    @Test
+    void parametrosInvalidos_mesmosErros() {
+        comparar(c -> c.get().uri("/api/calculos?page=-1&size=0").exchange(), 400);
+        comparar(c -> c.get().uri("/api/calculos?size=abc").exchange(), 400);
+        comparar(c -> c.get().uri("/api/calculos?sort=cep").exchange(), 400);
+        comparar(c -> c.get().uri("/api/calculos/por-data?fim=2024-01-01").exchange(), 400);
+        comparar(c -> c.get().uri("/api/calculos/por-data?inicio=01/01/2024&fim=2024-01-01").exchange(), 400);
+        comparar(c -> c.get().uri("/api/calculos/por-data?inicio=2024-01-01&fim=2024-12-31&page=-2").exchange(), 400);
+        comparar(c -> c.get().uri("/api/calculos/por-salario").exchange(), 400);
+        comparar(c -> c.get().uri("/api/calculos/por-salario?min=abc").exchange(), 400);
+        comparar(c -> c.get().uri("/api/calculos/por-tempo?minAnos=-1&maxAnos=-1").exchange(), 400);
+    }
+
+    @Test
+    void formatosBinarios_negociadosComoNoController() throws Exception {
+        when(service.listar(any(Pageable.class))).thenReturn(Mono.just(pagina));
+        when(service.calcularESalvarReactive(any(CalculoRequestDTO.class))).thenReturn(Mono.just(resposta));
+        byte[] cbor = new CBORMapper().writeValueAsBytes(
+                Map.of("dataAdmissao", "2022-05-10", "salarioBruto", new BigDecimal("3500.00"), "cep", "66050080"));
+
+        comparar(c -> c.get().uri("/api/calculos").accept(MediaType.APPLICATION_CBOR).exchange(), 200);
+        comparar(c -> c.get().uri("/api/calculos").accept(CodecConfig.APPLICATION_SMILE).exchange(), 200);
+        comparar(c -> c.get().uri("/api/calculos")
+                .header("Accept", "application/cbor;q=0.5, application/json").exchange(), 200);
+        comparar(c -> c.get().uri("/api/calculos?sort=cep").accept(MediaType.APPLICATION_CBOR).exchange(), 400);
+        Map<String, Object> corpo = comparar(c -> c.post().uri("/api/calculos")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(CodecConfig.APPLICATION_SMILE)
+                .bodyValue(cbor)
+                .exchange(), 201);
+        assertThat(corpo).containsEntry("id", "id-1");
+    }
+
+    @Test
+    void paginacaoPorCursorEFields_continuamNoController() {
+        PaginaDTO<Admissao> slice = PaginaDTO.<Admissao>builder().items(List.of()).size(20).hasNext(false).build();
+        when(service.listarPorCursor(any(), any(), anyInt())).thenReturn(Mono.just(slice));
+        PaginaDTO<AdmissaoResumoDTO> resumo = PaginaDTO.<AdmissaoResumoDTO>builder()
+                .items(List.of(AdmissaoResumoDTO.builder().id("id-1").build())).size(20).hasNext(true).nextPage(1).build();
+        when(service.listarResumo(any(), any(Pageable.class), anyBoolean())).thenReturn(Mono.just(resumo));
+        when(service.listarResumoPorCursor(any(), any(), any(), anyInt())).thenReturn(Mono.just(resumo));
+
+        comparar(c -> c.get().uri("/api/calculos?paginacao=cursor").exchange(), 200);
+        assertThat(comparar(c -> c.get().uri("/api/calculos?fields=id").exchange(), 200)).containsEntry("nextPage", 1);
+        comparar(c -> c.get().uri("/api/calculos?fields=id&paginacao=cursor").exchange(), 200);
+        comparar(c -> c.get().uri("/api/calculos?fields=cep").exchange(), 400);
+    }
+
+    @Test
+    void rotasFuncionais_atendemSemOController() {
+        when(service.listar(any(Pageable.class))).thenReturn(Mono.just(pagina));
+        CalculoHandler handler = new CalculoHandler(service, idempotenciaService,
+                new CalculoRequestValidacao(CalculoRequestValidacao.Modo.BEAN_VALIDATION, validator), validator);
+
+        WebTestClient.bindToRouterFunction(CalculoRotas.rotas(handler, new GlobalExceptionHandler())).build()
+                .get().uri("/api/calculos?page=0&size=20")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.content[0].id").isEqualTo("id-1");
+    }
+
+    // ---------- Helpers ----------
+
+    /**
+     * Executa a requisição nos dois contextos e compara status, Content-Type, Idempotent-Replayed e corpo
+     * (sem o timestamp; as mensagens como conjunto, pois a ordem das violações não é garantida).
+     */
+    private Map<String, Object> comparar(Function<WebTestClient, WebTestClient.ResponseSpec> requisicao, int status) {
+        EntityExchangeResult<byte[]> a = requisicao.apply(clientAnotado).expectBody().returnResult();
+        EntityExchangeResult<byte[]> f = requisicao.apply(clientFuncional).expectBody().returnResult();
+
+        assertThat(a.getStatus().value()).isEqualTo(status);
+        assertThat(f.getStatus().value()).isEqualTo(status);
+        assertThat(f.getResponseHeaders().getContentType()).isEqualTo(a.getResponseHeaders().getContentType());
+        assertThat(f.getResponseHeaders().getFirst(CalculoController.IDEMPOTENT_REPLAYED))
+                .isEqualTo(a.getResponseHeaders().getFirst(CalculoController.IDEMPOTENT_REPLAYED));
+        MediaType tipo = a.getResponseHeaders().getContentType();
+        Map<String, Object> corpo = normalizar(tipo, a.getResponseBody());
+        assertThat(normalizar(tipo, f.getResponseBody())).isEqualTo(corpo);
+        return corpo;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> normalizar(MediaType tipo, byte[] bytes) {
+        try {
+            ObjectMapper leitor = mappers.get(new MediaType(tipo.getType(), tipo.getSubtype()));
+            Map<String, Object> corpo = leitor.readValue(bytes, new TypeReference<>() { });
+            corpo.remove("timestamp");
+            if (corpo.get("messages") instanceof List) {
+                List<String> mensagens = new ArrayList<>((List<String>) corpo.get("messages"));
+                mensagens.sort(null);
+                corpo.put("messages", mensagens);
+            }
+            return corpo;
+        } catch (Exception e) {
+            throw new AssertionError("corpo ilegível como " + tipo + ": " + new String(bytes), e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.admissao.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = CalculoRotas.PROPRIEDADE + "=funcionais")
+class FormatosBinariosRotasFuncionaisTest extends FormatosBinariosTest {
+}
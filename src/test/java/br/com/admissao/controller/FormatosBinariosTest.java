@@ -0,0 +1,93 @@
+package br.com.admissao.controller;
+
+import br.com.admissao.config.CodecConfig;
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.dto.CalculoResponseDTO;
+import br.com.admissao.service.CalculoService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CBOR e Smile no contexto completo da aplicação (codecs do servidor como configurados em produção).
+ * As rotas funcionais repetem os mesmos testes em FormatosBinariosRotasFuncionaisTest.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "admissao.mongo.indices.criar=false")
+class FormatosBinariosTest {
+
+    @LocalServerPort
+    private int porta;
+
+    @MockitoBean
+    private CalculoService service;
+
+    @BeforeEach
+    void setUp() {
+        when(service.calcularESalvarReactive(any(CalculoRequestDTO.class))).thenReturn(Mono.just(
+                CalculoResponseDTO.builder()
+                        .id("id-1")
+                        .dataAdmissao(LocalDate.of(2022, 5, 10))
+                        .salarioBruto(new BigDecimal("3500.00"))
+                        .anos(3).meses(2).dias(26)
+                        .porcentagem35(new BigDecimal("1225.0000"))
+                        .criadoEm(LocalDateTime.of(2025, 8, 5, 11, 2, 22))
+                        .build()));
+    }
+
+    @Test
+    void cbor_idaEVolta() throws Exception {
+        idaEVolta(MediaType.APPLICATION_CBOR, new CBORMapper());
+    }
+
+    @Test
+    void smile_idaEVolta() throws Exception {
+        idaEVolta(CodecConfig.APPLICATION_SMILE, new SmileMapper());
+    }
+
+    private void idaEVolta(MediaType tipo, ObjectMapper mapper) throws Exception {
+        byte[] corpo = mapper.writeValueAsBytes(
+                Map.of("dataAdmissao", "2022-05-10", "salarioBruto", new BigDecimal("3500.00"), "cep", "66050080"));
+
+        byte[] resposta = WebTestClient.bindToServer().baseUrl("http://localhost:" + porta).build()
+                .post().uri("/api/calculos")
+                .contentType(tipo)
+                .accept(tipo)
+                .bodyValue(corpo)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().contentType(tipo)
+                .expectBody().returnResult().getResponseBody();
+
+        ArgumentCaptor<CalculoRequestDTO> recebido = ArgumentCaptor.forClass(CalculoRequestDTO.class);
+        verify(service).calcularESalvarReactive(recebido.capture());
+        assertThat(recebido.getValue().getDataAdmissao()).isEqualTo(LocalDate.of(2022, 5, 10));
+        assertThat(recebido.getValue().getSalarioBruto()).isEqualByComparingTo("3500.00");
+
+        Map<String, Object> lido = mapper.readValue(resposta, new TypeReference<>() { });
+        // mesmo ObjectMapper do JSON: datas ISO
+        assertThat(lido).containsEntry("id", "id-1")
+                .containsEntry("dataAdmissao", "2022-05-10")
+                .containsEntry("criadoEm", "2025-08-05T11:02:22");
+    }
+}
@@ -0,0 +1,222 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.config.MongoConfig;
+import br.com.admissao.model.Admissao;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class ArquivoAdmissoesTest {
+
+    private static final String JANEIRO = "admissoes_arquivo_2023_01";
+    private static final String JUNHO = "admissoes_arquivo_2023_06";
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private ArquivoAdmissoes arquivo;
+
+    @BeforeEach
+    void setUp() {
+        arquivo = new ArquivoAdmissoes(mongoTemplate);
+        when(mongoTemplate.getCollectionNames())
+                .thenReturn(Flux.just("admissoes", JUNHO, "admissoes_estatisticas", JANEIRO, "admissoes_arquivo_x"));
+        StepVerifier.create(arquivo.atualizar()).expectNext(2).verifyComplete();
+    }
+
+    @Test
+    void colecao_shouldUseYearAndMonthOfCriadoEm() {
+        assertThat(ArquivoAdmissoes.colecao(YearMonth.of(2023, 1))).isEqualTo(JANEIRO);
+    }
+
+    @Test
+    void colecoes_shouldSkipMonthsBeforeInicio() {
+        assertThat(arquivo.colecoes(null)).containsExactly(JANEIRO, JUNHO);
+        // dataAdmissao <= criadoEm: nada de janeiro pode ser posterior a março
+        assertThat(arquivo.colecoes(LocalDate.of(2023, 3, 10))).containsExactly(JUNHO);
+        assertThat(arquivo.colecoes(LocalDate.of(2023, 6, 30))).containsExactly(JUNHO);
+        assertThat(arquivo.colecoes(LocalDate.of(2023, 7, 1))).isEmpty();
+    }
+
+    @Test
+    void arquivar_newMonth_shouldBeQueryableBeforeRemove() {
+        String agosto = "admissoes_arquivo_2023_08";
+        Admissao antiga = Admissao.builder().id("a1").criadoEm(LocalDateTime.of(2023, 8, 10, 9, 0)).build();
+        when(mongoTemplate.findOne(any(Query.class), eq(Admissao.class))).thenReturn(Mono.just(antiga));
+        when(mongoTemplate.exists(any(Query.class), eq(Admissao.class))).thenReturn(Mono.just(true));
+        when(mongoTemplate.getConverter()).thenReturn(converter(new MongoMappingContext()));
+        ReactiveIndexOperations indices = mock(ReactiveIndexOperations.class);
+        when(mongoTemplate.indexOps(agosto)).thenReturn(indices);
+        when(indices.createIndex(any())).thenReturn(Mono.just("indice"));
+        when(mongoTemplate.find(any(Query.class), eq(Admissao.class))).thenReturn(Flux.just(antiga));
+        ReactiveBulkOperations bulk = mock(ReactiveBulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Admissao.class, agosto)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(Mono.just(mock(BulkWriteResult.class)));
+        List<List<String>> conhecidasNaRemocao = new ArrayList<>();
+        when(mongoTemplate.remove(any(Query.class), eq(Admissao.class))).thenReturn(Mono.fromCallable(() -> {
+            conhecidasNaRemocao.add(arquivo.colecoes(null));
+            return DeleteResult.acknowledged(1);
+        }));
+
+        StepVerifier.create(arquivo.arquivar(LocalDateTime.of(2023, 9, 1, 0, 0), 10, Duration.ZERO))
+                .expectNext(1L)
+                .verifyComplete();
+        // sem esperar o atualizar() do fim: agosto já era consultado quando a admissão saiu de admissoes
+        assertThat(conhecidasNaRemocao).containsExactly(List.of(JANEIRO, JUNHO, agosto));
+    }
+
+    @Test
+    void arquivada_shouldLookUpOnlyKnownMonthsAroundObjectIdTimestamp() {
+        String deJunho = new ObjectId(Date.from(LocalDateTime.of(2023, 6, 15, 12, 0)
+                .atZone(ZoneId.systemDefault()).toInstant())).toHexString();
+        when(mongoTemplate.exists(any(Query.class), eq(JUNHO))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(arquivo.arquivada(deJunho)).expectNext(true).verifyComplete();
+        verify(mongoTemplate, never()).exists(any(Query.class), eq(JANEIRO));
+
+        // id recente: nenhum mês arquivado por perto, nenhuma consulta
+        StepVerifier.create(arquivo.arquivada(new ObjectId().toHexString())).expectNext(false).verifyComplete();
+        verify(mongoTemplate, times(1)).exists(any(Query.class), any(String.class));
+    }
+
+    @Test
+    void buscar_criadoEmDesc_fullPageFromHot_shouldNotReadArchive() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "criadoEm")).limit(2);
+        List<Query> quentes = new ArrayList<>();
+
+        StepVerifier.create(arquivo.buscar(query, registrar(quentes, List.of(admissao("q1"), admissao("q2"))),
+                        q -> Mono.error(new AssertionError("count desnecessário")), List.of(JANEIRO, JUNHO)))
+                .assertNext(lista -> assertThat(lista).extracting(Admissao::getId).containsExactly("q1", "q2"))
+                .verifyComplete();
+        assertThat(quentes).extracting(Query::getLimit).containsExactly(2);
+        verify(mongoTemplate, never()).find(any(), eq(Admissao.class), any(String.class));
+    }
+
+    @Test
+    void buscar_criadoEmDesc_shouldContinueFromNewestArchive() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "criadoEm")).limit(3);
+        ArgumentCaptor<Query> arquivada = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.find(arquivada.capture(), eq(Admissao.class), eq(JUNHO)))
+                .thenReturn(Flux.just(admissao("j1"), admissao("j2")));
+
+        StepVerifier.create(arquivo.buscar(query, registrar(new ArrayList<>(), List.of(admissao("q1"))),
+                        q -> Mono.error(new AssertionError("count desnecessário")), List.of(JANEIRO, JUNHO)))
+                .assertNext(lista -> assertThat(lista).extracting(Admissao::getId).containsExactly("q1", "j1", "j2"))
+                .verifyComplete();
+        assertThat(arquivada.getValue().getLimit()).isEqualTo(2);
+        verify(mongoTemplate, never()).find(any(), eq(Admissao.class), eq(JANEIRO));
+    }
+
+    @Test
+    void buscar_criadoEmAsc_skipPastArchive_shouldCountAndCarryRemainingSkip() {
+        Query query = Query.query(Criteria.where("dataAdmissao").gt(LocalDate.of(2020, 1, 1)))
+                .with(Sort.by(Sort.Direction.ASC, "criadoEm")).skip(5).limit(2);
+        when(mongoTemplate.find(any(), eq(Admissao.class), eq(JUNHO))).thenReturn(Flux.empty());
+        ArgumentCaptor<Query> contada = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.count(contada.capture(), eq(Admissao.class), eq(JUNHO))).thenReturn(Mono.just(4L));
+        List<Query> quentes = new ArrayList<>();
+
+        StepVerifier.create(arquivo.buscar(query, registrar(quentes, List.of(admissao("q2"), admissao("q3"))),
+                        q -> Mono.error(new AssertionError("count desnecessário")), List.of(JUNHO)))
+                .assertNext(lista -> assertThat(lista).extracting(Admissao::getId).containsExactly("q2", "q3"))
+                .verifyComplete();
+        // o count vai sem paginação; a quente recebe o skip que sobrou
+        assertThat(contada.getValue().getSkip()).isZero();
+        assertThat(contada.getValue().getLimit()).isZero();
+        assertThat(quentes).extracting(Query::getSkip).containsExactly(1L);
+    }
+
+    @Test
+    void buscar_otherSort_shouldUnionArchivesLimitedPerBranch() {
+        MongoMappingContext context = new MongoMappingContext();
+        when(mongoTemplate.getConverter()).thenReturn(converter(context));
+        when(mongoTemplate.getCollectionName(Admissao.class)).thenReturn("admissoes");
+        ArgumentCaptor<Aggregation> agregacao = ArgumentCaptor.forClass(Aggregation.class);
+        when(mongoTemplate.aggregate(agregacao.capture(), eq("admissoes"), eq(Admissao.class)))
+                .thenReturn(Flux.just(admissao("a1")));
+        Query query = Query.query(Criteria.where("salarioBruto").gte(new BigDecimal("3000")))
+                .with(Sort.by(Sort.Direction.DESC, "salarioBruto")).skip(20).limit(10);
+        query.fields().include("salarioBruto");
+
+        StepVerifier.create(arquivo.buscar(query, q -> Mono.error(new AssertionError("sem leitura pelo store")),
+                        q -> Mono.error(new AssertionError("sem count")), List.of(JANEIRO, JUNHO)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        List<Document> pipeline = agregacao.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertThat(pipeline).extracting(e -> e.keySet().iterator().next())
+                .containsExactly("$match", "$sort", "$limit", "$unionWith", "$unionWith", "$sort", "$skip", "$limit", "$project");
+        assertThat(pipeline.get(2).get("$limit")).isEqualTo(30L);
+        Document uniao = pipeline.get(3).get("$unionWith", Document.class);
+        assertThat(uniao.getString("coll")).isEqualTo(JANEIRO);
+        assertThat(uniao.getList("pipeline", Document.class)).hasSize(3);
+    }
+
+    @Test
+    void contar_withoutFilter_shouldUseEstimatedCountOfArchives() {
+        when(mongoTemplate.estimatedCount(JANEIRO)).thenReturn(Mono.just(100L));
+        when(mongoTemplate.estimatedCount(JUNHO)).thenReturn(Mono.just(50L));
+
+        StepVerifier.create(arquivo.contar(new Query().limit(20), Mono.just(7L), List.of(JANEIRO, JUNHO)))
+                .expectNext(157L)
+                .verifyComplete();
+    }
+
+    private static Function<Query, Mono<List<Admissao>>> registrar(List<Query> consultas, List<Admissao> resultado) {
+        return q -> {
+            consultas.add(q);
+            return Mono.just(resultado);
+        };
+    }
+
+    private static MappingMongoConverter converter(MongoMappingContext context) {
+        MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static Admissao admissao(String id) {
+        return Admissao.builder().id(id).build();
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.Admissao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlockingAdmissaoStoreTest {
+
+    private final Scheduler scheduler = Schedulers.newSingle("persistencia-teste");
+    private final AdmissaoRepository repository = mock(AdmissaoRepository.class);
+    private final BlockingAdmissaoStore store = new BlockingAdmissaoStore(repository, null, scheduler);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void saveAndFind_shouldRunOnConfiguredScheduler() {
+        when(repository.save(any(Admissao.class))).thenAnswer(inv -> {
+            assertThat(Thread.currentThread().getName()).startsWith("persistencia-teste");
+            return inv.getArgument(0);
+        });
+        when(repository.findAll(any(Pageable.class))).thenAnswer(inv -> {
+            assertThat(Thread.currentThread().getName()).startsWith("persistencia-teste");
+            return new PageImpl<Admissao>(List.of(), inv.getArgument(0), 0);
+        });
+
+        StepVerifier.create(store.save(new Admissao())).expectNextCount(1).verifyComplete();
+        StepVerifier.create(store.findAll(PageRequest.of(0, 10))).expectNextCount(1).verifyComplete();
+    }
+}
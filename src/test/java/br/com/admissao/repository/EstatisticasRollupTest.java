@@ -0,0 +1,107 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.config.MongoConfig;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.model.EstatisticaMensal;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EstatisticasRollupTest {
+
+    @Test
+    void faixa_shouldReturnLowerBoundOfBucket() {
+        assertThat(EstatisticasRollup.faixa(new BigDecimal("1200"))).isEqualTo("0");
+        assertThat(EstatisticasRollup.faixa(new BigDecimal("1500"))).isEqualTo("1500");
+        assertThat(EstatisticasRollup.faixa(new BigDecimal("3499.99"))).isEqualTo("3000");
+        assertThat(EstatisticasRollup.faixa(new BigDecimal("250000"))).isEqualTo("50000");
+    }
+
+    @Test
+    void atualizacoes_shouldMergeSameMonthIntoSingleUpsert() {
+        List<Admissao> lote = List.of(
+                admissao(LocalDate.of(2024, 3, 5), "3500", 1),
+                admissao(LocalDate.of(2024, 3, 20), "1800", 1),
+                admissao(LocalDate.of(2023, 7, 1), "9000", 2));
+
+        Map<String, Update> atualizacoes = EstatisticasRollup.atualizacoes(lote, LocalDateTime.now());
+
+        assertThat(atualizacoes).containsOnlyKeys("2024-03", "2023-07");
+        Document marco = mapear(atualizacoes.get("2024-03"));
+
+        Document inc = marco.get("$inc", Document.class);
+        assertThat(inc.get("quantidade")).isEqualTo(2L);
+        assertThat(inc.get("faixasSalario.3000")).isEqualTo(1L);
+        assertThat(inc.get("faixasSalario.1500")).isEqualTo(1L);
+        assertThat(inc.get("tempoDeCasa.1")).isEqualTo(2L);
+        // BigDecimal como Decimal128 (MongoConfig): $inc, $min e $max numéricos
+        assertThat(inc.get("somaSalario")).isEqualTo(new Decimal128(new BigDecimal("5300")));
+        assertThat(marco.get("$min", Document.class).get("salarioMinimo")).isEqualTo(new Decimal128(new BigDecimal("1800")));
+        assertThat(marco.get("$max", Document.class).get("salarioMaximo")).isEqualTo(new Decimal128(new BigDecimal("3500")));
+    }
+
+    @Test
+    void agregacao_shouldGroupByMonthBucketAndTenure() {
+        MongoMappingContext context = new MongoMappingContext();
+        List<Document> pipeline = EstatisticasRollup.agregacao().toPipeline(new TypeBasedAggregationOperationContext(
+                Admissao.class, context, new QueryMapper(converter(context))));
+
+        assertThat(pipeline.get(0).get("$addFields", Document.class).get("salarioBruto", Document.class))
+                .containsKey("$toDecimal");
+        Document projecao = pipeline.get(1).get("$project", Document.class);
+        assertThat(projecao.get("mes", Document.class).get("$dateToString", Document.class))
+                .containsEntry("format", "%Y-%m")
+                .containsKey("timezone");
+        // uma condição por faixa acima da primeira, da maior para a menor
+        List<?> casos = projecao.get("faixa", Document.class).get("$switch", Document.class).getList("branches", Object.class);
+        assertThat(casos).hasSize(EstatisticasRollup.FAIXAS_SALARIO.size() - 1);
+        assertThat(pipeline.get(2).get("$group", Document.class).get("_id", Document.class))
+                .containsOnlyKeys("mes", "faixa", "anos");
+    }
+
+    @Test
+    void agregacao_withArchives_shouldUnionThemBeforeProjecting() {
+        MongoMappingContext context = new MongoMappingContext();
+        List<Document> pipeline = EstatisticasRollup.agregacao(List.of("admissoes_arquivo_2023_01", "admissoes_arquivo_2023_02"))
+                .toPipeline(new TypeBasedAggregationOperationContext(Admissao.class, context, new QueryMapper(converter(context))));
+
+        assertThat(pipeline).extracting(e -> e.keySet().iterator().next())
+                .containsExactly("$unionWith", "$unionWith", "$addFields", "$project", "$group");
+        assertThat(pipeline.get(0).get("$unionWith", Document.class).getString("coll")).isEqualTo("admissoes_arquivo_2023_01");
+    }
+
+    private static MappingMongoConverter converter(MongoMappingContext context) {
+        MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static Document mapear(Update update) {
+        MongoMappingContext context = new MongoMappingContext();
+        return new UpdateMapper(converter(context)).getMappedObject(update.getUpdateObject(),
+                context.getRequiredPersistentEntity(EstatisticaMensal.class));
+    }
+
+    private static Admissao admissao(LocalDate data, String salario, long anos) {
+        return Admissao.builder().dataAdmissao(data).salarioBruto(new BigDecimal(salario)).anos(anos).build();
+    }
+}
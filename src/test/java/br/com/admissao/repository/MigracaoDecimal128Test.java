@@ -0,0 +1,101 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.config.MongoConfig;
+import br.com.admissao.model.Admissao;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Documentos com salários em String (anteriores ao Decimal128) e em Decimal128 na mesma coleção.
+ * Requer Docker; sem Docker a classe é ignorada.
+ */
+@DataMongoTest(properties = {"admissao.mongo.indices.criar=false", "admissao.mongo.migracao-decimal128.enabled=false"})
+@Import(MongoConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class MigracaoDecimal128Test {
+
+    @Container
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> mongo.getReplicaSetUrl("admissao"));
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Admissao.class);
+        List<Document> docs = new ArrayList<>();
+        // 5 gravados como String (representação antiga), 5 como Decimal128
+        for (int i = 0; i < 10; i++) {
+            BigDecimal salario = BigDecimal.valueOf(1000L + i * 1000L);
+            BigDecimal porcentagem = salario.multiply(new BigDecimal("0.35"));
+            boolean antigo = i % 2 == 0;
+            docs.add(new Document("salarioBruto", antigo ? salario.toPlainString() : new Decimal128(salario))
+                    .append("porcentagem35", antigo ? porcentagem.toPlainString() : new Decimal128(porcentagem)));
+        }
+        mongoTemplate.insert(docs, mongoTemplate.getCollectionName(Admissao.class));
+    }
+
+    @Test
+    void migrar_shouldConvertStringsInBatches_andMakeSalaryFilterNumeric() {
+        Query porSalario = Query.query(Criteria.where("salarioBruto").gte(new BigDecimal("5000")))
+                .with(Sort.by(Sort.Direction.DESC, "salarioBruto"));
+        // antes: as Strings ficam fora do $gte Decimal128
+        assertThat(mongoTemplate.find(porSalario, Admissao.class)).hasSize(3);
+
+        // lote menor que o número de pendentes: exige mais de uma rodada
+        Long convertidos = new MigracaoDecimal128(reactiveMongoTemplate, true, 2).migrar().block();
+
+        assertThat(convertidos).isEqualTo(10L);
+        assertThat(mongoTemplate.count(Query.query(Criteria.where("salarioBruto").type(2)), Admissao.class)).isZero();
+        assertThat(mongoTemplate.count(Query.query(Criteria.where("porcentagem35").type(2)), Admissao.class)).isZero();
+        assertThat(mongoTemplate.find(porSalario, Admissao.class))
+                .extracting(a -> a.getSalarioBruto().intValue())
+                .containsExactly(10000, 9000, 8000, 7000, 6000, 5000);
+
+        // idempotente
+        assertThat(new MigracaoDecimal128(reactiveMongoTemplate, true, 2).migrar().block()).isZero();
+    }
+
+    @Test
+    void migrar_twoInstancesAtOnce_shouldConvertEverythingOnce() {
+        MigracaoDecimal128 a = new MigracaoDecimal128(reactiveMongoTemplate, true, 2);
+        MigracaoDecimal128 b = new MigracaoDecimal128(reactiveMongoTemplate, true, 2);
+
+        // lotes parcialmente convertidos pela outra instância não encerram a migração antes do fim
+        Long convertidos = Mono.zip(a.migrar(), b.migrar(), Long::sum).block();
+
+        assertThat(convertidos).isEqualTo(10L);
+        assertThat(mongoTemplate.count(Query.query(Criteria.where("salarioBruto").type(2)), Admissao.class)).isZero();
+        assertThat(mongoTemplate.count(Query.query(Criteria.where("porcentagem35").type(2)), Admissao.class)).isZero();
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.config.MongoConfig;
+import br.com.admissao.model.Admissao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confere com explain que cada consulta da API é atendida pelos índices declarados em Admissao.
+ * Requer Docker; sem Docker a classe é ignorada.
+ */
+@DataMongoTest(properties = "admissao.mongo.indices.criar=false")
+@Import({MongoConfig.class, MongoIndexInitializer.class})
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanVerifierTest {
+
+    @Container
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> mongo.getReplicaSetUrl("admissao"));
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Admissao.class);
+        initializer.criarIndices().block();
+
+        List<Admissao> admissoes = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            admissoes.add(Admissao.builder()
+                    .dataAdmissao(LocalDate.of(2015, 1, 1).plusDays(i))
+                    .salarioBruto(BigDecimal.valueOf(1500 + i * 7L % 9000))
+                    .criadoEm(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i))
+                    .build());
+        }
+        mongoTemplate.insertAll(admissoes);
+    }
+
+    @Test
+    void criarIndices_shouldCreateDeclaredCompoundIndexes() {
+        List<String> nomes = mongoTemplate.indexOps(Admissao.class).getIndexInfo().stream()
+                .map(IndexInfo::getName).toList();
+
+        assertThat(nomes).contains("criadoEm_id_dataAdmissao", "salarioBruto_id");
+    }
+
+    @Test
+    void verificar_allApiQueries_shouldUseIndexes() {
+        assertThat(new QueryPlanVerifier(mongoTemplate).verificar()).isEmpty();
+    }
+
+    @Test
+    void verificar_shouldFlagCollscanAndInMemorySort() {
+        QueryPlanVerifier verifier = new QueryPlanVerifier(mongoTemplate);
+
+        assertThat(verifier.verificar("por dias", new Query(Criteria.where("dias").is(0))))
+                .singleElement().asString().contains("COLLSCAN");
+        assertThat(verifier.verificar("sort dias",
+                new Query(Criteria.where("salarioBruto").gte(new BigDecimal("3000"))).with(Sort.by("dias")).limit(20)))
+                .singleElement().asString().contains("SORT");
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.model.Admissao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class ReactiveAdmissaoStoreTest {
+
+    @Mock
+    private AdmissaoReactiveRepository repository;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private ReactiveAdmissaoStore store;
+
+    @Test
+    void findByDataAdmissaoBetween_shouldCombineContentAndCount() {
+        LocalDate inicio = LocalDate.of(2022, 1, 1);
+        LocalDate fim = LocalDate.of(2024, 1, 1);
+        Pageable pageable = PageRequest.of(1, 2);
+
+        when(repository.findByDataAdmissaoBetween(inicio, fim, pageable))
+                .thenReturn(Flux.just(admissao("id-3"), admissao("id-4")));
+        when(repository.countByDataAdmissaoBetween(inicio, fim)).thenReturn(Mono.just(7L));
+
+        StepVerifier.create(store.findByDataAdmissaoBetween(inicio, fim, pageable))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).extracting(Admissao::getId).containsExactly("id-3", "id-4");
+                    assertThat(page.getTotalElements()).isEqualTo(7);
+                    assertThat(page.getTotalPages()).isEqualTo(4);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_incompleteFirstPage_shouldSkipCount() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(repository.findAllBy(pageable)).thenReturn(Flux.just(admissao("id-1")));
+
+        StepVerifier.create(store.findAll(pageable))
+                .assertNext(page -> assertThat(page.getTotalElements()).isEqualTo(1))
+                .verifyComplete();
+
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void save_shouldDelegateToReactiveRepository() {
+        Admissao adm = admissao(null);
+        when(repository.save(any(Admissao.class))).thenReturn(Mono.just(admissao("novo")));
+
+        StepVerifier.create(store.save(adm))
+                .assertNext(salvo -> assertThat(salvo.getId()).isEqualTo("novo"))
+                .verifyComplete();
+    }
+
+    @Test
+    void count_shouldIgnorePagingOfTheQuery() {
+        Query query = new Query(Criteria.where("salarioBruto").gte(BigDecimal.TEN)).skip(40).limit(21);
+        ArgumentCaptor<Query> contada = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.count(contada.capture(), eq(Admissao.class))).thenReturn(Mono.just(41L));
+
+        StepVerifier.create(store.count(query))
+                .expectNext(41L)
+                .verifyComplete();
+
+        assertThat(contada.getValue().getSkip()).isZero();
+        assertThat(contada.getValue().getLimit()).isZero();
+        assertThat(contada.getValue().getQueryObject()).isEqualTo(query.getQueryObject());
+        assertThat(query.getLimit()).isEqualTo(21);
+    }
+
+    private Admissao admissao(String id) {
+        return Admissao.builder()
+                .id(id)
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(BigDecimal.valueOf(3500))
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.admissao.repository;
+
+import br.com.admissao.exception.ApiException;
+import br.com.admissao.model.Admissao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class WriteBehindBufferTest {
+
+    @Mock
+    private AdmissaoStore store;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private WriteBehindBuffer buffer;
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) {
+            buffer.destroy();
+        }
+    }
+
+    @Test
+    void enfileirar_shouldFlushWhenBatchIsFull_andCompleteAfterAck() {
+        when(store.insertAllUnordered(anyList())).thenReturn(Mono.just(Map.of()));
+        buffer = novoBuffer(3, Duration.ofHours(1), 100, Duration.ofSeconds(1));
+
+        List<Admissao> salvos = Mono.zip(
+                        buffer.enfileirar(admissao()), buffer.enfileirar(admissao()), buffer.enfileirar(admissao()))
+                .map(t -> List.of(t.getT1(), t.getT2(), t.getT3()))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(salvos).extracting(Admissao::getId).doesNotContainNull().doesNotHaveDuplicates();
+        ArgumentCaptor<List<Admissao>> lote = ArgumentCaptor.forClass(List.class);
+        verify(store, times(1)).insertAllUnordered(lote.capture());
+        assertThat(lote.getValue()).hasSize(3);
+        assertThat(registry.get("admissao.writebehind.lote").summary().max()).isEqualTo(3);
+        assertThat(registry.get("admissao.writebehind.flush").timer().count()).isEqualTo(1);
+        assertThat(registry.get("admissao.writebehind.fila").gauge().value()).isZero();
+    }
+
+    @Test
+    void enfileirar_shouldFlushAfterMaxWait_andFailOnlyRejectedRecords() {
+        // o Mongo rejeita o documento de id "duplicado" (ex.: chave duplicada), qualquer que seja o lote
+        RuntimeException erroBulk = new RuntimeException("E11000 duplicate key");
+        when(store.insertAllUnordered(anyList())).thenAnswer(inv -> {
+            List<Admissao> lote = inv.getArgument(0);
+            return Mono.just(IntStream.range(0, lote.size())
+                    .filter(i -> "duplicado".equals(lote.get(i).getId()))
+                    .boxed()
+                    .collect(Collectors.toMap(i -> i, i -> (Throwable) erroBulk)));
+        });
+        buffer = novoBuffer(100, Duration.ofMillis(20), 100, Duration.ofSeconds(1));
+
+        Admissao rejeitada = admissao();
+        rejeitada.setId("duplicado");
+
+        // lote incompleto: só o flush por tempo grava
+        StepVerifier.create(Mono.zip(buffer.enfileirar(admissao()).materialize(), buffer.enfileirar(rejeitada).materialize()))
+                .assertNext(t -> {
+                    assertThat(t.getT1().hasValue()).isTrue();
+                    assertThat(t.getT2().getThrowable()).isInstanceOf(ApiException.class).hasCause(erroBulk);
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void enfileirar_whenQueueStaysFull_shouldFailAfterWaiting() {
+        lenient().when(store.insertAllUnordered(anyList())).thenReturn(Mono.just(Map.of()));
+        buffer = novoBuffer(100, Duration.ofHours(1), 1, Duration.ofMillis(50));
+
+        buffer.enfileirar(admissao()).subscribe();
+
+        StepVerifier.create(buffer.enfileirar(admissao()))
+                .expectErrorMessage("Fila de gravação cheia; tente novamente")
+                .verify(Duration.ofSeconds(5));
+        verify(store, never()).insertAllUnordered(anyList());
+    }
+
+    @Test
+    void enfileirar_whenQueueFull_shouldWakeWaiterAsSoonAsFlushFreesSpace() {
+        when(store.insertAllUnordered(anyList())).thenReturn(Mono.just(Map.of()));
+        buffer = novoBuffer(100, Duration.ofHours(1), 1, Duration.ofSeconds(10));
+
+        Mono<Admissao> primeira = buffer.enfileirar(admissao()).cache();
+        primeira.subscribe();
+        Mono<Admissao> segunda = buffer.enfileirar(admissao()).cache();
+        segunda.subscribe();
+
+        // o flush da primeira libera a vaga e a segunda entra na fila sem esperar o prazo
+        buffer.flushTudo(Duration.ofSeconds(5));
+
+        StepVerifier.create(Mono.zip(primeira, segunda)).expectNextCount(1).expectComplete().verify(Duration.ofSeconds(1));
+        verify(store, times(2)).insertAllUnordered(anyList());
+    }
+
+    @Test
+    void destroy_shouldFailWaitersImmediately() {
+        when(store.insertAllUnordered(anyList())).thenReturn(Mono.just(Map.of()));
+        buffer = novoBuffer(100, Duration.ofHours(1), 1, Duration.ofSeconds(30));
+
+        buffer.enfileirar(admissao()).subscribe();
+        Mono<Admissao> aguardando = buffer.enfileirar(admissao()).cache();
+        aguardando.subscribe(a -> { }, e -> { });
+        buffer.destroy();
+        buffer = null;
+
+        StepVerifier.create(aguardando)
+                .expectErrorMessage("Aplicação em encerramento; admissão não foi gravada")
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void destroy_shouldDrainQueue_andRejectNewEntries() {
+        when(store.insertAllUnordered(anyList())).thenReturn(Mono.just(Map.of()));
+        buffer = novoBuffer(100, Duration.ofHours(1), 100, Duration.ofSeconds(1));
+
+        Mono<Admissao> pendente = buffer.enfileirar(admissao()).cache();
+        pendente.subscribe();
+        buffer.destroy();
+
+        StepVerifier.create(pendente).expectNextCount(1).verifyComplete();
+        StepVerifier.create(buffer.enfileirar(admissao())).expectError(ApiException.class).verify();
+        verify(store, times(1)).insertAllUnordered(anyList());
+    }
+
+    // ---------- helpers ----------
+
+    private WriteBehindBuffer novoBuffer(int batchSize, Duration maxEspera, int capacidade, Duration esperaFilaCheia) {
+        return new WriteBehindBuffer(store, registry, batchSize, maxEspera, capacidade, esperaFilaCheia, 1);
+    }
+
+    private Admissao admissao() {
+        return Admissao.builder()
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(BigDecimal.valueOf(3500))
+                .build();
+    }
+}
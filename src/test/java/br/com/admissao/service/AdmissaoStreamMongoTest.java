@@ -0,0 +1,121 @@
+package br.com.admissao.service;
+
+import br.com.admissao.config.MongoConfig;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.service.AdmissaoStreamService.Mudanca;
+import br.com.admissao.service.AdmissaoStreamService.Politica;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Change stream real: o container do Testcontainers sobe o Mongo como replica set de um nó, requisito
+ * dos change streams. Requer Docker; sem Docker a classe é ignorada.
+ */
+@DataMongoTest(properties = "admissao.mongo.indices.criar=false")
+@Import(MongoConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class AdmissaoStreamMongoTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    @Container
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> mongo.getReplicaSetUrl("admissao"));
+    }
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private final List<AdmissaoStreamService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Admissao.class).block();
+        mongoTemplate.createCollection(Admissao.class).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(AdmissaoStreamService::destroy);
+    }
+
+    @Test
+    void insertEDelete_chegamComoEventos() {
+        AdmissaoStreamService service = criar();
+
+        Admissao salva = nova(0);
+        StepVerifier.create(service.mudancas(null))
+                .then(() -> mongoTemplate.insert(salva).block())
+                .assertNext(m -> {
+                    assertThat(m.evento()).isEqualTo("admissao");
+                    assertThat(m.admissao().getId()).isEqualTo(salva.getId());
+                    assertThat(m.admissao().getSalarioBruto()).isEqualByComparingTo("3500.00");
+                    assertThat(m.token()).matches("[0-9A-Fa-f]+");
+                })
+                .then(() -> mongoTemplate.remove(salva).block())
+                .assertNext(m -> {
+                    assertThat(m.evento()).isEqualTo("remocao");
+                    assertThat(m.admissao().getId()).isEqualTo(salva.getId());
+                })
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void reconexao_comResumeToken_continuaDoPontoSeguinte() {
+        AdmissaoStreamService service = criar();
+        List<Mudanca> recebidas = new ArrayList<>();
+
+        StepVerifier.create(service.mudancas(null))
+                .then(() -> mongoTemplate.insertAll(List.of(nova(1), nova(2))).blockLast())
+                .recordWith(() -> recebidas)
+                .expectNextCount(2)
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        // outra instância (ex.: depois de um restart): histórico vazio, o token vai para o change stream
+        StepVerifier.create(criar().mudancas(recebidas.get(0).token()))
+                .assertNext(m -> assertThat(m.token()).isEqualTo(recebidas.get(1).token()))
+                .thenCancel()
+                .verify(TIMEOUT);
+    }
+
+    private AdmissaoStreamService criar() {
+        AdmissaoStreamService service = new AdmissaoStreamService(mongoTemplate, new SimpleMeterRegistry(),
+                Politica.DESCONECTAR, 16, 100, Duration.ofSeconds(15));
+        services.add(service);
+        return service;
+    }
+
+    private static Admissao nova(int i) {
+        return Admissao.builder()
+                .dataAdmissao(LocalDate.of(2022, 5, 10).plusDays(i))
+                .salarioBruto(new BigDecimal("3500.00"))
+                .criadoEm(LocalDateTime.of(2025, 8, 5, 11, 0).plusMinutes(i))
+                .build();
+    }
+}
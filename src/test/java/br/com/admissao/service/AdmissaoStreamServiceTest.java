@@ -0,0 +1,252 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.AdmissaoResumoDTO;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.repository.ArquivoAdmissoes;
+import br.com.admissao.service.AdmissaoStreamService.Mudanca;
+import br.com.admissao.service.AdmissaoStreamService.Politica;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdmissaoStreamServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FonteFalsa fonte = new FonteFalsa();
+    private final Sinks.Many<Mudanca> changeStream = Sinks.many().multicast().onBackpressureBuffer();
+    private final List<Disposable> assinaturas = new ArrayList<>();
+
+    private AdmissaoStreamService service;
+
+    @AfterEach
+    void tearDown() {
+        assinaturas.forEach(Disposable::dispose);
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void assinantes_compartilhamUmChangeStream() {
+        service = criar(Politica.DESCONECTAR, 16, 100);
+        fonte.respostas.add(changeStream.asFlux());
+
+        List<String> a = assinar(null);
+        List<String> b = assinar(null);
+        emitir("t1", "t2");
+        List<String> c = assinar(null);
+        emitir("t3");
+
+        assertThat(a).containsExactly("t1", "t2", "t3");
+        assertThat(b).containsExactly("t1", "t2", "t3");
+        assertThat(c).containsExactly("t3");
+        assertThat(fonte.chamadas).containsExactly("inicio");
+    }
+
+    @Test
+    void reconexao_comLastEventId_recebeOsPosterioresDoHistorico_eSegueComOsNovos() {
+        service = criar(Politica.DESCONECTAR, 16, 100);
+        fonte.respostas.add(changeStream.asFlux());
+        assinar(null);
+        emitir("t1", "t2", "t3");
+
+        List<String> reconectado = assinar("t1");
+        emitir("t4");
+
+        assertThat(reconectado).containsExactly("t2", "t3", "t4");
+        assertThat(fonte.chamadas).containsExactly("inicio");
+    }
+
+    @Test
+    void tokenAnteriorAoHistorico_usaChangeStreamProprio_ateAlcancarOHistorico() {
+        service = criar(Politica.DESCONECTAR, 16, 2);
+        fonte.respostas.add(changeStream.asFlux());
+        assinar(null);
+        emitir("t1", "t2", "t3", "t4"); // histórico: t3, t4 (anterior a ele: t2)
+
+        Sinks.Many<Mudanca> proprio = Sinks.many().unicast().onBackpressureBuffer();
+        fonte.respostas.add(proprio.asFlux());
+        List<String> reconectado = assinar("t0");
+        proprio.tryEmitNext(mudanca("t1"));
+        proprio.tryEmitNext(mudanca("t2"));
+        emitir("t5");
+
+        assertThat(reconectado).containsExactly("t1", "t2", "t3", "t4", "t5");
+        assertThat(fonte.chamadas).containsExactly("inicio", "t0");
+    }
+
+    @Test
+    void tokenForaDoOplog_enviaReinicio_eSegueComOsNovos() {
+        service = criar(Politica.DESCONECTAR, 16, 100);
+        fonte.respostas.add(changeStream.asFlux());
+        fonte.respostas.add(Flux.error(new IllegalStateException("ChangeStreamHistoryLost")));
+
+        List<Mudanca> reconectado = new CopyOnWriteArrayList<>();
+        assinaturas.add(service.mudancas("abc").subscribe(reconectado::add));
+        emitir("t1");
+
+        assertThat(reconectado).extracting(Mudanca::evento)
+                .containsExactly(AdmissaoStreamService.EVENTO_REINICIO, AdmissaoStreamService.EVENTO_ADMISSAO);
+    }
+
+    @Test
+    void politicaDesconectar_filaCheia_encerraOAssinante() {
+        service = criar(Politica.DESCONECTAR, 2, 100);
+        fonte.respostas.add(changeStream.asFlux());
+
+        StepVerifier.create(service.mudancas(null), 0)
+                .then(() -> emitir("t1", "t2", "t3"))
+                .thenRequest(10)
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertThat(registry.get("admissao.stream.desconectados").counter().count()).isEqualTo(1);
+        // os demais assinantes não são afetados
+        List<String> outro = assinar(null);
+        emitir("t4");
+        assertThat(outro).containsExactly("t4");
+    }
+
+    @Test
+    void politicaDescartar_filaCheia_descartaOsEventosDoAssinante() {
+        service = criar(Politica.DESCARTAR, 2, 100);
+        fonte.respostas.add(changeStream.asFlux());
+
+        StepVerifier.create(service.mudancas(null).map(Mudanca::token), 0)
+                .then(() -> emitir("t1", "t2", "t3", "t4"))
+                .thenRequest(10)
+                .expectNext("t1", "t2")
+                .then(() -> emitir("t5"))
+                .expectNext("t5")
+                .thenCancel()
+                .verify();
+
+        assertThat(registry.get("admissao.stream.descartados").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void changeStreamInterrompido_reabreAPartirDoUltimoToken() {
+        service = criar(Politica.DESCONECTAR, 16, 100);
+        fonte.respostas.add(Flux.just(mudanca("t1")).concatWith(Flux.error(new IllegalStateException("stepdown"))));
+        fonte.respostas.add(changeStream.asFlux());
+
+        StepVerifier.create(service.mudancas(null).map(Mudanca::token))
+                .expectNext("t1")
+                .then(() -> emitir("t2"))
+                .expectNext("t2")
+                .thenCancel()
+                .verify(Duration.ofSeconds(10));
+
+        assertThat(fonte.chamadas).containsExactly("inicio", "t1");
+    }
+
+    @Test
+    void assinar_heartbeatAoConectar_eEventosComOResumeTokenComoId() {
+        service = criar(Politica.DESCONECTAR, 16, 100);
+        fonte.respostas.add(changeStream.asFlux());
+
+        StepVerifier.create(service.assinar(null))
+                .assertNext(sse -> assertThat(sse.comment()).isEqualTo("heartbeat"))
+                .then(() -> {
+                    changeStream.tryEmitNext(mudanca("t1"));
+                    changeStream.tryEmitNext(new Mudanca("t2", AdmissaoStreamService.EVENTO_REMOCAO,
+                            Admissao.builder().id("68920eee582676dd86dc82b3").build()));
+                })
+                .assertNext(sse -> {
+                    assertThat(sse.id()).isEqualTo("t1");
+                    assertThat(sse.event()).isEqualTo("admissao");
+                    assertThat(sse.data()).isInstanceOf(Admissao.class);
+                })
+                .assertNext(sse -> {
+                    assertThat(sse.event()).isEqualTo("remocao");
+                    assertThat(sse.data()).isEqualTo(AdmissaoResumoDTO.builder().id("68920eee582676dd86dc82b3").build());
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(registry.get("admissao.stream.assinantes").gauge().value()).isZero();
+    }
+
+    @Test
+    void assinar_lastEventIdInvalido_shouldBeBadRequest() {
+        service = criar(Politica.DESCONECTAR, 16, 100);
+
+        assertThatThrownBy(() -> service.assinar("nao-e-um-token"))
+                .isInstanceOf(ServerWebInputException.class);
+        assertThat(fonte.chamadas).isEmpty();
+    }
+
+    // ---------- helpers ----------
+
+    @Test
+    void remocaoDoArquivamento_naoChegaAosAssinantes() {
+        ArquivoAdmissoes arquivo = mock(ArquivoAdmissoes.class);
+        when(arquivo.arquivada("movida")).thenReturn(Mono.just(true));
+        when(arquivo.arquivada("excluida")).thenReturn(Mono.just(false));
+        fonte.respostas.add(Flux.just(mudanca("t1"),
+                new Mudanca("t2", AdmissaoStreamService.EVENTO_REMOCAO, Admissao.builder().id("movida").build()),
+                new Mudanca("t3", AdmissaoStreamService.EVENTO_REMOCAO, Admissao.builder().id("excluida").build())));
+
+        StepVerifier.create(AdmissaoStreamService.semArquivadas(fonte, arquivo).abrir(null, Instant.now()))
+                .expectNextMatches(m -> m.token().equals("t1"))
+                .expectNextMatches(m -> m.token().equals("t3"))
+                .verifyComplete();
+        verify(arquivo, never()).arquivada("id-t1");
+    }
+
+    private AdmissaoStreamService criar(Politica politica, int buffer, int historico) {
+        return new AdmissaoStreamService(fonte, registry, politica, buffer, historico, Duration.ofHours(1));
+    }
+
+    private List<String> assinar(String lastEventId) {
+        List<String> recebidos = new CopyOnWriteArrayList<>();
+        assinaturas.add(service.mudancas(lastEventId).subscribe(m -> recebidos.add(m.token())));
+        return recebidos;
+    }
+
+    private void emitir(String... tokens) {
+        for (String token : tokens) {
+            changeStream.tryEmitNext(mudanca(token));
+        }
+    }
+
+    private static Mudanca mudanca(String token) {
+        return new Mudanca(token, AdmissaoStreamService.EVENTO_ADMISSAO, Admissao.builder().id("id-" + token).build());
+    }
+
+    // devolve as respostas na ordem; registra o ponto de partida de cada abertura
+    private static class FonteFalsa implements AdmissaoStreamService.Fonte {
+
+        final Deque<Flux<Mudanca>> respostas = new ArrayDeque<>();
+        final List<String> chamadas = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public Flux<Mudanca> abrir(String resumeAfter, Instant inicio) {
+            chamadas.add(resumeAfter != null ? resumeAfter : "inicio");
+            return respostas.isEmpty() ? Flux.never() : respostas.poll();
+        }
+    }
+}
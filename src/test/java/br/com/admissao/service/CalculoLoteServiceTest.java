@@ -0,0 +1,153 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.dto.LoteResultadoDTO;
+import br.com.admissao.dto.ViaCepDTO;
+import br.com.admissao.model.Admissao;
+import br.com.admissao.repository.AdmissaoStore;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class CalculoLoteServiceTest {
+
+    @Mock
+    private AdmissaoStore store;
+
+    @Mock
+    private CepResolver cepResolver;
+
+    private CalculoLoteService loteService;
+
+    @BeforeEach
+    void setUp() {
+        CalculoService calculoService = new CalculoService(store, cepResolver);
+        loteService = new CalculoLoteService(calculoService, store, cepResolver,
+                new CalculoRequestValidacao(CalculoRequestValidacao.Modo.BEAN_VALIDATION,
+                        Validation.buildDefaultValidatorFactory().getValidator()), 2, 4, Duration.ofMillis(50));
+    }
+
+    @Test
+    void processar_shouldDedupCeps_batchInserts_andReportErrorsPerRecord() {
+        ViaCepDTO endereco = new ViaCepDTO();
+        endereco.setCep("66050-080");
+        endereco.setLocalidade("Belém");
+
+        List<String> ids = new CopyOnWriteArrayList<>();
+        when(cepResolver.buscarPorCep("66050080")).thenReturn(Mono.just(endereco));
+        when(cepResolver.buscarPorCep("00000000")).thenReturn(Mono.empty());
+        when(store.insertAllUnordered(anyList())).thenAnswer(inv -> {
+            List<Admissao> lote = inv.getArgument(0);
+            lote.forEach(a -> ids.add(a.getId()));
+            return Mono.just(Map.of());
+        });
+
+        Flux<CalculoRequestDTO> entrada = Flux.just(
+                request("66050080"),
+                request("66050-080"),
+                request("abc"),               // inválido
+                request("66050080"),
+                request("00000000"));         // CEP inexistente
+
+        List<LoteResultadoDTO> resultados = loteService.processar(entrada).collectList().block();
+
+        assertThat(resultados).hasSize(5);
+        Map<Long, LoteResultadoDTO> porIndice = resultados.stream()
+                .collect(Collectors.toMap(LoteResultadoDTO::getIndice, Function.identity()));
+
+        assertThat(porIndice.get(0L).getStatus()).isEqualTo(LoteResultadoDTO.Status.CRIADO);
+        assertThat(porIndice.get(0L).getResultado().getEndereco().getLocalidade()).isEqualTo("Belém");
+        assertThat(ids).hasSize(3).doesNotContainNull().doesNotHaveDuplicates()
+                .contains(porIndice.get(0L).getResultado().getId());
+        assertThat(porIndice.get(1L).getStatus()).isEqualTo(LoteResultadoDTO.Status.CRIADO);
+        assertThat(porIndice.get(3L).getStatus()).isEqualTo(LoteResultadoDTO.Status.CRIADO);
+        assertThat(porIndice.get(2L).getErros())
+                .containsExactly("cep: CEP inválido. Formato esperado: 12345-678 ou 12345678");
+        assertThat(porIndice.get(4L).getErros())
+                .containsExactly("ViaCEP não retornou dados para o CEP: 00000000");
+
+        // uma consulta por CEP distinto e gravações agrupadas (3 válidos, batch-size 2)
+        verify(cepResolver, times(1)).buscarPorCep("66050080");
+        verify(cepResolver, times(1)).buscarPorCep("00000000");
+        verify(cepResolver, never()).buscarPorCep("abc");
+        verify(store, atLeast(2)).insertAllUnordered(anyList());
+        verify(store, never()).save(org.mockito.ArgumentMatchers.any());
+    }
+
+    @Test
+    void processar_insertFailure_shouldReportErrorForEveryRecordOfTheBatch() {
+        ViaCepDTO endereco = new ViaCepDTO();
+        endereco.setCep("66050-080");
+        when(cepResolver.buscarPorCep(anyString())).thenReturn(Mono.just(endereco));
+        when(store.insertAllUnordered(anyList())).thenReturn(Mono.error(new IllegalStateException("mongo fora")));
+
+        List<LoteResultadoDTO> resultados = loteService.processar(Flux.just(request("66050080"), request("66050080")))
+                .collectList().block();
+
+        assertThat(resultados).hasSize(2)
+                .allSatisfy(r -> {
+                    assertThat(r.getStatus()).isEqualTo(LoteResultadoDTO.Status.ERRO);
+                    assertThat(r.getErros()).containsExactly("Falha ao persistir o registro: mongo fora");
+                });
+    }
+
+    @Test
+    void processar_rejectedDocument_shouldReportErrorOnlyForItsRecord() {
+        ViaCepDTO endereco = new ViaCepDTO();
+        endereco.setCep("66050-080");
+        when(cepResolver.buscarPorCep(anyString())).thenReturn(Mono.just(endereco));
+        // o bulk write rejeita só o de salário 4000; o outro fica gravado
+        when(store.insertAllUnordered(anyList())).thenAnswer(inv -> {
+            List<Admissao> lote = inv.getArgument(0);
+            Map<Integer, Throwable> rejeitados = new HashMap<>();
+            for (int i = 0; i < lote.size(); i++) {
+                if (lote.get(i).getSalarioBruto().compareTo(BigDecimal.valueOf(4000)) == 0) {
+                    rejeitados.put(i, new IllegalStateException("E11000 duplicate key"));
+                }
+            }
+            return Mono.just(rejeitados);
+        });
+
+        List<LoteResultadoDTO> resultados = loteService.processar(Flux.just(
+                        request("66050080"), request("66050080", BigDecimal.valueOf(4000))))
+                .collectList().block();
+
+        Map<Long, LoteResultadoDTO> porIndice = resultados.stream()
+                .collect(Collectors.toMap(LoteResultadoDTO::getIndice, Function.identity()));
+        assertThat(porIndice.get(0L).getStatus()).isEqualTo(LoteResultadoDTO.Status.CRIADO);
+        assertThat(porIndice.get(1L).getStatus()).isEqualTo(LoteResultadoDTO.Status.ERRO);
+        assertThat(porIndice.get(1L).getErros()).containsExactly("Falha ao persistir o registro: E11000 duplicate key");
+    }
+
+    private CalculoRequestDTO request(String cep) {
+        return request(cep, BigDecimal.valueOf(3500));
+    }
+
+    private CalculoRequestDTO request(String cep, BigDecimal salario) {
+        return CalculoRequestDTO.builder()
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(salario)
+                .cep(cep)
+                .build();
+    }
+}
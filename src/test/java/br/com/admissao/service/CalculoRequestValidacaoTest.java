@@ -0,0 +1,111 @@
+package br.com.admissao.service;
+
+import br.com.admissao.controller.CalculoController;
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.exception.ErrorResponse;
+import br.com.admissao.exception.GlobalExceptionHandler;
+import br.com.admissao.exception.ValidacaoException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CalculoRequestValidacaoTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private static final LocalDate HOJE = LocalDate.now();
+    private static final List<LocalDate> DATAS = Arrays.asList(null, HOJE.minusYears(3), HOJE, HOJE.plusDays(1));
+    private static final List<BigDecimal> SALARIOS = Arrays.asList(null, new BigDecimal("-1"), BigDecimal.ZERO,
+            new BigDecimal("0.00"), new BigDecimal("0.01"), new BigDecimal("3500.00"));
+    private static final List<String> CEPS = Arrays.asList(null, "", " ", "66050080", "66050-080", "6605008",
+            "660500800", "66050_080", "6605-0080", "abcdefgh", " 66050080", "66050-08a", "６６０５００８０");
+
+    private final CalculoRequestValidacao beanValidation =
+            new CalculoRequestValidacao(CalculoRequestValidacao.Modo.BEAN_VALIDATION, VALIDATOR);
+    private final CalculoRequestValidacao rapida =
+            new CalculoRequestValidacao(CalculoRequestValidacao.Modo.RAPIDA, VALIDATOR);
+
+    @Test
+    void validar_rapida_shouldMatchBeanValidationForAllCombinations() {
+        for (CalculoRequestDTO dto : combinacoes()) {
+            assertThat(rapida.validar(dto)).as(dto.toString()).isEqualTo(beanValidation.validar(dto));
+        }
+    }
+
+    @Test
+    void errorBody_rapida_shouldBeIdenticalToValidAnnotation() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/calculos"));
+
+        for (CalculoRequestDTO dto : combinacoes()) {
+            List<String> erros = rapida.validar(dto);
+            if (erros.isEmpty()) {
+                continue;
+            }
+            ErrorResponse atual = handler.handleWebExchangeBind(valid(dto), exchange).getBody();
+            ResponseEntity<ErrorResponse> rapido = handler.handleValidacao(new ValidacaoException(erros), exchange);
+
+            assertThat(rapido.getStatusCode().value()).isEqualTo(400);
+            assertThat(rapido.getBody())
+                    .as(dto.toString())
+                    .usingRecursiveComparison()
+                    // a ordem das violações do @Valid não é definida (Set); o modo rápido ordena
+                    .ignoringCollectionOrder()
+                    .ignoringFields("timestamp")
+                    .isEqualTo(atual);
+        }
+    }
+
+    @Test
+    void validarOuFalhar_shouldThrowStacklessException() {
+        CalculoRequestDTO dto = CalculoRequestDTO.builder().cep("123").build();
+
+        assertThatThrownBy(() -> rapida.validarOuFalhar(dto))
+                .isInstanceOfSatisfying(ValidacaoException.class, e -> {
+                    assertThat(e.getStackTrace()).isEmpty();
+                    assertThat(e.getMensagens()).containsExactly(CalculoRequestValidacao.CEP_INVALIDO,
+                            CalculoRequestValidacao.DATA_OBRIGATORIA, CalculoRequestValidacao.SALARIO_OBRIGATORIO);
+                });
+    }
+
+    // o que o @Valid do WebFlux produz para o corpo do POST
+    private static WebExchangeBindException valid(CalculoRequestDTO dto) {
+        try {
+            MethodParameter parametro = new MethodParameter(
+                    CalculoController.class.getMethod("calcular", CalculoRequestDTO.class, String.class), 0);
+            BeanPropertyBindingResult resultado = new BeanPropertyBindingResult(dto, "calculoRequestDTO");
+            new SpringValidatorAdapter(VALIDATOR).validate(dto, resultado);
+            return new WebExchangeBindException(parametro, resultado);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<CalculoRequestDTO> combinacoes() {
+        List<CalculoRequestDTO> dtos = new ArrayList<>();
+        for (LocalDate data : DATAS) {
+            for (BigDecimal salario : SALARIOS) {
+                for (String cep : CEPS) {
+                    dtos.add(new CalculoRequestDTO(data, salario, cep));
+                }
+            }
+        }
+        return dtos;
+    }
+}
@@ -1,41 +1,64 @@
 package br.com.admissao.service;
 
+import br.com.admissao.dto.AdmissaoResumoDTO;
 import br.com.admissao.dto.CalculoRequestDTO;
 import br.com.admissao.dto.CalculoResponseDTO;
 import br.com.admissao.dto.ViaCepDTO;
 import br.com.admissao.exception.ApiException;
 import br.com.admissao.model.Admissao;
-import br.com.admissao.repository.AdmissaoRepository;
+import br.com.admissao.repository.AdmissaoStore;
+import br.com.admissao.repository.ArquivoAdmissoes;
+import br.com.admissao.repository.EstatisticasRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import br.com.admissao.util.KeysetCursor;
+import org.bson.Document;
 import org.mockito.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
 class CalculoServiceTest {
 
     @Mock
-    private AdmissaoRepository repository;
+    private AdmissaoStore store;
 
     @Mock
-    private ViaCepClient viaCepClient;
+    private CepResolver cepResolver;
+
+    @Mock
+    private EstatisticasRollup estatisticas;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
 
-    @InjectMocks
     private CalculoService service;
 
     private CalculoRequestDTO request;
 
     @BeforeEach
     void setUp() {
+        service = new CalculoService(store, cepResolver, null, estatisticas, registry, null);
         request = CalculoRequestDTO.builder()
                 .dataAdmissao(LocalDate.of(2022, 5, 10))
                 .salarioBruto(BigDecimal.valueOf(3500))
@@ -61,8 +84,9 @@ class CalculoServiceTest {
         viaCepDTO.setCep("66050-080");
         viaCepDTO.setLocalidade("Belém");
 
-        when(repository.save(any(Admissao.class))).thenReturn(saved);
-        when(viaCepClient.buscarPorCep(anyString())).thenReturn(Mono.just(viaCepDTO));
+        when(store.save(any(Admissao.class))).thenReturn(Mono.just(saved));
+        when(cepResolver.buscarPorCep(anyString())).thenReturn(Mono.just(viaCepDTO));
+        when(estatisticas.registrar(List.of(saved))).thenReturn(Mono.empty());
 
         // act
         Mono<CalculoResponseDTO> resultMono = service.calcularESalvarReactive(request);
@@ -80,13 +104,20 @@ class CalculoServiceTest {
                 .verifyComplete();
 
         // verify interactions
-        verify(repository, times(1)).save(any(Admissao.class));
-        verify(viaCepClient, times(1)).buscarPorCep("66050080");
+        verify(store, times(1)).save(any(Admissao.class));
+        verify(cepResolver, times(1)).buscarPorCep("66050080");
+        verify(estatisticas, times(1)).registrar(List.of(saved));
+
+        // uma medição por etapa, sem o CEP nas tags
+        for (String etapa : List.of("save", "cep", "total")) {
+            org.assertj.core.api.Assertions.assertThat(registry.get("admissao.calculo.etapa")
+                    .tags("etapa", etapa, "resultado", "sucesso").timer().count()).isEqualTo(1);
+        }
     }
 
     @Test
     void calcularESalvarReactive_viaCepEmpty_shouldEmitApiException() {
-        // arrange: repository returns saved entity, but viaCep returns empty
+        // arrange: store returns saved entity, but viaCep returns empty
         Admissao saved = Admissao.builder()
                 .id("id-empty")
                 .dataAdmissao(request.getDataAdmissao())
@@ -94,8 +125,9 @@ class CalculoServiceTest {
                 .criadoEm(LocalDateTime.now())
                 .build();
 
-        when(repository.save(any(Admissao.class))).thenReturn(saved);
-        when(viaCepClient.buscarPorCep(anyString())).thenReturn(Mono.empty());
+        when(store.save(any(Admissao.class))).thenReturn(Mono.just(saved));
+        when(cepResolver.buscarPorCep(anyString())).thenReturn(Mono.empty());
+        when(store.deleteById("id-empty")).thenReturn(Mono.empty());
 
         // act
         Mono<CalculoResponseDTO> resultMono = service.calcularESalvarReactive(request);
@@ -107,7 +139,271 @@ class CalculoServiceTest {
                                 && throwable.getMessage().contains("ViaCEP não retornou dados"))
                 .verify();
 
-        verify(repository, times(1)).save(any(Admissao.class));
-        verify(viaCepClient, times(1)).buscarPorCep("66050080");
+        verify(store, times(1)).save(any(Admissao.class));
+        verify(cepResolver, times(1)).buscarPorCep("66050080");
+        // compensação: o registro sem endereço não fica órfão nem entra nas estatísticas
+        verify(store, times(1)).deleteById("id-empty");
+        verifyNoInteractions(estatisticas);
+        org.assertj.core.api.Assertions.assertThat(registry.get("admissao.calculo.etapa")
+                .tags("etapa", "cep", "resultado", "vazio").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void calcularESalvarReactive_shouldRunSaveAndCepConcurrently() {
+        Admissao saved = Admissao.builder().id("id-zip").criadoEm(LocalDateTime.now()).build();
+        ViaCepDTO viaCepDTO = new ViaCepDTO();
+        viaCepDTO.setCep("66050-080");
+
+        when(store.save(any(Admissao.class)))
+                .thenAnswer(inv -> Mono.delay(Duration.ofMillis(100)).thenReturn(saved));
+        when(cepResolver.buscarPorCep(anyString()))
+                .thenAnswer(inv -> Mono.delay(Duration.ofMillis(100)).thenReturn(viaCepDTO));
+        when(estatisticas.registrar(anyList())).thenReturn(Mono.empty());
+
+        // em sequência seriam 200ms; em paralelo a resposta sai aos 100ms
+        StepVerifier.withVirtualTime(() -> service.calcularESalvarReactive(request))
+                .thenAwait(Duration.ofMillis(100))
+                .assertNext(resp -> org.assertj.core.api.Assertions.assertThat(resp.getId()).isEqualTo("id-zip"))
+                .verifyComplete();
+    }
+
+    @Test
+    void calcularESalvarReactive_cepError_shouldDeleteSavedAndPropagate() {
+        Admissao saved = Admissao.builder().id("id-erro").criadoEm(LocalDateTime.now()).build();
+
+        when(store.save(any(Admissao.class))).thenReturn(Mono.just(saved));
+        when(cepResolver.buscarPorCep(anyString())).thenReturn(Mono.error(new ApiException("Erro ao consultar ViaCEP")));
+        when(store.deleteById("id-erro")).thenReturn(Mono.error(new IllegalStateException("mongo fora")));
+
+        // mesmo com falha na compensação, o erro devolvido é o do CEP
+        StepVerifier.create(service.calcularESalvarReactive(request))
+                .expectErrorMessage("Erro ao consultar ViaCEP")
+                .verify();
+
+        verify(store, times(1)).deleteById("id-erro");
+    }
+
+    @Test
+    void calcularESalvarReactive_statisticsFailure_shouldStillReturnCreated() {
+        Admissao saved = Admissao.builder().id("id-stats").criadoEm(LocalDateTime.now()).build();
+        ViaCepDTO viaCepDTO = new ViaCepDTO();
+        viaCepDTO.setCep("66050-080");
+
+        when(store.save(any(Admissao.class))).thenReturn(Mono.just(saved));
+        when(cepResolver.buscarPorCep(anyString())).thenReturn(Mono.just(viaCepDTO));
+        when(estatisticas.registrar(anyList())).thenReturn(Mono.error(new IllegalStateException("mongo fora")));
+
+        // a admissão já está gravada; o rollup é corrigido pela reconstrução
+        StepVerifier.create(service.calcularESalvarReactive(request))
+                .assertNext(resp -> assertThat(resp.getId()).isEqualTo("id-stats"))
+                .verifyComplete();
+        verify(store, never()).deleteById(anyString());
+    }
+
+    // ---------------- tempo de casa ----------------
+
+    @Test
+    void filtrarPorTempoDeCasa_shouldQueryDateRange_andRecomputeTenureForReference() {
+        LocalDate referencia = LocalDate.of(2024, 5, 10);
+        Pageable pageable = PageRequest.of(0, 20);
+        // gravada com o tempo de casa da época do cálculo
+        Admissao antiga = Admissao.builder().id("id-1").dataAdmissao(LocalDate.of(2020, 3, 15)).anos(0).build();
+        when(store.findByDataAdmissaoBetween(any(), any(), any()))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(antiga), pageable, 1)));
+
+        StepVerifier.create(service.filtrarPorTempoDeCasa(2, 5, referencia, pageable))
+                .assertNext(page -> {
+                    Admissao a = page.getContent().get(0);
+                    assertThat(a.getAnos()).isEqualTo(4);
+                    assertThat(a.getMeses()).isEqualTo(1);
+                    assertThat(a.getDias()).isEqualTo(25);
+                })
+                .verifyComplete();
+
+        // 2 a 5 anos completos em 10/05/2024: admitidos em (10/05/2018, 10/05/2022], exclusivo nas duas pontas
+        verify(store).findByDataAdmissaoBetween(LocalDate.of(2018, 5, 10), LocalDate.of(2022, 5, 11), pageable);
+    }
+
+    @Test
+    void filtrarPorTempoDeCasa_maxBelowMin_shouldBeRejected() {
+        assertThatThrownBy(() -> service.filtrarPorTempoDeCasa(5, 2, null, PageRequest.of(0, 20)))
+                .isInstanceOf(ServerWebInputException.class);
+        verifyNoInteractions(store);
+    }
+
+    // ---------------- paginação por cursor ----------------
+    @Test
+    void listarPorCursor_shouldFetchSizePlusOne_andEmitNextCursor() {
+        LocalDateTime t = LocalDateTime.of(2025, 8, 5, 11, 2, 22);
+        Admissao a1 = Admissao.builder().id("68920eee582676dd86dc82b3").criadoEm(t).build();
+        Admissao a2 = Admissao.builder().id("68920eee582676dd86dc82b2").criadoEm(t.minusMinutes(1)).build();
+        Admissao a3 = Admissao.builder().id("68920eee582676dd86dc82b1").criadoEm(t.minusMinutes(2)).build();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(store.find(query.capture())).thenReturn(Mono.just(List.of(a1, a2, a3)));
+
+        StepVerifier.create(service.listarPorCursor(Sort.Direction.DESC, null, 2))
+                .assertNext(pagina -> {
+                    assertThat(pagina.getItems()).containsExactly(a1, a2);
+                    assertThat(pagina.isHasNext()).isTrue();
+                    KeysetCursor next = KeysetCursor.decode(pagina.getNextCursor(), "criadoEm", Sort.Direction.DESC);
+                    assertThat(next.getValor()).isEqualTo(a2.getCriadoEm());
+                    assertThat(next.getId()).isEqualTo(a2.getId());
+                })
+                .verifyComplete();
+
+        assertThat(query.getValue().getLimit()).isEqualTo(3);
+        assertThat(query.getValue().getSortObject()).isEqualTo(new Document("criadoEm", -1).append("id", -1));
+        assertThat(query.getValue().getQueryObject()).isEmpty();
+        verify(store, never()).findAll(any());
+    }
+
+    @Test
+    void filtrarPorSalarioPorCursor_withCursor_shouldSeekAfterLastKey() {
+        Admissao ultimo = Admissao.builder().id("68920eee582676dd86dc82b3").salarioBruto(new BigDecimal("4200.00")).build();
+        String token = KeysetCursor.of(ultimo, "salarioBruto", Sort.Direction.ASC).encode();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(store.find(query.capture())).thenReturn(Mono.just(List.of()));
+
+        StepVerifier.create(service.filtrarPorSalarioPorCursor(BigDecimal.valueOf(3000), Sort.Direction.ASC, token, 10))
+                .assertNext(pagina -> {
+                    assertThat(pagina.getItems()).isEmpty();
+                    assertThat(pagina.isHasNext()).isFalse();
+                    assertThat(pagina.getNextCursor()).isNull();
+                })
+                .verifyComplete();
+
+        String filtro = query.getValue().getQueryObject().toJson();
+        assertThat(filtro).contains("$and").contains("$or").contains("$gte").contains("$gt");
+    }
+
+    @Test
+    void listarPorCursor_cursorFromAnotherSort_shouldBeRejected() {
+        Admissao ultimo = Admissao.builder().id("x").criadoEm(LocalDateTime.now()).build();
+        String token = KeysetCursor.of(ultimo, "criadoEm", Sort.Direction.ASC).encode();
+
+        assertThatThrownBy(() -> service.listarPorCursor(Sort.Direction.DESC, token, 10))
+                .isInstanceOf(ServerWebInputException.class);
+        assertThatThrownBy(() -> service.listarPorCursor(Sort.Direction.DESC, "nao-e-um-cursor", 10))
+                .isInstanceOf(ServerWebInputException.class);
+    }
+
+    // ---------------- camada de arquivo ----------------
+    @Test
+    void filtrarPorData_withArchivedMonths_shouldQueryBothTiersAndSumCounts() {
+        ArquivoAdmissoes arquivo = mock(ArquivoAdmissoes.class);
+        service = new CalculoService(store, cepResolver, null, estatisticas, registry, arquivo);
+        LocalDate inicio = LocalDate.of(2023, 3, 1);
+        List<String> arquivos = List.of("admissoes_arquivo_2023_06");
+        Admissao a1 = Admissao.builder().id("a1").build();
+
+        when(arquivo.colecoes(inicio)).thenReturn(arquivos);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(arquivo.buscar(query.capture(), any(), any(), eq(arquivos))).thenReturn(Mono.just(List.of(a1)));
+        when(arquivo.contar(any(), any(), eq(arquivos))).thenReturn(Mono.just(41L));
+
+        StepVerifier.create(service.filtrarPorData(inicio, LocalDate.of(2024, 1, 1), PageRequest.of(2, 20)))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).containsExactly(a1);
+                    assertThat(page.getTotalElements()).isEqualTo(41);
+                })
+                .verifyComplete();
+
+        assertThat(query.getValue().getSkip()).isEqualTo(40);
+        assertThat(query.getValue().getLimit()).isEqualTo(20);
+        assertThat(query.getValue().getQueryObject()).containsKey("dataAdmissao");
+        verify(store, never()).findByDataAdmissaoBetween(any(), any(), any());
+    }
+
+    @Test
+    void filtrarPorData_withoutArchivedMonths_shouldUseStorePage() {
+        ArquivoAdmissoes arquivo = mock(ArquivoAdmissoes.class);
+        service = new CalculoService(store, cepResolver, null, estatisticas, registry, arquivo);
+        LocalDate inicio = LocalDate.of(2024, 3, 1);
+        LocalDate fim = LocalDate.of(2024, 6, 1);
+        Pageable pageable = PageRequest.of(0, 20);
+
+        when(arquivo.colecoes(inicio)).thenReturn(List.of());
+        when(store.findByDataAdmissaoBetween(inicio, fim, pageable)).thenReturn(Mono.just(new PageImpl<>(List.of(), pageable, 0)));
+
+        StepVerifier.create(service.filtrarPorData(inicio, fim, pageable))
+                .assertNext(page -> assertThat(page.getTotalElements()).isZero())
+                .verifyComplete();
+        verify(arquivo, never()).buscar(any(), any(), any(), anyList());
+    }
+
+    // ---------------- projeção (fields=) ----------------
+    @Test
+    void listarResumo_shouldProjectFields_fetchSizePlusOne_andSkipCount() {
+        Admissao a1 = Admissao.builder().salarioBruto(new BigDecimal("4200.00")).dataAdmissao(LocalDate.of(2023, 1, 10)).build();
+        Admissao a2 = Admissao.builder().salarioBruto(new BigDecimal("3100.00")).dataAdmissao(LocalDate.of(2022, 3, 1)).build();
+        Admissao a3 = Admissao.builder().salarioBruto(new BigDecimal("3000.00")).dataAdmissao(LocalDate.of(2021, 7, 5)).build();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(store.find(query.capture())).thenReturn(Mono.just(List.of(a1, a2, a3)));
+
+        Set<String> campos = Set.of("dataAdmissao", "salarioBruto");
+        StepVerifier.create(service.filtrarPorSalarioResumo(BigDecimal.valueOf(3000), campos,
+                        PageRequest.of(1, 2, Sort.by("salarioBruto").descending()), false))
+                .assertNext(pagina -> {
+                    assertThat(pagina.getItems()).containsExactly(AdmissaoResumoDTO.of(a1, campos), AdmissaoResumoDTO.of(a2, campos));
+                    assertThat(pagina.getItems().get(0).getAnos()).isNull();
+                    assertThat(pagina.isHasNext()).isTrue();
+                    assertThat(pagina.getNextPage()).isEqualTo(2);
+                    assertThat(pagina.getTotal()).isNull();
+                })
+                .verifyComplete();
+
+        assertThat(query.getValue().getSkip()).isEqualTo(2);
+        assertThat(query.getValue().getLimit()).isEqualTo(3);
+        assertThat(query.getValue().getFieldsObject())
+                .isEqualTo(new Document("dataAdmissao", 1).append("salarioBruto", 1).append("id", 0));
+        verify(store, never()).count(any());
+        verify(store, never()).findBySalarioBrutoGreaterThanEqual(any(), any());
+    }
+
+    @Test
+    void listarResumo_withTotal_shouldCountOnlyWhenPageDoesNotRevealIt() {
+        Admissao a1 = Admissao.builder().id("68920eee582676dd86dc82b3").build();
+        when(store.find(any())).thenReturn(Mono.just(List.of(a1, a1, a1)), Mono.just(List.of(a1)));
+        ArgumentCaptor<Query> count = ArgumentCaptor.forClass(Query.class);
+        when(store.count(count.capture())).thenReturn(Mono.just(41L));
+
+        StepVerifier.create(service.listarResumo(Set.of("id"), PageRequest.of(0, 2), true))
+                .assertNext(pagina -> assertThat(pagina.getTotal()).isEqualTo(41L))
+                .verifyComplete();
+        assertThat(count.getValue().getLimit()).isZero();
+        assertThat(count.getValue().getFieldsObject()).isEmpty();
+
+        // última página: total = offset + itens, sem count
+        StepVerifier.create(service.listarResumo(Set.of("id"), PageRequest.of(3, 2), true))
+                .assertNext(pagina -> {
+                    assertThat(pagina.getTotal()).isEqualTo(7L);
+                    assertThat(pagina.getNextPage()).isNull();
+                })
+                .verifyComplete();
+        verify(store, times(1)).count(any());
+    }
+
+    @Test
+    void listarResumoPorCursor_shouldReadSortKeyAndId_forNextCursor() {
+        LocalDateTime t = LocalDateTime.of(2025, 8, 5, 11, 2, 22);
+        Admissao a1 = Admissao.builder().id("68920eee582676dd86dc82b3").criadoEm(t).salarioBruto(BigDecimal.TEN).build();
+        Admissao a2 = Admissao.builder().id("68920eee582676dd86dc82b2").criadoEm(t.minusMinutes(1)).salarioBruto(BigDecimal.ONE).build();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(store.find(query.capture())).thenReturn(Mono.just(List.of(a1, a2)));
+
+        StepVerifier.create(service.listarResumoPorCursor(Set.of("salarioBruto"), Sort.Direction.DESC, null, 1))
+                .assertNext(pagina -> {
+                    assertThat(pagina.getItems()).containsExactly(AdmissaoResumoDTO.builder().salarioBruto(BigDecimal.TEN).build());
+                    assertThat(KeysetCursor.decode(pagina.getNextCursor(), "criadoEm", Sort.Direction.DESC).getId())
+                            .isEqualTo(a1.getId());
+                })
+                .verifyComplete();
+
+        assertThat(query.getValue().getFieldsObject())
+                .isEqualTo(new Document("salarioBruto", 1).append("id", 1).append("criadoEm", 1));
     }
 }
@@ -0,0 +1,79 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.ViaCepDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class CompositeCepResolverTest {
+
+    @Mock
+    private CepResolver remote;
+
+    @Mock
+    private CepResolver local;
+
+    private ViaCepDTO endereco;
+
+    @BeforeEach
+    void setUp() {
+        endereco = new ViaCepDTO();
+        endereco.setCep("66050-080");
+    }
+
+    @Test
+    void localFirst_miss_shouldFallBackToRemote() {
+        when(local.buscarPorCep("66050080")).thenReturn(Mono.empty());
+        when(remote.buscarPorCep("66050080")).thenReturn(Mono.just(endereco));
+
+        StepVerifier.create(new CompositeCepResolver(CepResolverMode.LOCAL_FIRST, remote, local).buscarPorCep("66050080"))
+                .expectNext(endereco)
+                .verifyComplete();
+    }
+
+    @Test
+    void localFirst_hit_shouldNotCallRemote() {
+        when(local.buscarPorCep("66050080")).thenReturn(Mono.just(endereco));
+
+        StepVerifier.create(new CompositeCepResolver(CepResolverMode.LOCAL_FIRST, remote, local).buscarPorCep("66050080"))
+                .expectNext(endereco)
+                .verifyComplete();
+
+        verifyNoInteractions(remote);
+    }
+
+    @Test
+    void remoteFirst_error_shouldUseLocal() {
+        when(remote.buscarPorCep("66050080")).thenReturn(Mono.error(new TimeoutException()));
+        when(local.buscarPorCep("66050080")).thenReturn(Mono.just(endereco));
+
+        StepVerifier.create(new CompositeCepResolver(CepResolverMode.REMOTE_FIRST, remote, local).buscarPorCep("66050080"))
+                .expectNext(endereco)
+                .verifyComplete();
+    }
+
+    @Test
+    void remoteFirst_notFound_isAuthoritative() {
+        when(remote.buscarPorCep("66050080")).thenReturn(Mono.empty());
+
+        StepVerifier.create(new CompositeCepResolver(CepResolverMode.REMOTE_FIRST, remote, local).buscarPorCep("66050080"))
+                .verifyComplete();
+
+        verifyNoInteractions(local);
+    }
+
+    @Test
+    void localOnly_withoutIndex_shouldFailFast() {
+        assertThatThrownBy(() -> new CompositeCepResolver(CepResolverMode.LOCAL_ONLY, remote, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.admissao.service;
+
+import br.com.admissao.model.EstatisticaMensal;
+import br.com.admissao.repository.EstatisticasRollup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class EstatisticasServiceTest {
+
+    @Mock
+    private EstatisticasRollup rollup;
+
+    @Test
+    void consultar_shouldMapRollupToAveragesAndPercentiles() {
+        // 10 admissões: 8 entre 3000 e 4000, 2 entre 10000 e 12000 (máximo observado)
+        EstatisticaMensal marco = EstatisticaMensal.builder()
+                .mes("2024-03")
+                .quantidade(10)
+                .somaSalario(new BigDecimal("50000"))
+                .salarioMinimo(new BigDecimal("3000"))
+                .salarioMaximo(new BigDecimal("12000"))
+                .faixasSalario(Map.of("10000", 2L, "3000", 8L))
+                .tempoDeCasa(Map.of("10", 1L, "2", 9L))
+                .build();
+        YearMonth inicio = YearMonth.of(2024, 1);
+        YearMonth fim = YearMonth.of(2024, 12);
+        when(rollup.buscar(inicio, fim)).thenReturn(Flux.just(marco));
+
+        StepVerifier.create(new EstatisticasService(rollup, false).consultar(inicio, fim))
+                .assertNext(dto -> {
+                    assertThat(dto.getMes()).isEqualTo("2024-03");
+                    assertThat(dto.getSalarioMedio()).isEqualByComparingTo("5000");
+                    // p50: alvo 5 de 8 na faixa [3000, 4000) -> 3625
+                    assertThat(dto.getPercentis().get("p50")).isEqualByComparingTo("3625");
+                    // p90: alvo 9 -> metade da faixa [10000, 12000]
+                    assertThat(dto.getPercentis().get("p90")).isEqualByComparingTo("11000");
+                    assertThat(dto.getPercentis().get("p99")).isEqualByComparingTo("11900");
+                    // chaves em ordem numérica
+                    assertThat(dto.getFaixasSalario().keySet()).containsExactly("3000", "10000");
+                    assertThat(dto.getTempoDeCasa().keySet()).containsExactly("2", "10");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void consultar_inicioAfterFim_shouldBeBadRequest() {
+        EstatisticasService service = new EstatisticasService(rollup, false);
+
+        assertThatThrownBy(() -> service.consultar(YearMonth.of(2024, 5), YearMonth.of(2024, 1)))
+                .isInstanceOf(ServerWebInputException.class);
+        verifyNoInteractions(rollup);
+    }
+
+    @Test
+    void reconstruir_shouldRunOneAtATime() {
+        EstatisticasService service = new EstatisticasService(rollup, false);
+        when(rollup.reconstruir()).thenReturn(Mono.<Integer>never().timeout(Duration.ofMillis(200), Mono.just(3)));
+
+        Mono<Integer> primeira = service.reconstruir();
+        StepVerifier.create(primeira.zipWith(service.reconstruir().defaultIfEmpty(-1)))
+                .assertNext(t -> {
+                    assertThat(t.getT1()).isEqualTo(3);
+                    assertThat(t.getT2()).isEqualTo(-1); // a segunda encontrou a primeira em andamento
+                })
+                .verifyComplete();
+        verify(rollup, times(1)).reconstruir();
+    }
+}
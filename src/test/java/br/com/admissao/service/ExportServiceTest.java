@@ -0,0 +1,133 @@
+package br.com.admissao.service;
+
+import br.com.admissao.model.Admissao;
+import br.com.admissao.repository.AdmissaoStore;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private AdmissaoStore store;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(store, 2, Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @Test
+    void exportar_csv_shouldWriteHeaderAndOneLinePerRecord_inBlocks() {
+        when(store.stream(any(Query.class))).thenReturn(Flux.just(admissao("a"), admissao("b"), admissao("c")));
+
+        List<DataBuffer> buffers = exportService.exportar(ExportService.Formato.CSV, null, null, null,
+                DefaultDataBufferFactory.sharedInstance).collectList().block();
+
+        // cabeçalho + 2 blocos (2 linhas + 1 linha)
+        assertThat(buffers).hasSize(3);
+        assertThat(texto(buffers)).isEqualTo(ExportService.CSV_CABECALHO
+                + "a,2022-05-10,3500.00,1,2,3,1225.0000,2025-08-05T11:02:22\n"
+                + "b,2022-05-10,3500.00,1,2,3,1225.0000,2025-08-05T11:02:22\n"
+                + "c,2022-05-10,3500.00,1,2,3,1225.0000,2025-08-05T11:02:22\n");
+    }
+
+    @Test
+    void exportar_ndjson_shouldApplyFilters_andEmitOneJsonPerLine() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(store.stream(query.capture())).thenReturn(Flux.just(admissao("a"), admissao("b")));
+
+        String saida = texto(exportService.exportar(ExportService.Formato.NDJSON,
+                LocalDate.of(2022, 1, 1), LocalDate.of(2023, 1, 1), BigDecimal.valueOf(3000),
+                DefaultDataBufferFactory.sharedInstance).collectList().block());
+
+        assertThat(saida.split("\n")).hasSize(2).allMatch(l -> l.startsWith("{\"id\":") && l.endsWith("}"));
+        assertThat(query.getValue().getQueryObject()).containsKeys("dataAdmissao", "salarioBruto");
+        // dataAdmissao não inicia nenhum índice: percorre o de criadoEm, na ordem dele
+        assertThat(query.getValue().getHint()).isEqualTo(Admissao.INDICE_CRIADO_EM);
+        assertThat(query.getValue().getSortObject()).isEqualTo(new Document("criadoEm", -1).append("id", -1));
+    }
+
+    @Test
+    void exportar_onlyMin_shouldUseSalaryIndexWithoutSort() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(store.stream(query.capture())).thenReturn(Flux.empty());
+
+        exportService.exportar(ExportService.Formato.NDJSON, null, null, BigDecimal.valueOf(3000),
+                DefaultDataBufferFactory.sharedInstance).collectList().block();
+
+        assertThat(query.getValue().getHint()).isNull();
+        assertThat(query.getValue().getSortObject()).isEmpty();
+    }
+
+    @Test
+    void exportar_shouldPullFromCursorOnDemand() {
+        AtomicLong pedidos = new AtomicLong();
+        Flux<Admissao> cursor = Flux.fromStream(IntStream.range(0, 1_000_000).mapToObj(i -> admissao("id-" + i)))
+                .doOnRequest(pedidos::addAndGet);
+        when(store.stream(any(Query.class))).thenReturn(cursor);
+
+        List<DataBuffer> primeiros = exportService.exportar(ExportService.Formato.NDJSON, null, null, null,
+                DefaultDataBufferFactory.sharedInstance).take(3).collectList().block();
+
+        assertThat(primeiros).hasSize(3);
+        assertThat(pedidos.get()).isLessThan(1_000);
+    }
+
+    @Test
+    void exportar_withOnlyInicio_shouldBeBadRequest() {
+        assertThatThrownBy(() -> exportService.exportar(ExportService.Formato.CSV, LocalDate.now(), null, null,
+                DefaultDataBufferFactory.sharedInstance))
+                .isInstanceOf(ServerWebInputException.class);
+        verifyNoInteractions(store);
+    }
+
+    // ---------- helpers ----------
+
+    private String texto(List<DataBuffer> buffers) {
+        StringBuilder sb = new StringBuilder();
+        for (DataBuffer b : buffers) {
+            sb.append(b.toString(StandardCharsets.UTF_8));
+            DataBufferUtils.release(b);
+        }
+        return sb.toString();
+    }
+
+    private Admissao admissao(String id) {
+        return Admissao.builder()
+                .id(id)
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(new BigDecimal("3500.00"))
+                .anos(1)
+                .meses(2)
+                .dias(3)
+                .porcentagem35(new BigDecimal("1225.0000"))
+                .criadoEm(LocalDateTime.of(2025, 8, 5, 11, 2, 22))
+                .build();
+    }
+}
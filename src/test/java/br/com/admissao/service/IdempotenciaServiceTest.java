@@ -0,0 +1,137 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.CalculoRequestDTO;
+import br.com.admissao.dto.CalculoResponseDTO;
+import br.com.admissao.exception.ApiException;
+import br.com.admissao.model.RegistroIdempotencia;
+import br.com.admissao.repository.IdempotenciaStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class IdempotenciaServiceTest {
+
+    @Mock
+    private IdempotenciaStore store;
+
+    private IdempotenciaService service;
+    private final AtomicInteger calculos = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        service = new IdempotenciaService(store, new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+    }
+
+    @Test
+    void executar_concurrentDuplicates_shouldShareSingleCalculation() {
+        when(store.buscar("k1")).thenReturn(Mono.empty());
+        when(store.salvar(any())).thenReturn(Mono.empty());
+        Supplier<Mono<CalculoResponseDTO>> lento = () -> Mono.delay(Duration.ofMillis(100)).then(calculo("id-1").get());
+
+        StepVerifier.create(service.executar("k1", request("3500.00", "66050-080"), lento)
+                        .zipWith(service.executar("k1", request("3500", "66050080"), lento)))
+                .assertNext(t -> {
+                    assertThat(t.getT1().resposta().getId()).isEqualTo("id-1");
+                    assertThat(t.getT1().repetida()).isFalse();
+                    assertThat(t.getT2().resposta().getId()).isEqualTo("id-1");
+                    assertThat(t.getT2().repetida()).isTrue();
+                })
+                .verifyComplete();
+
+        assertThat(calculos).hasValue(1);
+        ArgumentCaptor<RegistroIdempotencia> registro = ArgumentCaptor.forClass(RegistroIdempotencia.class);
+        verify(store).salvar(registro.capture());
+        assertThat(registro.getValue().getChave()).isEqualTo("k1");
+        assertThat(registro.getValue().getResposta().getId()).isEqualTo("id-1");
+    }
+
+    @Test
+    void executar_replay_shouldBeServedFromMemory() {
+        when(store.buscar("k1")).thenReturn(Mono.empty());
+        when(store.salvar(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.executar("k1", request("3500", "66050080"), calculo("id-1")))
+                .expectNextMatches(r -> !r.repetida())
+                .verifyComplete();
+        StepVerifier.create(service.executar("k1", request("3500", "66050080"), calculo("id-2")))
+                .expectNextMatches(r -> r.repetida() && r.resposta().getId().equals("id-1"))
+                .verifyComplete();
+
+        assertThat(calculos).hasValue(1);
+        verify(store, times(1)).buscar("k1");
+        verify(store, times(1)).salvar(any());
+    }
+
+    @Test
+    void executar_sameKeyOtherPayload_shouldBeRejected() {
+        when(store.buscar("k1")).thenReturn(Mono.empty());
+        when(store.salvar(any())).thenReturn(Mono.empty());
+        service.executar("k1", request("3500", "66050080"), calculo("id-1")).block();
+
+        StepVerifier.create(service.executar("k1", request("4000", "66050080"), calculo("id-2")))
+                .expectError(ApiException.class)
+                .verify();
+        assertThat(calculos).hasValue(1);
+    }
+
+    @Test
+    void executar_registeredInMongo_shouldNotRecalculate() {
+        CalculoRequestDTO dto = request("3500", "66050080");
+        when(store.buscar("k1")).thenReturn(Mono.just(RegistroIdempotencia.builder()
+                .chave("k1")
+                .impressao(IdempotenciaService.impressao(dto))
+                .resposta(CalculoResponseDTO.builder().id("id-0").build())
+                .build()));
+
+        StepVerifier.create(service.executar("k1", dto, calculo("id-1")))
+                .expectNextMatches(r -> r.repetida() && r.resposta().getId().equals("id-0"))
+                .verifyComplete();
+        assertThat(calculos).hasValue(0);
+        verify(store, never()).salvar(any());
+    }
+
+    @Test
+    void executar_failure_shouldNotBeKept() {
+        when(store.buscar("k1")).thenReturn(Mono.empty());
+        when(store.salvar(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.executar("k1", request("3500", "66050080"),
+                        () -> Mono.error(new ApiException("ViaCEP indisponível"))))
+                .expectError(ApiException.class)
+                .verify();
+        StepVerifier.create(service.executar("k1", request("3500", "66050080"), calculo("id-1")))
+                .expectNextMatches(r -> !r.repetida() && r.resposta().getId().equals("id-1"))
+                .verifyComplete();
+    }
+
+    private Supplier<Mono<CalculoResponseDTO>> calculo(String id) {
+        return () -> Mono.fromSupplier(() -> {
+            calculos.incrementAndGet();
+            return CalculoResponseDTO.builder().id(id).build();
+        });
+    }
+
+    private static CalculoRequestDTO request(String salario, String cep) {
+        return CalculoRequestDTO.builder()
+                .dataAdmissao(LocalDate.of(2022, 5, 10))
+                .salarioBruto(new BigDecimal(salario))
+                .cep(cep)
+                .build();
+    }
+}
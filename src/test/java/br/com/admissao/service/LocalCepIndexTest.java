@@ -0,0 +1,97 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.ViaCepDTO;
+import br.com.admissao.util.CepIndexBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalCepIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void build_andLookup_shouldResolveKnownCeps() throws Exception {
+        Path csv = dir.resolve("ceps.csv");
+        Files.write(csv, List.of(
+                "cep;logradouro;complemento;bairro;localidade;uf;ddd;ibge",
+                "66050-080;Rua Curuçá;até 765/766;Telégrafo;Belém;PA;91;1501402",
+                "01001000;Praça da Sé;lado ímpar;Sé;São Paulo;SP;11;3550308",
+                "\"20040002\";\"Rua da Assembleia\";;Centro;Rio de Janeiro;RJ;21;3304557"
+        ), StandardCharsets.UTF_8);
+        Path idx = dir.resolve("ceps.idx");
+
+        int count = CepIndexBuilder.build(csv, idx, ';');
+        assertThat(count).isEqualTo(3);
+
+        try (LocalCepIndex index = LocalCepIndex.open(idx)) {
+            assertThat(index.size()).isEqualTo(3);
+
+            ViaCepDTO belem = index.lookup("66050080").orElseThrow();
+            assertThat(belem.getCep()).isEqualTo("66050-080");
+            assertThat(belem.getLogradouro()).isEqualTo("Rua Curuçá");
+            assertThat(belem.getComplemento()).isEqualTo("até 765/766");
+            assertThat(belem.getLocalidade()).isEqualTo("Belém");
+            assertThat(belem.getUf()).isEqualTo("PA");
+            assertThat(belem.getIbge()).isEqualTo("1501402");
+
+            assertThat(index.lookup("01001-000")).get()
+                    .extracting(ViaCepDTO::getLocalidade).isEqualTo("São Paulo");
+            assertThat(index.lookup("20040002")).get()
+                    .extracting(ViaCepDTO::getComplemento).isEqualTo("");
+
+            assertThat(index.lookup("99999999")).isEmpty();
+            assertThat(index.lookup("123")).isEmpty();
+
+            StepVerifier.create(index.buscarPorCep("99999-999")).verifyComplete();
+        }
+    }
+
+    @Test
+    void build_pipeDelimiter_shouldSplitLiterally() throws Exception {
+        Path csv = dir.resolve("ceps-pipe.csv");
+        Files.write(csv, List.of(
+                "cep|logradouro|complemento|bairro|localidade|uf|ddd|ibge",
+                "66050-080|Rua Curuçá|até 765/766|Telégrafo|Belém|PA|91|1501402",
+                "01001000|Praça da Sé||Sé|São Paulo|SP|11|3550308"
+        ), StandardCharsets.UTF_8);
+        Path idx = dir.resolve("ceps-pipe.idx");
+
+        assertThat(CepIndexBuilder.build(csv, idx, '|')).isEqualTo(2);
+
+        try (LocalCepIndex index = LocalCepIndex.open(idx)) {
+            ViaCepDTO belem = index.lookup("66050080").orElseThrow();
+            assertThat(belem.getLogradouro()).isEqualTo("Rua Curuçá");
+            assertThat(belem.getUf()).isEqualTo("PA");
+            assertThat(belem.getIbge()).isEqualTo("1501402");
+            assertThat(index.lookup("01001000")).get()
+                    .extracting(ViaCepDTO::getComplemento).isEqualTo("");
+        }
+    }
+
+    @Test
+    void open_invalidFile_shouldFail() throws Exception {
+        Path lixo = dir.resolve("lixo.idx");
+        Files.write(lixo, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        assertThatThrownBy(() -> LocalCepIndex.open(lixo))
+                .hasMessageContaining("índice de CEP válido");
+    }
+
+    @Test
+    void parseCep_shouldAcceptOnlyEightDigits() {
+        assertThat(CepIndexBuilder.parseCep("66050-080")).isEqualTo(66050080);
+        assertThat(CepIndexBuilder.parseCep("01001000")).isEqualTo(1001000);
+        assertThat(CepIndexBuilder.parseCep("cep")).isEqualTo(-1);
+        assertThat(CepIndexBuilder.parseCep("123456789")).isEqualTo(-1);
+    }
+}
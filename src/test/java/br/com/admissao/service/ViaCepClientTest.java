@@ -0,0 +1,115 @@
+package br.com.admissao.service;
+
+import br.com.admissao.dto.ViaCepDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViaCepClientTest {
+
+    private static final String ENCONTRADO = "{\"cep\":\"66050-080\",\"localidade\":\"Belém\",\"uf\":\"PA\"}";
+    private static final String NAO_ENCONTRADO = "{\"erro\":true}";
+
+    private final AtomicInteger chamadas = new AtomicInteger();
+    private AsyncCache<String, Optional<ViaCepDTO>> cache;
+
+    @BeforeEach
+    void setUp() {
+        chamadas.set(0);
+        cache = Caffeine.newBuilder().maximumSize(100).buildAsync();
+    }
+
+    @Test
+    void normalizarCep_shouldMatchRegexVersion() {
+        for (String cep : new String[]{"66050080", "66050-080", " 66050-080 ", "66.050-080", "-", "", "abc", "6a6b0"}) {
+            assertThat(ViaCepClient.normalizarCep(cep)).as(cep).isEqualTo(cep.replaceAll("\\D", ""));
+        }
+        String normalizado = "66050080";
+        assertThat(ViaCepClient.normalizarCep(normalizado)).isSameAs(normalizado);
+    }
+
+    @Test
+    void buscarPorCep_concurrentRequests_shouldShareSingleCall() {
+        ViaCepClient client = new ViaCepClient(webClient(ENCONTRADO, Duration.ofMillis(100)), cache);
+
+        // formatos diferentes do mesmo CEP caem na mesma chave normalizada
+        Flux<ViaCepDTO> concorrentes = Flux.merge(
+                client.buscarPorCep("66050080"),
+                client.buscarPorCep("66050-080"),
+                client.buscarPorCep("66050080"));
+
+        StepVerifier.create(concorrentes)
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertThat(chamadas.get()).isEqualTo(1);
+    }
+
+    @Test
+    void buscarPorCep_hit_shouldNotCallViaCepAgain() {
+        ViaCepClient client = new ViaCepClient(webClient(ENCONTRADO, Duration.ZERO), cache);
+
+        StepVerifier.create(client.buscarPorCep("66050080"))
+                .assertNext(v -> assertThat(v.getLocalidade()).isEqualTo("Belém"))
+                .verifyComplete();
+        StepVerifier.create(client.buscarPorCep("66050-080"))
+                .assertNext(v -> assertThat(v.getLocalidade()).isEqualTo("Belém"))
+                .verifyComplete();
+
+        assertThat(chamadas.get()).isEqualTo(1);
+    }
+
+    @Test
+    void buscarPorCep_notFound_shouldBeNegativelyCached() {
+        ViaCepClient client = new ViaCepClient(webClient(NAO_ENCONTRADO, Duration.ZERO), cache);
+
+        StepVerifier.create(client.buscarPorCep("00000000")).verifyComplete();
+        StepVerifier.create(client.buscarPorCep("00000000")).verifyComplete();
+
+        assertThat(chamadas.get()).isEqualTo(1);
+        assertThat(cache.synchronous().getIfPresent("00000000")).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    void buscarPorCep_error_shouldNotBeCached() {
+        WebClient falha = WebClient.builder()
+                .exchangeFunction(request -> {
+                    chamadas.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+                })
+                .build();
+        ViaCepClient client = new ViaCepClient(falha, cache);
+
+        StepVerifier.create(client.buscarPorCep("66050080")).expectError().verify();
+        StepVerifier.create(client.buscarPorCep("66050080")).expectError().verify();
+
+        assertThat(chamadas.get()).isEqualTo(2);
+    }
+
+    private WebClient webClient(String body, Duration latencia) {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    chamadas.incrementAndGet();
+                    return Mono.delay(latencia).thenReturn(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build());
+                })
+                .build();
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.admissao.service;
+
+import br.com.admissao.exception.ApiException;
+import br.com.admissao.util.JanelaLatencia;
+import br.com.admissao.util.RetryBudget;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViaCepResilienciaTest {
+
+    private final AtomicInteger chamadas = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void executar_slowCall_shouldHedgeAndReturnFirstResponse() {
+        JanelaLatencia janela = new JanelaLatencia(0.95, Duration.ofMillis(50), Duration.ofMillis(10), Duration.ofSeconds(1));
+        ViaCepResiliencia resiliencia = resiliencia(CircuitBreaker.ofDefaults("t"), new RetryBudget(0.1, 10), janela, 0);
+
+        // primeira chamada lenta, o hedge responde rápido
+        Mono<String> resposta = resiliencia.executar(() -> chamadas.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofSeconds(1)).thenReturn("lenta")
+                : Mono.delay(Duration.ofMillis(10)).thenReturn("hedge"), e -> true);
+
+        StepVerifier.create(resposta)
+                .expectNext("hedge")
+                .expectComplete()
+                .verify(Duration.ofMillis(500));
+
+        assertThat(chamadas.get()).isEqualTo(2);
+        assertThat(registry.counter("viacep.hedges").count()).isEqualTo(1);
+    }
+
+    @Test
+    void executar_transientError_shouldRetryWithinBudget() {
+        // saldo inicial de 2 fichas, sem reposição relevante durante o teste
+        ViaCepResiliencia resiliencia = resiliencia(CircuitBreaker.ofDefaults("t"), new RetryBudget(0, 2), null, 5);
+
+        Mono<String> sempreFalha = resiliencia.executar(() -> {
+            chamadas.incrementAndGet();
+            return Mono.error(new TimeoutException());
+        }, e -> e instanceof TimeoutException);
+
+        StepVerifier.create(sempreFalha).expectError(TimeoutException.class).verify();
+
+        // 1 original + 2 retries permitidos pelo orçamento (das 5 configuradas)
+        assertThat(chamadas.get()).isEqualTo(3);
+        assertThat(registry.counter("viacep.retries.negados").count()).isEqualTo(1);
+    }
+
+    @Test
+    void executar_outage_retriesShouldNotRefillBudget() {
+        // meia ficha por chamada lógica, sem reposição por tempo: 20 chamadas pagam 10 retries
+        // (se cada retry também depositasse, quase toda chamada ganharia um retry)
+        ViaCepResiliencia resiliencia = resiliencia(CircuitBreaker.ofDefaults("t"), new RetryBudget(0.5, 0), null, 3);
+
+        for (int i = 0; i < 20; i++) {
+            StepVerifier.create(resiliencia.executar(() -> {
+                chamadas.incrementAndGet();
+                return Mono.<String>error(new TimeoutException());
+            }, e -> e instanceof TimeoutException)).expectError(TimeoutException.class).verify();
+        }
+
+        assertThat(chamadas.get()).isEqualTo(30);
+        assertThat(registry.counter("viacep.retries.negados").count()).isEqualTo(20);
+    }
+
+    @Test
+    void executar_primaryFailsWhileHedgeInFlight_shouldWaitForHedge() {
+        JanelaLatencia janela = new JanelaLatencia(0.95, Duration.ofMillis(50), Duration.ofMillis(10), Duration.ofSeconds(1));
+        ViaCepResiliencia resiliencia = resiliencia(CircuitBreaker.ofDefaults("t"), new RetryBudget(0.1, 10), janela, 2);
+
+        // a primária falha depois que o hedge já foi disparado; o hedge responde em seguida
+        Mono<String> resposta = resiliencia.executar(() -> chamadas.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(100)).then(Mono.<String>error(new TimeoutException()))
+                : Mono.delay(Duration.ofMillis(150)).thenReturn("hedge"), e -> e instanceof TimeoutException);
+
+        StepVerifier.create(resposta)
+                .expectNext("hedge")
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        // sem retry: o erro da primária não cancelou o hedge
+        assertThat(chamadas.get()).isEqualTo(2);
+    }
+
+    @Test
+    void executar_primaryFailsBeforeHedgeDelay_shouldPropagateWithoutHedging() {
+        JanelaLatencia janela = new JanelaLatencia(0.95, Duration.ofMillis(500), Duration.ofMillis(500), Duration.ofSeconds(1));
+        ViaCepResiliencia resiliencia = resiliencia(CircuitBreaker.ofDefaults("t"), new RetryBudget(0, 10), janela, 0);
+
+        Mono<String> erro = resiliencia.executar(() -> {
+            chamadas.incrementAndGet();
+            return Mono.error(new IllegalArgumentException("404"));
+        }, e -> false);
+
+        StepVerifier.create(erro).expectError(IllegalArgumentException.class).verify(Duration.ofMillis(200));
+        assertThat(chamadas.get()).isEqualTo(1);
+        assertThat(registry.counter("viacep.hedges").count()).isZero();
+    }
+
+    @Test
+    void executar_nonTransientError_shouldNotRetry() {
+        ViaCepResiliencia resiliencia = resiliencia(CircuitBreaker.ofDefaults("t"), new RetryBudget(0, 10), null, 2);
+
+        Mono<String> erro = resiliencia.executar(() -> {
+            chamadas.incrementAndGet();
+            return Mono.error(new IllegalArgumentException("404"));
+        }, e -> e instanceof TimeoutException);
+
+        StepVerifier.create(erro).expectError(IllegalArgumentException.class).verify();
+        assertThat(chamadas.get()).isEqualTo(1);
+    }
+
+    @Test
+    void executar_openCircuit_shouldFailFastWithoutCalling() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("t");
+        circuitBreaker.transitionToOpenState();
+        ViaCepResiliencia resiliencia = resiliencia(circuitBreaker, new RetryBudget(0, 10), null, 2);
+
+        Mono<String> resposta = resiliencia.executar(() -> {
+            chamadas.incrementAndGet();
+            return Mono.just("ok");
+        }, e -> true);
+
+        StepVerifier.create(resposta)
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(ApiException.class)
+                        .hasMessageContaining("circuito aberto"))
+                .verify();
+        assertThat(chamadas.get()).isZero();
+    }
+
+    @Test
+    void executar_bulkheadFull_shouldRejectWithApiException() {
+        Bulkhead bulkhead = Bulkhead.of("t", BulkheadConfig.custom()
+                .maxConcurrentCalls(1).maxWaitDuration(Duration.ZERO).build());
+        bulkhead.tryAcquirePermission(); // ocupa a única vaga
+        ViaCepResiliencia resiliencia = new ViaCepResiliencia(null, bulkhead, rateLimiterLivre(),
+                new RetryBudget(0, 10), null, registry, Duration.ofSeconds(1), 0, Duration.ZERO);
+
+        StepVerifier.create(resiliencia.executar(() -> Mono.just("ok"), e -> true))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOf(ApiException.class)
+                        .hasMessageContaining("simultâneas"))
+                .verify();
+    }
+
+    private ViaCepResiliencia resiliencia(CircuitBreaker circuitBreaker, RetryBudget budget,
+                                          JanelaLatencia janela, int maxRetries) {
+        return new ViaCepResiliencia(circuitBreaker, Bulkhead.ofDefaults("t"), rateLimiterLivre(), budget, janela,
+                registry, Duration.ofSeconds(2), maxRetries, Duration.ofMillis(1));
+    }
+
+    private static RateLimiter rateLimiterLivre() {
+        return RateLimiter.of("t", RateLimiterConfig.custom()
+                .limitForPeriod(1000).limitRefreshPeriod(Duration.ofSeconds(1)).build());
+    }
+}
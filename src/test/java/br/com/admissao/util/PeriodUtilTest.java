@@ -0,0 +1,38 @@
+package br.com.admissao.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeriodUtilTest {
+
+    @Test
+    void calcularPeriodo_withReference_shouldCountCompleteUnits() {
+        PeriodResult p = PeriodUtil.calcularPeriodo(LocalDate.of(2020, 3, 15), LocalDate.of(2024, 5, 10));
+
+        assertThat(p.getYears()).isEqualTo(4);
+        assertThat(p.getMonths()).isEqualTo(1);
+        assertThat(p.getDays()).isEqualTo(25);
+    }
+
+    @Test
+    void admitidoAte_shouldMatchCalcularPeriodoForEveryAdmissionDate() {
+        // referências comuns, em 28/02 e 29/02 (anos bissextos são o caso delicado)
+        List<LocalDate> referencias = List.of(LocalDate.of(2024, 5, 10), LocalDate.of(2023, 2, 28),
+                LocalDate.of(2024, 2, 29), LocalDate.of(2025, 3, 1));
+        for (LocalDate referencia : referencias) {
+            for (int anos = 0; anos <= 6; anos++) {
+                LocalDate limite = PeriodUtil.admitidoAte(referencia, anos);
+                for (LocalDate d = referencia.minusYears(8); !d.isAfter(referencia); d = d.plusDays(1)) {
+                    boolean temAnos = PeriodUtil.calcularPeriodo(d, referencia).getYears() >= anos;
+                    assertThat(!d.isAfter(limite))
+                            .as("admissão %s, referência %s, %d anos", d, referencia, anos)
+                            .isEqualTo(temAnos);
+                }
+            }
+        }
+    }
+}